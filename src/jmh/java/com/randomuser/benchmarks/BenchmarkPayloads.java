@@ -0,0 +1,50 @@
+package com.randomuser.benchmarks;
+
+import com.randomuser.stub.StubServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Response bodies for the benchmarks. Captured payloads are read from {@code -Djmh.payload.dir}
+ * ({@code users-<n>.json}); without it a fixed-seed stub response of the same size is used.
+ */
+public final class BenchmarkPayloads {
+    public static final String SEED = "jmh";
+
+    private BenchmarkPayloads() {
+    }
+
+    public static byte[] load(int users) {
+        return load(users, null);
+    }
+
+    // inc selects user fields like the API's inc parameter; captured files are users-<n>[-<inc>].json
+    public static byte[] load(int users, String inc) {
+        String dir = System.getProperty("jmh.payload.dir");
+        if (dir != null) {
+            String suffix = inc == null ? "" : "-" + inc.replace(',', '_');
+            Path file = Paths.get(dir, "users-" + users + suffix + ".json");
+            if (Files.exists(file)) {
+                try {
+                    return Files.readAllBytes(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        Map<String, String> params = new HashMap<>();
+        params.put("results", String.valueOf(users));
+        params.put("seed", SEED);
+        try {
+            return StubServer.serialize(StubServer.buildResponse(params), inc, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.randomuser.benchmarks;
+
+import com.randomuser.api.HttpConnectionPool;
+import com.randomuser.api.HttpUserApiClient;
+import com.randomuser.api.RandomUserApiClient;
+import com.randomuser.api.ResiliencePolicy;
+import com.randomuser.api.UserApiClient;
+import com.randomuser.api.UserQuery;
+import com.randomuser.stub.StubBehavior;
+import com.randomuser.stub.StubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RestAssured vs java.net.http backends against a local stub with no added latency, so the numbers are
+ * client overhead. {@code perRequest*} is steady state; {@code coldStart*} runs once per fresh JVM and
+ * includes class loading and static initialization up to the first parsed response.
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClientBackendBenchmark {
+
+    // Only the stub server, so cold-start forks load nothing of either backend before the measured call
+    @State(Scope.Benchmark)
+    public static class Server {
+        @Param({"1", "100"})
+        public int users;
+
+        StubServer server;
+        UserQuery query;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            server = new StubServer(0, 8, new StubBehavior()).start();
+            query = UserQuery.of(users, null, null, "bench");
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            server.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Clients {
+        UserApiClient restAssured;
+        UserApiClient jdk;
+
+        @Setup(Level.Trial)
+        public void open(Server server) {
+            restAssured = new RandomUserApiClient(server.server.getBaseUrl(), HttpConnectionPool.fromConfig(), null,
+                    null, null, ResiliencePolicy.none());
+            jdk = new HttpUserApiClient(server.server.getBaseUrl(), null, ResiliencePolicy.none());
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            restAssured.close();
+            jdk.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public int perRequestRestAssured(Server server, Clients clients) {
+        return clients.restAssured.fetchUsers(server.query).getResults().size();
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public int perRequestJdk(Server server, Clients clients) {
+        return clients.jdk.fetchUsers(server.query).getResults().size();
+    }
+
+    // Clients are built inside the measured call so their static initialization is counted
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public int coldStartRestAssured(Server server) {
+        try (RandomUserApiClient client = new RandomUserApiClient(server.server.getBaseUrl(),
+                HttpConnectionPool.fromConfig(), null, null, null, ResiliencePolicy.none())) {
+            return client.fetchUsers(server.query).getResults().size();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public int coldStartJdk(Server server) {
+        try (HttpUserApiClient client = new HttpUserApiClient(server.server.getBaseUrl(), null,
+                ResiliencePolicy.none())) {
+            return client.fetchUsers(server.query).getResults().size();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.randomuser.benchmarks;
+
+import com.randomuser.models.User;
+import com.randomuser.models.UserColumns;
+import com.randomuser.models.UserColumns.Column;
+import com.randomuser.models.UserResponse;
+import com.randomuser.utils.UserStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarAggregationBenchmark {
+
+    @Param({"5000"})
+    public int users;
+
+    private byte[] payload;
+    private UserResponse response;
+    private UserColumns columns;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = BenchmarkPayloads.load(users);
+        response = UserStream.mapper().readValue(payload, UserResponse.class);
+        columns = new UserColumns().load(new ByteArrayInputStream(payload));
+    }
+
+    @Benchmark
+    public Map<String, Long> objectsCountByNat() {
+        return response.getResults().stream().collect(Collectors.groupingBy(User::getNat, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<String, Integer> columnsCountByNat() {
+        return columns.countBy(Column.NAT);
+    }
+
+    @Benchmark
+    public int objectsMaxAge() {
+        return response.getResults().stream().mapToInt(u -> u.getDob().getAge()).max().getAsInt();
+    }
+
+    @Benchmark
+    public int columnsMaxAge() {
+        return columns.maxAge().getAsInt();
+    }
+
+    @Benchmark
+    public UserColumns columnsLoad() {
+        return new UserColumns().load(new ByteArrayInputStream(payload));
+    }
+}
@@ -0,0 +1,98 @@
+package com.randomuser.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.randomuser.models.User;
+import com.randomuser.models.UserResponse;
+import com.randomuser.models.compact.CompactModels;
+import com.randomuser.models.compact.CompactUserResponse;
+import com.randomuser.utils.UserProjection;
+import com.randomuser.utils.UserStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeserializationBenchmark {
+    private static final String PROJECTED_FIELDS = "email,gender,nat";
+
+    @Param({"1", "100", "5000"})
+    public int users;
+
+    private byte[] payload;
+    private byte[] projectedPayload;
+    private ObjectReader responseReader;
+    private ObjectReader userReader;
+    private ObjectReader projectedUserReader;
+
+    @Setup
+    public void setUp() {
+        payload = BenchmarkPayloads.load(users);
+        projectedPayload = BenchmarkPayloads.load(users, PROJECTED_FIELDS);
+        responseReader = UserStream.mapper().readerFor(UserResponse.class);
+        userReader = UserStream.mapper().readerFor(User.class);
+        projectedUserReader = UserProjection.of(PROJECTED_FIELDS, null).userReader();
+    }
+
+    @Benchmark
+    public UserResponse databind() throws IOException {
+        return responseReader.readValue(payload);
+    }
+
+    @Benchmark
+    public CompactUserResponse databindCompact() throws IOException {
+        return CompactModels.RESPONSE_READER.readValue(payload);
+    }
+
+    @Benchmark
+    public JsonNode treeModel() throws IOException {
+        return UserStream.mapper().readTree(payload);
+    }
+
+    @Benchmark
+    public void treeModelToUsers(Blackhole blackhole) throws IOException {
+        for (JsonNode node : UserStream.mapper().readTree(payload).get("results")) {
+            blackhole.consume(userReader.<User>readValue(node));
+        }
+    }
+
+    // Full payload, unselected subtrees skipped by the parser
+    @Benchmark
+    public void streamingProjected(Blackhole blackhole) {
+        try (UserStream stream = new UserStream(new ByteArrayInputStream(payload), projectedUserReader)) {
+            stream.forEachRemaining(blackhole::consume);
+        }
+    }
+
+    // Server-side inc: smaller payload on the wire
+    @Benchmark
+    public UserResponse databindProjectedPayload() throws IOException {
+        return responseReader.readValue(projectedPayload);
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) {
+        try (UserStream stream = new UserStream(new ByteArrayInputStream(payload))) {
+            stream.forEachRemaining(blackhole::consume);
+            blackhole.consume(stream.getInfo());
+        }
+    }
+}
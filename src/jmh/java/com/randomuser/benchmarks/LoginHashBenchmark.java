@@ -0,0 +1,89 @@
+package com.randomuser.benchmarks;
+
+import com.randomuser.models.Login;
+import com.randomuser.models.User;
+import com.randomuser.stub.SyntheticUserGenerator;
+import com.randomuser.validation.LoginHashVerifier;
+import com.randomuser.validation.ValidationReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Users whose three login hashes are verified per second, for a 5000-user batch: a new MessageDigest and hex
+ * String per hash against LoginHashVerifier on one thread and across the common pool. Add -prof gc for the
+ * allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginHashBenchmark {
+    private static final int USERS = 5000;
+
+    private List<User> users;
+    private ForkJoinPool singleThread;
+    private LoginHashVerifier sequential;
+
+    @Setup
+    public void setUp() {
+        users = new SyntheticUserGenerator("bench").users(1, USERS);
+        singleThread = new ForkJoinPool(1);
+        sequential = new LoginHashVerifier(singleThread);
+    }
+
+    @TearDown
+    public void tearDown() {
+        singleThread.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public int naive() throws NoSuchAlgorithmException {
+        int valid = 0;
+        for (User user : users) {
+            Login login = user.getLogin();
+            String text = login.getPassword() + login.getSalt();
+            if (hex("MD5", text).equals(login.getMd5()) && hex("SHA-1", text).equals(login.getSha1())
+                    && hex("SHA-256", text).equals(login.getSha256())) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public ValidationReport verifierSingleThread() {
+        return sequential.verify(users);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public ValidationReport verifierForkJoin() {
+        return LoginHashVerifier.defaults().verify(users);
+    }
+
+    private static String hex(String algorithm, String text) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
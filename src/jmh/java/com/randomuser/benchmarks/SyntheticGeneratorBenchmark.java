@@ -0,0 +1,75 @@
+package com.randomuser.benchmarks;
+
+import com.randomuser.models.User;
+import com.randomuser.stub.StubUserFactory;
+import com.randomuser.stub.SyntheticUserGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Users generated per second: the existing stub factory against the synthetic generator's object and raw JSON
+ * paths. Run with -t to see how the per-thread scratch state scales across cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyntheticGeneratorBenchmark {
+    private static final int PAGE = 1000;
+
+    @Param({"bench"})
+    public String seed;
+
+    private SyntheticUserGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new SyntheticUserGenerator(seed);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public void stubFactoryUsers(Blackhole blackhole) {
+        for (int i = 0; i < PAGE; i++) {
+            blackhole.consume(StubUserFactory.createUser(seed, 1, i, null, null));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public void syntheticUsers(Blackhole blackhole) {
+        for (int i = 0; i < PAGE; i++) {
+            User user = generator.user(1, i);
+            blackhole.consume(user);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE)
+    public byte[] syntheticPageJson() {
+        return generator.pageJson(1, PAGE);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    @OperationsPerInvocation(PAGE)
+    public byte[] syntheticPageJsonAllCores() {
+        return generator.pageJson(1, PAGE);
+    }
+}
@@ -0,0 +1,74 @@
+package com.randomuser.benchmarks;
+
+import com.randomuser.models.User;
+import com.randomuser.models.UserResponse;
+import com.randomuser.utils.ResponseValidator;
+import com.randomuser.utils.UserStream;
+import com.randomuser.validation.UserValidator;
+import com.randomuser.validation.ValidationReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+    private static final UserValidator EMAIL_FORMAT = UserValidator.builder()
+            .matches("email", User::getEmail, UserValidator.EMAIL_PATTERN)
+            .build();
+
+    @Param({"1", "100", "5000"})
+    public int users;
+
+    private UserResponse response;
+
+    @Setup
+    public void setUp() throws IOException {
+        response = UserStream.mapper().readValue(BenchmarkPayloads.load(users), UserResponse.class);
+    }
+
+    @Benchmark
+    public UserResponse validateResponse() {
+        ResponseValidator.validateResponseSchema(response);
+        for (User user : response.getResults()) {
+            ResponseValidator.validateUserData(user);
+        }
+        return response;
+    }
+
+    @Benchmark
+    public ValidationReport validateCompiled() {
+        return UserValidator.defaults().validate(response.getResults());
+    }
+
+    @Benchmark
+    public ValidationReport validateEmailCompiled() {
+        return EMAIL_FORMAT.validate(response.getResults());
+    }
+
+    @Benchmark
+    public int validateEmailRegex() {
+        int valid = 0;
+        for (User user : response.getResults()) {
+            if (user.getEmail().matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,46 @@
+package com.randomuser.api;
+
+import com.randomuser.models.UserResponse;
+import com.randomuser.utils.UserStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Backend-neutral view of a users response. The body may be read only once, either as a stream or in full.
+ */
+public interface ApiResponse {
+    int getStatusCode();
+
+    String getContentType();
+
+    String getHeader(String name);
+
+    InputStream getBody();
+
+    byte[] asByteArray();
+
+    default UserResponse asUserResponse() {
+        try (InputStream body = getBody()) {
+            return UserStream.mapper().readValue(body, UserResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Drains and closes a body nobody will read (an error response) so its connection goes back to the pool
+    default void discard() {
+        try (InputStream body = getBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            // The connection is dropped instead of reused; nothing else to do
+        }
+    }
+
+    // Parses users one at a time straight off the body
+    default UserStream stream() {
+        return new UserStream(getBody());
+    }
+}
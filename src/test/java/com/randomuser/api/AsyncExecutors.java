@@ -0,0 +1,28 @@
+package com.randomuser.api;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for blocking request fan-out. Uses a virtual-thread-per-task executor when the runtime
+ * provides one (Java 21+) and falls back to a cached pool of daemon platform threads on older JDKs.
+ */
+public final class AsyncExecutors {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private AsyncExecutors() {
+    }
+
+    public static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "randomuser-async-" + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.randomuser.api;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ApiResponse} over a body already in memory, such as a cassette's mapped segment.
+ */
+public final class BufferedApiResponse implements ApiResponse {
+    private final int statusCode;
+    private final String contentType;
+    private final String retryAfter;
+    private final ByteBuffer body;
+
+    public BufferedApiResponse(int statusCode, String contentType, String retryAfter, ByteBuffer body) {
+        this.statusCode = statusCode;
+        this.contentType = contentType;
+        this.retryAfter = retryAfter;
+        this.body = body;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return "Retry-After".equalsIgnoreCase(name) ? retryAfter : null;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteBufferInputStream(body);
+    }
+
+    @Override
+    public byte[] asByteArray() {
+        byte[] bytes = new byte[body.remaining()];
+        body.get(bytes);
+        return bytes;
+    }
+}
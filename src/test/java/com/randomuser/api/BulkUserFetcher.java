@@ -0,0 +1,225 @@
+package com.randomuser.api;
+
+import com.randomuser.models.User;
+import com.randomuser.utils.TestConfig;
+import com.randomuser.utils.UserStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fetches a large seeded dataset as concurrent page requests and exposes it as one {@code Stream<User>}.
+ * At most {@code prefetch} pages are in flight or buffered at a time, so a slow consumer throttles the
+ * fetching. Pages are emitted in page order or, when unordered, as soon as each one is parsed. Error statuses
+ * are retried by the client's {@link ResiliencePolicy}; a page lost in transport (timeout, reset, truncated body)
+ * is re-fetched here up to {@code maxRetries} times. A page with fewer users than requested fails the stream.
+ */
+public class BulkUserFetcher {
+    private final UserApiClient client;
+    private final String seed;
+    private final int pageSize;
+    private final int prefetch;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final AtomicLong pagesFetched = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private volatile BiConsumer<Integer, List<User>> pageListener;
+
+    public BulkUserFetcher(UserApiClient client, String seed, int pageSize, int prefetch) {
+        this(client, seed, pageSize, prefetch, 2, 200);
+    }
+
+    public BulkUserFetcher(UserApiClient client, String seed, int pageSize, int prefetch,
+                           int maxRetries, long retryBackoffMs) {
+        if (seed == null || seed.isEmpty()) {
+            throw new IllegalArgumentException("A seed is required so pages form one consistent dataset");
+        }
+        this.client = client;
+        this.seed = seed;
+        this.pageSize = pageSize;
+        this.prefetch = Math.max(1, prefetch);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    public static BulkUserFetcher fromConfig(UserApiClient client, String seed) {
+        return new BulkUserFetcher(client, seed,
+                TestConfig.getInt("bulk.page.size", 5000),
+                TestConfig.getInt("bulk.prefetch", 8),
+                TestConfig.getInt("bulk.max.retries", 2),
+                TestConfig.getLong("bulk.retry.backoff.ms", 200));
+    }
+
+    public Stream<User> stream(int totalUsers, boolean ordered) {
+        if (totalUsers < 0) {
+            throw new IllegalArgumentException("totalUsers must not be negative: " + totalUsers);
+        }
+        PageIterator iterator = new PageIterator(totalUsers, ordered);
+        int characteristics = Spliterator.NONNULL | (ordered ? Spliterator.ORDERED : 0);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false)
+                .onClose(iterator::close);
+    }
+
+    // Called with every fetched page on the fetching thread, so concurrently and in no particular order
+    public BulkUserFetcher onPage(BiConsumer<Integer, List<User>> listener) {
+        this.pageListener = listener;
+        return this;
+    }
+
+    public long getPagesFetched() { return pagesFetched.get(); }
+    public long getRetries() { return retries.get(); }
+
+    List<User> fetchPage(int page, int count) {
+        List<User> users;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                users = fetchOnce(page, count);
+                break;
+            } catch (Exception e) {
+                if (!isTransportFailure(e)) {
+                    throw e;
+                }
+                if (attempt >= maxRetries) {
+                    throw new IllegalStateException("Page " + page + " failed after " + (attempt + 1) + " attempts", e);
+                }
+                retries.incrementAndGet();
+                sleep(retryBackoffMs * (attempt + 1));
+            }
+        }
+        if (users.size() < count) {
+            throw new IllegalStateException("Page " + page + " returned " + users.size() + " of " + count + " users");
+        }
+        pagesFetched.incrementAndGet();
+        BiConsumer<Integer, List<User>> listener = pageListener;
+        if (listener != null) {
+            listener.accept(page, users);
+        }
+        return users;
+    }
+
+    private List<User> fetchOnce(int page, int count) {
+        ApiResponse response = client.execute(UserQuery.page(page, pageSize, seed));
+        if (response.getStatusCode() != 200) {
+            response.discard();
+            throw new IllegalStateException("Page " + page + " returned " + response.getStatusCode());
+        }
+        List<User> users = new ArrayList<>(count);
+        try (UserStream stream = response.stream()) {
+            while (users.size() < count && stream.hasNext()) {
+                users.add(stream.next());
+            }
+        }
+        return users;
+    }
+
+    // RestAssured sneaky-throws checked IOExceptions, the JDK backend and UserStream wrap them
+    private static boolean isTransportFailure(Exception e) {
+        return e instanceof IOException || e instanceof UncheckedIOException;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", e);
+        }
+    }
+
+    private final class PageIterator implements Iterator<User> {
+        private final int totalUsers;
+        private final int totalPages;
+        private final boolean ordered;
+        private final ExecutorService executor = AsyncExecutors.newRequestExecutor();
+        private final Map<Integer, CompletableFuture<List<User>>> window = new HashMap<>();
+        private final BlockingQueue<CompletableFuture<List<User>>> completed;
+        private int nextToSchedule = 1;
+        private int nextToEmit = 1;
+        private int pagesConsumed;
+        private Iterator<User> current = Collections.emptyIterator();
+
+        private PageIterator(int totalUsers, boolean ordered) {
+            this.totalUsers = totalUsers;
+            this.totalPages = (totalUsers + pageSize - 1) / pageSize;
+            this.ordered = ordered;
+            this.completed = new ArrayBlockingQueue<>(prefetch);
+            schedule();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (pagesConsumed == totalPages) {
+                    close();
+                    return false;
+                }
+                current = takePage().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public User next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private List<User> takePage() {
+            CompletableFuture<List<User>> page;
+            try {
+                page = ordered ? window.remove(nextToEmit++) : completed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IllegalStateException("Interrupted while waiting for a page", e);
+            }
+            pagesConsumed++;
+            try {
+                List<User> users = page.join();
+                schedule();
+                return users;
+            } catch (CompletionException e) {
+                close();
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        // Keeps up to prefetch pages in flight or waiting to be consumed
+        private void schedule() {
+            while (nextToSchedule <= totalPages && nextToSchedule - 1 - pagesConsumed < prefetch) {
+                int page = nextToSchedule++;
+                int count = Math.min(pageSize, totalUsers - (page - 1) * pageSize);
+                CompletableFuture<List<User>> future = CompletableFuture.supplyAsync(() -> fetchPage(page, count), executor);
+                if (ordered) {
+                    window.put(page, future);
+                } else {
+                    future.whenComplete((users, error) -> completed.add(future));
+                }
+            }
+        }
+
+        private void close() {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.randomuser.api;
+
+import com.randomuser.utils.TestConfig;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Record/replay store for raw response bodies. Bodies are appended to segment files and located through an
+ * append-only index that is read in full on open; replay serves bodies from read-only memory-mapped segments.
+ * Entries are keyed by origin and query, so stub and live recordings never stand in for each other, and only
+ * 200 responses are recorded: a throttled or failed run must not be replayed as the API's answer.
+ * Appends are serialized, lookups and replays are safe from any number of threads.
+ */
+public class CassetteStore implements AutoCloseable {
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    private static final String INDEX_FILE = "index.bin";
+    // A single mapping is limited to 2 GB, so segments roll over below that
+    private static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    private static volatile CassetteStore shared;
+
+    private final Path directory;
+    private final Mode mode;
+    private final long segmentBytes;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final Map<Integer, MappedByteBuffer> mappings = new ConcurrentHashMap<>();
+    private DataOutputStream indexOut;
+    private FileChannel writeChannel;
+    private int writeSegment;
+    private long writeOffset;
+    private long indexLength;
+
+    public CassetteStore(Path directory, Mode mode, long segmentBytes) {
+        this.directory = directory;
+        this.mode = mode;
+        this.segmentBytes = Math.min(segmentBytes, MAX_SEGMENT_BYTES);
+        try {
+            Files.createDirectories(directory);
+            loadIndex();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open cassette store in " + directory, e);
+        }
+    }
+
+    // One store per directory for the whole suite; null when api.cassette.mode is off
+    public static CassetteStore fromConfig() {
+        Mode mode = Mode.valueOf(TestConfig.get("api.cassette.mode", "off").toUpperCase(Locale.ROOT));
+        if (mode == Mode.OFF) {
+            return null;
+        }
+        if (shared == null) {
+            synchronized (CassetteStore.class) {
+                if (shared == null) {
+                    CassetteStore store = new CassetteStore(Paths.get(TestConfig.get("api.cassette.dir", "target/cassettes")),
+                            mode, TestConfig.getLong("api.cassette.segment.bytes", 1L << 30));
+                    Runtime.getRuntime().addShutdownHook(new Thread(store::close, "cassette-store-close"));
+                    shared = store;
+                }
+            }
+        }
+        return shared;
+    }
+
+    // origin is the client's base URL
+    public static String key(String origin, UserQuery query) {
+        StringBuilder key = new StringBuilder(origin.endsWith("/") ? origin.substring(0, origin.length() - 1) : origin);
+        char separator = '?';
+        for (Map.Entry<String, Object> param : query.toParams().entrySet()) {
+            key.append(separator).append(param.getKey()).append('=').append(param.getValue());
+            separator = '&';
+        }
+        return key.toString();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public boolean contains(String origin, UserQuery query) {
+        return index.containsKey(key(origin, query));
+    }
+
+    // Record mode fetches and appends, replay mode never calls the loader
+    public Response get(String origin, UserQuery query, Supplier<Response> loader) {
+        if (mode == Mode.REPLAY) {
+            Response response = replay(origin, query);
+            if (response == null) {
+                throw new IllegalStateException("No recorded response for " + query + " from " + origin + " in "
+                        + directory);
+            }
+            return response;
+        }
+        Response response = loader.get();
+        record(origin, query, response);
+        return response;
+    }
+
+    public void record(String origin, UserQuery query, Response response) {
+        if (response.getStatusCode() == 200) {
+            record(origin, query, response.getStatusCode(), response.getContentType(), response.asByteArray());
+        }
+    }
+
+    // Anything but a 200 is left unrecorded
+    public void record(String origin, UserQuery query, int status, String contentType, byte[] body) {
+        if (status == 200) {
+            append(key(origin, query), status, contentType, body);
+        }
+    }
+
+    public Response replay(String origin, UserQuery query) {
+        Entry entry = index.get(key(origin, query));
+        if (entry == null) {
+            return null;
+        }
+        return new ResponseBuilder()
+                .setStatusCode(entry.status)
+                .setContentType(entry.contentType)
+                .setBody(new ByteBufferInputStream(body(entry)))
+                .build();
+    }
+
+    // Backend-neutral replay; null when nothing was recorded for the query
+    public ApiResponse replayResponse(String origin, UserQuery query) {
+        Entry entry = index.get(key(origin, query));
+        return entry == null ? null : new BufferedApiResponse(entry.status, entry.contentType, null, body(entry));
+    }
+
+    // Read-only view of the recorded body, backed directly by the mapped segment
+    public ByteBuffer body(String origin, UserQuery query) {
+        Entry entry = index.get(key(origin, query));
+        return entry == null ? null : body(entry);
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (indexOut != null) {
+                indexOut.close();
+                indexOut = null;
+            }
+            if (writeChannel != null) {
+                writeChannel.close();
+                writeChannel = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        mappings.clear();
+    }
+
+    private synchronized void append(String key, int status, String contentType, byte[] body) {
+        try {
+            if (writeChannel == null) {
+                openSegment(lastSegment());
+            }
+            if (writeOffset > 0 && writeOffset + body.length > segmentBytes) {
+                openSegment(writeSegment + 1);
+            }
+            long offset = writeOffset;
+            ByteBuffer buffer = ByteBuffer.wrap(body);
+            while (buffer.hasRemaining()) {
+                writeOffset += writeChannel.write(buffer, writeOffset);
+            }
+            // The body is on disk before the index points at it, so a torn write only loses the last entry
+            Entry entry = new Entry(writeSegment, offset, body.length, status, contentType == null ? "" : contentType);
+            if (indexOut == null) {
+                openIndex();
+            }
+            indexOut.writeUTF(key);
+            indexOut.writeInt(entry.segment);
+            indexOut.writeLong(entry.offset);
+            indexOut.writeInt(entry.length);
+            indexOut.writeShort(entry.status);
+            indexOut.writeUTF(entry.contentType);
+            indexOut.flush();
+            index.put(key, entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot record response for " + key, e);
+        }
+    }
+
+    // Drops a torn final entry left by an interrupted run before appending after it
+    private void openIndex() throws IOException {
+        Path indexPath = directory.resolve(INDEX_FILE);
+        if (Files.exists(indexPath)) {
+            try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.WRITE)) {
+                channel.truncate(indexLength);
+            }
+        }
+        indexOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexPath,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    private void openSegment(int segment) throws IOException {
+        if (writeChannel != null) {
+            writeChannel.close();
+        }
+        writeSegment = segment;
+        writeChannel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        writeOffset = writeChannel.size();
+    }
+
+    private int lastSegment() {
+        return index.values().stream().mapToInt(entry -> entry.segment).max().orElse(0);
+    }
+
+    private ByteBuffer body(Entry entry) {
+        MappedByteBuffer mapping = mappings.get(entry.segment);
+        if (mapping == null || mapping.capacity() < entry.offset + entry.length) {
+            mapping = map(entry.segment);
+        }
+        return mapping.slice((int) entry.offset, entry.length).asReadOnlyBuffer();
+    }
+
+    // Segments still being recorded into are remapped once an entry lies past the current mapping
+    private synchronized MappedByteBuffer map(int segment) {
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mappings.put(segment, mapping);
+            return mapping;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map cassette segment " + segment, e);
+        }
+    }
+
+    private void loadIndex() throws IOException {
+        Path indexPath = directory.resolve(INDEX_FILE);
+        if (!Files.exists(indexPath)) {
+            return;
+        }
+        CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(indexPath), 1 << 16));
+        try (DataInputStream in = new DataInputStream(counter)) {
+            while (true) {
+                String key = in.readUTF();
+                Entry entry = new Entry(in.readInt(), in.readLong(), in.readInt(), in.readShort(), in.readUTF());
+                // Later recordings of the same request replace earlier ones
+                index.put(key, entry);
+                indexLength = counter.count;
+            }
+        } catch (EOFException e) {
+            // End of index, or a truncated final entry from an interrupted run
+        }
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format("segment-%05d.bin", segment));
+    }
+
+    private static final class Entry {
+        final int segment;
+        final long offset;
+        final int length;
+        final int status;
+        final String contentType;
+
+        Entry(int segment, long offset, int length, int status, String contentType) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.status = status;
+            this.contentType = contentType;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = super.read(bytes, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
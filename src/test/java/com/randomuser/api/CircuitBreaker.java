@@ -0,0 +1,98 @@
+package com.randomuser.api;
+
+import com.randomuser.metrics.MetricsRegistry;
+
+/**
+ * Count-based circuit breaker. Opens when the failure rate over the last {@code windowSize} calls reaches the
+ * threshold, rejects calls while open, then lets a single probe through; the probe's outcome closes or
+ * reopens the circuit. Outcomes of other calls that were already in flight when the circuit opened are ignored
+ * while half open, so a late success cannot close it.
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationMs;
+    private final MetricsRegistry registry;
+    private final boolean[] outcomes;
+    private int recorded;
+    private int position;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls, long openDurationMs,
+                          MetricsRegistry registry) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.openDurationMs = openDurationMs;
+        this.registry = registry;
+        this.outcomes = new boolean[windowSize];
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // Throws CircuitOpenException when the call should be shed; true when the call is the half-open probe
+    public synchronized boolean acquire() {
+        if (state == State.OPEN && (System.nanoTime() - openedAtNanos) / 1_000_000 >= openDurationMs) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && probeInFlight)) {
+            registry.counter("resilience.circuit.rejected").increment();
+            throw new CircuitOpenException("Circuit open after failure rate reached " + failureRateThreshold);
+        }
+        if (state == State.HALF_OPEN) {
+            probeInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    // probe is what acquire() returned for the call
+    public synchronized void record(boolean success, boolean probe) {
+        if (state == State.HALF_OPEN) {
+            if (!probe) {
+                return;
+            }
+            if (success) {
+                state = State.CLOSED;
+                recorded = 0;
+                position = 0;
+                failures = 0;
+                registry.counter("resilience.circuit.closed").increment();
+            } else {
+                open();
+            }
+            return;
+        }
+        if (recorded == outcomes.length) {
+            failures -= outcomes[position] ? 1 : 0;
+        } else {
+            recorded++;
+        }
+        outcomes[position] = !success;
+        failures += success ? 0 : 1;
+        position = (position + 1) % outcomes.length;
+        if (state == State.CLOSED && recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        probeInFlight = false;
+        registry.counter("resilience.circuit.opened").increment();
+    }
+
+    public static class CircuitOpenException extends IllegalStateException {
+        public CircuitOpenException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.randomuser.api;
+
+import com.randomuser.metrics.HttpMetricsInterceptor;
+import com.randomuser.metrics.RequestMetrics;
+import com.randomuser.utils.TestConfig;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooled keep-alive connections shared by every request of a {@link RandomUserApiClient}.
+ * RestAssured only accepts the legacy {@code AbstractHttpClient} API, hence the deprecated pool classes.
+ */
+@SuppressWarnings("deprecation")
+public class HttpConnectionPool implements AutoCloseable {
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "http-pool-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PoolingClientConnectionManager connectionManager;
+    private final DefaultHttpClient httpClient;
+    private final ScheduledFuture<?> eviction;
+
+    public HttpConnectionPool(int maxTotal, int maxPerRoute, long keepAliveMs, long idleTimeoutMs,
+                              int connectTimeoutMs, int socketTimeoutMs, long leaseTimeoutMs) {
+        connectionManager = new PoolingClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        httpClient = new DefaultHttpClient(connectionManager);
+        httpClient.getParams().setIntParameter(CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeoutMs);
+        httpClient.getParams().setIntParameter(CoreConnectionPNames.SO_TIMEOUT, socketTimeoutMs);
+        httpClient.getParams().setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, leaseTimeoutMs);
+        httpClient.setKeepAliveStrategy(keepAliveStrategy(keepAliveMs));
+
+        long evictionPeriodMs = Math.max(1000, idleTimeoutMs / 2);
+        eviction = EVICTOR.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeoutMs, TimeUnit.MILLISECONDS);
+        }, evictionPeriodMs, evictionPeriodMs, TimeUnit.MILLISECONDS);
+    }
+
+    public static HttpConnectionPool fromConfig() {
+        int timeout = TestConfig.getTimeout();
+        return new HttpConnectionPool(
+                TestConfig.getInt("api.pool.max.total", 64),
+                TestConfig.getInt("api.pool.max.per.route", 32),
+                TestConfig.getLong("api.pool.keepalive.ms", 30_000),
+                TestConfig.getLong("api.pool.idle.timeout.ms", 60_000),
+                TestConfig.getInt("api.timeout.connect", timeout),
+                TestConfig.getInt("api.timeout.socket", timeout),
+                TestConfig.getLong("api.timeout.lease", timeout));
+    }
+
+    // The factory always hands back the same client, so every copy of the config shares this pool
+    public HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig()
+                .httpClientFactory(() -> httpClient)
+                .reuseHttpClientInstance();
+    }
+
+    public void instrument(RequestMetrics metrics) {
+        HttpMetricsInterceptor interceptor = new HttpMetricsInterceptor(metrics);
+        httpClient.addRequestInterceptor(interceptor);
+        httpClient.addResponseInterceptor(interceptor);
+    }
+
+    public PoolStats getStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    @Override
+    public void close() {
+        eviction.cancel(false);
+        connectionManager.shutdown();
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long defaultKeepAliveMs) {
+        return (HttpResponse response, HttpContext context) -> {
+            BasicHeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (it.hasNext()) {
+                HeaderElement element = it.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Long.parseLong(element.getValue()) * 1000;
+                    } catch (NumberFormatException ignored) {
+                        // fall back to the configured keep-alive
+                    }
+                }
+            }
+            return defaultKeepAliveMs;
+        };
+    }
+}
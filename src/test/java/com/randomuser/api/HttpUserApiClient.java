@@ -0,0 +1,159 @@
+package com.randomuser.api;
+
+import com.randomuser.api.endpoints.ApiEndpoints;
+import com.randomuser.models.UserResponse;
+import com.randomuser.utils.TestConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@link UserApiClient} on {@link java.net.http.HttpClient}: HTTP/2 where the server offers it, bodies streamed
+ * into Jackson, and none of RestAssured's Groovy initialization. Shares the cassette and resilience settings
+ * with the RestAssured client; per-phase request metrics are only available there.
+ */
+public class HttpUserApiClient implements UserApiClient {
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final ExecutorService executor = AsyncExecutors.newRequestExecutor();
+    private final CassetteStore cassette;
+    private final ResiliencePolicy resilience;
+
+    public HttpUserApiClient() {
+        this(TestConfig.getBaseUrl());
+    }
+
+    public HttpUserApiClient(String baseUrl) {
+        this(baseUrl, CassetteStore.fromConfig(), ResiliencePolicy.fromConfig());
+    }
+
+    // A null cassette always uses the network
+    public HttpUserApiClient(String baseUrl, CassetteStore cassette, ResiliencePolicy resilience) {
+        this(baseUrl, cassette, resilience,
+                Duration.ofMillis(TestConfig.getLong("api.timeout.socket", TestConfig.getTimeout())));
+    }
+
+    // requestTimeout bounds the wait for the response headers, which a server may send only once the body is built
+    public HttpUserApiClient(String baseUrl, CassetteStore cassette, ResiliencePolicy resilience,
+                             Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.cassette = cassette;
+        this.resilience = resilience;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(TestConfig.getLong("api.timeout.connect", TestConfig.getTimeout())))
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public ApiResponse execute(UserQuery query) {
+        if (cassette == null) {
+            return resilience.execute(() -> send(query));
+        }
+        if (cassette.getMode() == CassetteStore.Mode.REPLAY) {
+            ApiResponse replayed = cassette.replayResponse(baseUrl, query);
+            if (replayed == null) {
+                throw new IllegalStateException("No recorded response for " + query + " from " + baseUrl);
+            }
+            return replayed;
+        }
+        ApiResponse response = resilience.execute(() -> send(query));
+        byte[] body = response.asByteArray();
+        cassette.record(baseUrl, query, response.getStatusCode(), response.getContentType(), body);
+        return new BufferedApiResponse(response.getStatusCode(), response.getContentType(),
+                response.getHeader("Retry-After"), ByteBuffer.wrap(body));
+    }
+
+    @Override
+    public UserResponse fetchUsers(UserQuery query) {
+        return UserApiClient.checkStatus(query, execute(query));
+    }
+
+    @Override
+    public CompletableFuture<UserResponse> getUsersAsync(UserQuery query) {
+        return CompletableFuture.supplyAsync(() -> fetchUsers(query), executor);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    URI uri(UserQuery query) {
+        StringBuilder uri = new StringBuilder(baseUrl).append(ApiEndpoints.USERS);
+        char separator = '?';
+        for (var param : query.toParams().entrySet()) {
+            uri.append(separator).append(param.getKey()).append('=')
+                    .append(URLEncoder.encode(String.valueOf(param.getValue()), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return URI.create(uri.toString());
+    }
+
+    private ApiResponse send(UserQuery query) {
+        HttpRequest request = HttpRequest.newBuilder(uri(query))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        try {
+            return new JdkApiResponse(httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Request failed: " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending " + request.uri(), e);
+        }
+    }
+
+    private static final class JdkApiResponse implements ApiResponse {
+        private final HttpResponse<InputStream> response;
+
+        JdkApiResponse(HttpResponse<InputStream> response) {
+            this.response = response;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getContentType() {
+            return getHeader("Content-Type");
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return response.headers().firstValue(name).orElse(null);
+        }
+
+        @Override
+        public InputStream getBody() {
+            return response.body();
+        }
+
+        @Override
+        public byte[] asByteArray() {
+            try (InputStream body = response.body()) {
+                return body.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
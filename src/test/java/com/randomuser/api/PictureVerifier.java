@@ -0,0 +1,315 @@
+package com.randomuser.api;
+
+import com.randomuser.models.Picture;
+import com.randomuser.models.User;
+import com.randomuser.utils.TestConfig;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks that picture URLs resolve to images. Each distinct URL is requested once (HEAD, or a one-byte ranged GET
+ * where HEAD is refused) over a shared HTTP/2 client, so checks against the same host multiplex on one connection.
+ * At most {@code maxInFlight} checks are outstanding; further calls to {@link #verify} block until one finishes.
+ * Results are kept in a size-bounded LRU cache with TTL and concurrent checks of one URL share a single request.
+ */
+public class PictureVerifier implements AutoCloseable {
+    private final String origin;
+    private final boolean rangedGet;
+    private final Duration timeout;
+    private final Semaphore permits;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final ExecutorService executor = AsyncExecutors.newRequestExecutor();
+    private final HttpClient httpClient;
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentHashMap<String, CompletableFuture<Check>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder requested = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder http2 = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    // Microseconds per network check
+    private final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+
+    /**
+     * Outcome of one URL. {@code status} is 0 and {@code error} set when no response arrived.
+     */
+    public record Check(String url, int status, String contentType, long contentLength, double latencyMs,
+                        String error) {
+        public boolean ok() {
+            return error == null && (status == 200 || status == 206)
+                    && contentType != null && contentType.startsWith("image/");
+        }
+    }
+
+    public record Report(long pictureUrls, int uniqueUrls, List<Check> failures) {
+    }
+
+    /**
+     * @param origin scheme, host and port to send every check to instead of the URL's own (e.g. a stub server);
+     *               null or empty keeps the URL as it is
+     */
+    public PictureVerifier(String origin, int maxInFlight, int maxEntries, long ttlMs, Duration timeout,
+                           boolean rangedGet) {
+        this.origin = origin == null || origin.isEmpty() ? null : origin;
+        this.permits = new Semaphore(maxInFlight);
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.timeout = timeout;
+        this.rangedGet = rangedGet;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+    }
+
+    public static PictureVerifier fromConfig() {
+        return new PictureVerifier(TestConfig.get("picture.verify.origin", ""),
+                TestConfig.getInt("picture.verify.max.in.flight", 16),
+                TestConfig.getInt("picture.verify.cache.max.entries", 10_000),
+                TestConfig.getLong("picture.verify.cache.ttl.ms", 600_000),
+                Duration.ofMillis(TestConfig.getLong("picture.verify.timeout.ms", TestConfig.getTimeout())),
+                "range".equals(TestConfig.get("picture.verify.method", "head")));
+    }
+
+    public CompletableFuture<Check> verify(String url) {
+        requested.increment();
+        Check cached = lookup(url);
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Check> flight = new CompletableFuture<>();
+        CompletableFuture<Check> existing = inFlight.putIfAbsent(url, flight);
+        if (existing != null) {
+            collapsed.increment();
+            return existing;
+        }
+        // Another flight may have completed between the lookup and claiming this one
+        cached = lookup(url);
+        if (cached != null) {
+            hits.increment();
+            inFlight.remove(url, flight);
+            flight.complete(cached);
+            return flight;
+        }
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inFlight.remove(url, flight);
+            flight.completeExceptionally(e);
+            return flight;
+        }
+        peakInFlight.accumulateAndGet(active.incrementAndGet(), Math::max);
+        long start = System.nanoTime();
+        CompletableFuture<Check> sent;
+        try {
+            sent = check(url, target(url), rangedGet, true);
+        } catch (IllegalArgumentException e) {
+            // Malformed URL or unsupported scheme
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((check, error) -> {
+            long micros = (System.nanoTime() - start) / 1000;
+            active.decrementAndGet();
+            permits.release();
+            checked.increment();
+            latency.recordValue(Math.min(micros, latency.getHighestTrackableValue()));
+            Check result = check != null ? check : new Check(url, 0, null, -1, micros / 1000.0, describe(error));
+            if (!result.ok()) {
+                failures.increment();
+            }
+            // Only answers from the server are worth remembering; transport errors are retried next time
+            if (result.error() == null) {
+                store(url, result);
+            }
+            inFlight.remove(url, flight);
+            flight.complete(result);
+        });
+        return flight;
+    }
+
+    // Every picture URL of the users, each distinct one checked once; blocks until all are answered
+    public Report verifyAll(Collection<User> users) {
+        long total = 0;
+        Set<String> urls = new LinkedHashSet<>();
+        for (User user : users) {
+            Picture picture = user.getPicture();
+            if (picture == null) {
+                continue;
+            }
+            for (String url : new String[]{picture.getLarge(), picture.getMedium(), picture.getThumbnail()}) {
+                if (url != null) {
+                    total++;
+                    urls.add(url);
+                }
+            }
+        }
+        List<CompletableFuture<Check>> checks = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            checks.add(verify(url));
+        }
+        List<Check> failed = new ArrayList<>();
+        for (CompletableFuture<Check> check : checks) {
+            Check result = check.join();
+            if (!result.ok()) {
+                failed.add(result);
+            }
+        }
+        return new Report(total, urls.size(), failed);
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public long getRequested() { return requested.sum(); }
+    public long getHits() { return hits.sum(); }
+    public long getCollapsed() { return collapsed.sum(); }
+    public long getChecked() { return checked.sum(); }
+    public long getFailures() { return failures.sum(); }
+    public long getHttp2Responses() { return http2.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+    public long getExpirations() { return expirations.sum(); }
+    public int getPeakInFlight() { return peakInFlight.get(); }
+
+    public double getPercentileMs(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d picture checks: %d over the network (%d HTTP/2, peak %d in flight), %d cached, "
+                        + "%d joined an in-flight check, %d failed, %d evicted, %d expired; p50=%.1f ms p99=%.1f ms max=%.1f ms",
+                getRequested(), getChecked(), getHttp2Responses(), getPeakInFlight(), getHits(), getCollapsed(),
+                getFailures(), getEvictions(), getExpirations(), getPercentileMs(50), getPercentileMs(99),
+                latency.getMaxValue() / 1000.0);
+    }
+
+    private CompletableFuture<Check> check(String url, URI target, boolean ranged, boolean firstAttempt) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(target).timeout(timeout);
+        if (ranged) {
+            request.header("Range", "bytes=0-0").GET();
+        } else {
+            request.method("HEAD", HttpRequest.BodyPublishers.noBody());
+        }
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding()).thenCompose(response -> {
+            if (!ranged && (response.statusCode() == 405 || response.statusCode() == 501)) {
+                return check(url, target, true, firstAttempt);
+            }
+            if (response.version() == HttpClient.Version.HTTP_2) {
+                http2.increment();
+            }
+            return CompletableFuture.completedFuture(new Check(url, response.statusCode(),
+                    response.headers().firstValue("Content-Type").orElse(null), contentLength(response),
+                    (System.nanoTime() - start) / 1e6, null));
+        }).exceptionallyCompose(error -> {
+            // A pooled connection the server already closed fails before any response; the check is idempotent,
+            // so it gets one more go on a fresh connection. Timeouts are not retried.
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (firstAttempt && cause instanceof IOException && !(cause instanceof HttpTimeoutException)) {
+                return check(url, target, ranged, false);
+            }
+            return CompletableFuture.failedFuture(error);
+        });
+    }
+
+    private URI target(String url) {
+        URI uri = URI.create(url);
+        if (origin == null) {
+            return uri;
+        }
+        String query = uri.getRawQuery();
+        return URI.create(origin + uri.getRawPath() + (query == null ? "" : "?" + query));
+    }
+
+    // Full size of the image: the total of Content-Range for a partial response, else Content-Length
+    private static long contentLength(HttpResponse<?> response) {
+        String range = response.headers().firstValue("Content-Range").orElse(null);
+        if (range != null && range.lastIndexOf('/') >= 0) {
+            String size = range.substring(range.lastIndexOf('/') + 1).trim();
+            return "*".equals(size) ? -1 : Long.parseLong(size);
+        }
+        return response.headers().firstValueAsLong("Content-Length").orElse(-1);
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+
+    private synchronized Check lookup(String url) {
+        Entry entry = cache.get(url);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, System.nanoTime())) {
+            cache.remove(url);
+            expirations.increment();
+            return null;
+        }
+        return entry.check();
+    }
+
+    private synchronized void store(String url, Check check) {
+        cache.put(url, new Entry(check, System.nanoTime()));
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Entry>> it = cache.entrySet().iterator();
+        while (it.hasNext() && cache.size() > maxEntries) {
+            Map.Entry<String, Entry> eldest = it.next();
+            it.remove();
+            if (isExpired(eldest.getValue(), now)) {
+                expirations.increment();
+            } else {
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return ttlMs > 0 && (now - entry.createdNanos()) / 1_000_000 >= ttlMs;
+    }
+
+    private record Entry(Check check, long createdNanos) {
+    }
+}
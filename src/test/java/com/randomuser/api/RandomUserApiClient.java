@@ -1,59 +1,182 @@
 package com.randomuser.api;
 
+import com.randomuser.api.endpoints.ApiEndpoints;
+import com.randomuser.metrics.RequestMetrics;
+import com.randomuser.metrics.RequestMetricsFilter;
+import com.randomuser.metrics.TimingObjectMapper;
+import com.randomuser.models.UserResponse;
 import com.randomuser.utils.TestConfig;
-import io.restassured.RestAssured;
+import com.randomuser.utils.UserStream;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.LogConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import org.apache.http.pool.PoolStats;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import static io.restassured.RestAssured.given;
 
-public class RandomUserApiClient {
+/**
+ * Immutable, thread-safe client. Every call starts from a fresh copy of the base specification,
+ * so a single instance can be shared by parallel tests without touching RestAssured's static state.
+ */
+public class RandomUserApiClient implements UserApiClient {
+    private final String baseUrl;
+    private final RequestSpecification spec;
+    private final HttpConnectionPool connectionPool;
+    private final ResponseCache cache;
+    private final CassetteStore cassette;
+    private final ResiliencePolicy resilience;
+    private final ExecutorService asyncExecutor = AsyncExecutors.newRequestExecutor();
 
-    static {
-        RestAssured.baseURI = TestConfig.getBaseUrl();
-        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+    public RandomUserApiClient() {
+        this(TestConfig.getBaseUrl());
     }
 
-    public static io.restassured.response.Response getUsers() {
-        return given()
-                .when()
-                .get("/")
-                .then()
-                .extract()
-                .response();
+    public RandomUserApiClient(String baseUrl) {
+        this(baseUrl, HttpConnectionPool.fromConfig(), ResponseCache.fromConfig());
     }
 
-    public static io.restassured.response.Response getUsersWithParams(int results, String gender, String nat, String seed) {
-        RequestSpecification request = given();
+    public RandomUserApiClient(String baseUrl, HttpConnectionPool connectionPool) {
+        this(baseUrl, connectionPool, null, RequestMetrics.fromConfig());
+    }
 
-        if (results > 0) {
-            request.queryParam("results", results);
-        }
-        if (gender != null && !gender.isEmpty()) {
-            request.queryParam("gender", gender);
+    public RandomUserApiClient(String baseUrl, HttpConnectionPool connectionPool, ResponseCache cache) {
+        this(baseUrl, connectionPool, cache, RequestMetrics.fromConfig());
+    }
+
+    public RandomUserApiClient(String baseUrl, HttpConnectionPool connectionPool, ResponseCache cache,
+                               RequestMetrics metrics) {
+        this(baseUrl, connectionPool, cache, metrics, CassetteStore.fromConfig());
+    }
+
+    public RandomUserApiClient(String baseUrl, HttpConnectionPool connectionPool, ResponseCache cache,
+                               RequestMetrics metrics, CassetteStore cassette) {
+        this(baseUrl, connectionPool, cache, metrics, cassette, ResiliencePolicy.fromConfig());
+    }
+
+    // A null cache disables caching, null metrics disables instrumentation, a null cassette always uses the network
+    public RandomUserApiClient(String baseUrl, HttpConnectionPool connectionPool, ResponseCache cache,
+                               RequestMetrics metrics, CassetteStore cassette, ResiliencePolicy resilience) {
+        this.baseUrl = baseUrl;
+        this.connectionPool = connectionPool;
+        this.cache = cache;
+        this.cassette = cassette;
+        this.resilience = resilience;
+        RestAssuredConfig config = RestAssuredConfig.config()
+                .logConfig(LogConfig.logConfig().enableLoggingOfRequestAndResponseIfValidationFails().enablePrettyPrinting(false))
+                .httpClient(connectionPool.httpClientConfig());
+        RequestSpecBuilder builder = new RequestSpecBuilder().setBaseUri(baseUrl);
+        if (metrics != null) {
+            connectionPool.instrument(metrics);
+            config = config.objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                    .defaultObjectMapper(new TimingObjectMapper(UserStream.mapper(), metrics)));
+            builder.addFilter(new RequestMetricsFilter(metrics));
         }
-        if (nat != null && !nat.isEmpty()) {
-            request.queryParam("nat", nat);
+        this.spec = builder.setConfig(config).build();
+    }
+
+    public PoolStats getPoolStats() {
+        return connectionPool.getStats();
+    }
+
+    public ResponseCache getCache() {
+        return cache;
+    }
+
+    public CassetteStore getCassette() {
+        return cassette;
+    }
+
+    public ResiliencePolicy getResilience() {
+        return resilience;
+    }
+
+    @Override
+    public void close() {
+        asyncExecutor.shutdownNow();
+        connectionPool.close();
+    }
+
+    public RequestSpecification request() {
+        return given().spec(spec);
+    }
+
+    // Seeded queries are served from the cache when one is configured
+    public Response getUsers(UserQuery query) {
+        if (cache != null) {
+            return cache.get(query, () -> fetch(query));
         }
-        if (seed != null && !seed.isEmpty()) {
-            request.queryParam("seed", seed);
+        return fetch(query);
+    }
+
+    // Skips the cache: bulk transfers so large page bodies are streamed rather than retained, and checks that
+    // need a fresh response from the API
+    public Response getUsersUncached(UserQuery query) {
+        return fetch(query);
+    }
+
+    public Response getUsers() {
+        return getUsers(UserQuery.of(0, null, null, null));
+    }
+
+    public Response getUsersWithParams(int results, String gender, String nat, String seed) {
+        return getUsers(UserQuery.of(results, gender, nat, seed));
+    }
+
+    public Response getUsersWithFields(int results, String inc, String exc) {
+        return getUsers(new UserQuery(results, 0, null, null, null, inc, exc));
+    }
+
+    public Response getUsersWithPage(int page, int results) {
+        return getUsers(UserQuery.page(page, results, null));
+    }
+
+    @Override
+    public ApiResponse execute(UserQuery query) {
+        return new RestAssuredApiResponse(getUsersUncached(query));
+    }
+
+    @Override
+    public UserResponse fetchUsers(UserQuery query) {
+        return toUserResponse(query, getUsers(query));
+    }
+
+    @Override
+    public CompletableFuture<UserResponse> getUsersAsync(UserQuery query) {
+        return CompletableFuture.supplyAsync(() -> toUserResponse(query, getUsers(query)), asyncExecutor);
+    }
+
+    public CompletableFuture<UserResponse> getUsersAsync(int results, String gender, String nat, String seed) {
+        return getUsersAsync(UserQuery.of(results, gender, nat, seed));
+    }
+
+    private static UserResponse toUserResponse(UserQuery query, Response response) {
+        return UserApiClient.checkStatus(query, new RestAssuredApiResponse(response));
+    }
+
+    private Response fetch(UserQuery query) {
+        if (cassette != null) {
+            return cassette.get(baseUrl, query, () -> fetchRemote(query));
         }
+        return fetchRemote(query);
+    }
 
-        return request
-                .when()
-                .get("/")
-                .then()
-                .extract()
-                .response();
+    private Response fetchRemote(UserQuery query) {
+        return resilience.execute(() -> new RestAssuredApiResponse(send(query))).unwrap();
     }
 
-    public static io.restassured.response.Response getUsersWithPage(int page, int results) {
-        return given()
-                .queryParam("page", page)
-                .queryParam("results", results)
+    private Response send(UserQuery query) {
+        return request()
+                .queryParams(query.toParams())
                 .when()
-                .get("/")
+                .get(ApiEndpoints.USERS)
                 .then()
                 .extract()
                 .response();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.randomuser.api;
+
+import com.randomuser.metrics.MetricsRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket: refills at a fixed rate up to a burst size. Callers reserve a token under the lock and
+ * sleep outside it, so waiting threads do not serialize on each other.
+ */
+public class RateLimiter {
+    private final double permitsPerSecond;
+    private final double burst;
+    private final MetricsRegistry registry;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    public RateLimiter(double permitsPerSecond, int burst, MetricsRegistry registry) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.tokens = burst;
+        this.registry = registry;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public void acquire() {
+        long waitNanos = reserve();
+        registry.counter("resilience.ratelimit.permits").increment();
+        if (waitNanos > 0) {
+            registry.timer("resilience.ratelimit.wait").record(waitNanos);
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a rate limit permit", e);
+            }
+        }
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill(System.nanoTime());
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        registry.counter("resilience.ratelimit.permits").increment();
+        return true;
+    }
+
+    // Takes a token, going into debt if none is left; the debt is the time to wait
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        refill(now);
+        tokens--;
+        return tokens >= 0 ? 0 : (long) (-tokens / permitsPerSecond * 1e9);
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1e9 * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,114 @@
+package com.randomuser.api;
+
+import com.randomuser.metrics.MetricsRegistry;
+import com.randomuser.utils.TestConfig;
+
+import java.util.function.Supplier;
+
+/**
+ * Wraps each network call in rate limiting, circuit breaking and retries, in that order per attempt.
+ * When retries run out the last failed response is returned as is, so callers still see the status.
+ * Counters and timers are published under {@code resilience.*} in the metrics registry.
+ */
+public class ResiliencePolicy {
+    private static volatile ResiliencePolicy shared;
+
+    private final RateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryPolicy retryPolicy;
+    private final MetricsRegistry registry;
+
+    // A null rate limiter or circuit breaker disables that stage
+    public ResiliencePolicy(RateLimiter rateLimiter, CircuitBreaker circuitBreaker, RetryPolicy retryPolicy,
+                            MetricsRegistry registry) {
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.retryPolicy = retryPolicy;
+        this.registry = registry;
+    }
+
+    public static ResiliencePolicy none() {
+        return new ResiliencePolicy(null, null, RetryPolicy.none(), MetricsRegistry.global());
+    }
+
+    // Shared by every client in the suite, since the limits apply to the upstream as a whole
+    public static ResiliencePolicy fromConfig() {
+        if (shared == null) {
+            synchronized (ResiliencePolicy.class) {
+                if (shared == null) {
+                    MetricsRegistry registry = MetricsRegistry.global();
+                    double rps = TestConfig.getDouble("api.ratelimit.rps", 0);
+                    RateLimiter rateLimiter = rps > 0
+                            ? new RateLimiter(rps, TestConfig.getInt("api.ratelimit.burst", 1), registry) : null;
+                    CircuitBreaker circuitBreaker = TestConfig.getBoolean("api.circuit.enabled", false)
+                            ? new CircuitBreaker(TestConfig.getDouble("api.circuit.failure.rate", 0.5),
+                                    TestConfig.getInt("api.circuit.window", 20),
+                                    TestConfig.getInt("api.circuit.min.calls", 10),
+                                    TestConfig.getLong("api.circuit.open.ms", 5000), registry) : null;
+                    RetryPolicy retryPolicy = new RetryPolicy(TestConfig.getInt("api.retry.max", 0),
+                            TestConfig.getLong("api.retry.base.delay.ms", 100),
+                            TestConfig.getLong("api.retry.max.delay.ms", 5000),
+                            TestConfig.getLong("api.retry.max.retry.after.ms", 30_000));
+                    shared = new ResiliencePolicy(rateLimiter, circuitBreaker, retryPolicy, registry);
+                }
+            }
+        }
+        return shared;
+    }
+
+    public RateLimiter getRateLimiter() { return rateLimiter; }
+    public CircuitBreaker getCircuitBreaker() { return circuitBreaker; }
+    public RetryPolicy getRetryPolicy() { return retryPolicy; }
+
+    public <R extends ApiResponse> R execute(Supplier<R> call) {
+        for (int attempt = 0; ; attempt++) {
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+            boolean probe = circuitBreaker != null && circuitBreaker.acquire();
+            R response;
+            boolean completed = false;
+            try {
+                response = call.get();
+                completed = true;
+            } finally {
+                // RestAssured sneaky-throws checked IOExceptions, so a failed call may throw anything
+                if (!completed && circuitBreaker != null) {
+                    circuitBreaker.record(false, probe);
+                }
+            }
+            boolean retryable = retryPolicy.isRetryable(response.getStatusCode());
+            if (circuitBreaker != null) {
+                circuitBreaker.record(!retryable, probe);
+            }
+            if (!retryable || attempt >= retryPolicy.getMaxRetries()) {
+                if (retryable) {
+                    registry.counter("resilience.retry.exhausted").increment();
+                }
+                return response;
+            }
+            long delayMs = retryPolicy.delayMs(attempt + 1, response.getHeader("Retry-After"));
+            if (delayMs < 0) {
+                // Told to stay away for longer than we are willing to wait
+                registry.counter("resilience.retry.after.exceeded").increment();
+                return response;
+            }
+
+            // Drain the error body so the connection goes back to the pool before we wait
+            response.discard();
+            registry.counter("resilience.retry.attempts").increment();
+            registry.counter("resilience.retry.status." + response.getStatusCode()).increment();
+            registry.timer("resilience.retry.backoff").record(delayMs * 1_000_000);
+            sleep(delayMs);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying", e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.randomuser.api;
+
+import com.randomuser.utils.TestConfig;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache with TTL for successful seeded responses. Concurrent misses for the same
+ * query are collapsed into a single request (single-flight).
+ */
+public class ResponseCache {
+    private final int maxEntries;
+    private final long ttlMs;
+    private final LinkedHashMap<UserQuery, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentHashMap<UserQuery, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong collapsed = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    public ResponseCache(int maxEntries, long ttlMs) {
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+    }
+
+    public static ResponseCache fromConfig() {
+        if (!TestConfig.getBoolean("api.cache.enabled", false)) {
+            return null;
+        }
+        return new ResponseCache(TestConfig.getInt("api.cache.max.entries", 256),
+                TestConfig.getLong("api.cache.ttl.ms", 300_000));
+    }
+
+    public Response get(UserQuery query, Supplier<Response> loader) {
+        if (!query.isSeeded()) {
+            return loader.get();
+        }
+
+        Entry cached = lookup(query);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached.toResponse();
+        }
+
+        CompletableFuture<Entry> flight = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(query, flight);
+        if (existing != null) {
+            collapsed.incrementAndGet();
+            return join(existing).toResponse();
+        }
+
+        try {
+            // Another flight may have completed between the lookup and claiming this one
+            Entry stored = lookup(query);
+            if (stored != null) {
+                hits.incrementAndGet();
+                flight.complete(stored);
+                return stored.toResponse();
+            }
+            misses.incrementAndGet();
+            Response response = loader.get();
+            Entry entry = new Entry(response.getStatusCode(), response.getStatusLine(), response.getHeaders(),
+                    response.getContentType(), response.asByteArray(), System.nanoTime());
+            if (entry.statusCode == 200) {
+                store(query, entry);
+            }
+            flight.complete(entry);
+            return entry.toResponse();
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(query, flight);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getCollapsed() { return collapsed.get(); }
+    public long getEvictions() { return evictions.get(); }
+    public long getExpirations() { return expirations.get(); }
+
+    private synchronized Entry lookup(UserQuery query) {
+        Entry entry = entries.get(query);
+        if (entry != null && isExpired(entry, System.nanoTime())) {
+            entries.remove(query);
+            expirations.incrementAndGet();
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void store(UserQuery query, Entry entry) {
+        entries.put(query, entry);
+        long now = System.nanoTime();
+        Iterator<Map.Entry<UserQuery, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext() && entries.size() > maxEntries) {
+            Map.Entry<UserQuery, Entry> eldest = it.next();
+            it.remove();
+            if (isExpired(eldest.getValue(), now)) {
+                expirations.incrementAndGet();
+            } else {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return ttlMs > 0 && (now - entry.createdNanos) / 1_000_000 >= ttlMs;
+    }
+
+    private static Entry join(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry {
+        private final int statusCode;
+        private final String statusLine;
+        private final Headers headers;
+        private final String contentType;
+        private final byte[] body;
+        private final long createdNanos;
+
+        private Entry(int statusCode, String statusLine, Headers headers, String contentType, byte[] body,
+                      long createdNanos) {
+            this.statusCode = statusCode;
+            this.statusLine = statusLine;
+            this.headers = headers;
+            this.contentType = contentType;
+            this.body = body;
+            this.createdNanos = createdNanos;
+        }
+
+        // Every caller gets its own Response over the shared, never-mutated body
+        private Response toResponse() {
+            return new ResponseBuilder()
+                    .setStatusCode(statusCode)
+                    .setStatusLine(statusLine)
+                    .setHeaders(headers)
+                    .setContentType(contentType)
+                    .setBody(body)
+                    .build();
+        }
+    }
+}
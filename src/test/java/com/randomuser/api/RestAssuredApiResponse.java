@@ -0,0 +1,57 @@
+package com.randomuser.api;
+
+import com.randomuser.models.UserResponse;
+import com.randomuser.utils.UserStream;
+import io.restassured.response.Response;
+
+import java.io.InputStream;
+
+/**
+ * {@link ApiResponse} over a RestAssured {@link Response}; binding goes through the response's configured mapper.
+ */
+public final class RestAssuredApiResponse implements ApiResponse {
+    private final Response response;
+
+    public RestAssuredApiResponse(Response response) {
+        this.response = response;
+    }
+
+    public Response unwrap() {
+        return response;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return response.getStatusCode();
+    }
+
+    @Override
+    public String getContentType() {
+        return response.getContentType();
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return response.getHeader(name);
+    }
+
+    @Override
+    public InputStream getBody() {
+        return response.asInputStream();
+    }
+
+    @Override
+    public byte[] asByteArray() {
+        return response.asByteArray();
+    }
+
+    @Override
+    public UserResponse asUserResponse() {
+        return response.as(UserResponse.class);
+    }
+
+    @Override
+    public UserStream stream() {
+        return UserStream.from(response);
+    }
+}
@@ -0,0 +1,73 @@
+package com.randomuser.api;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with full jitter for throttling and transient server errors. A Retry-After header
+ * takes precedence over the computed delay and is honoured in full; one longer than {@code maxRetryAfterMs}
+ * means giving up rather than retrying into a window the server said is still throttled.
+ */
+public class RetryPolicy {
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 502, 503, 504);
+
+    private final int maxRetries;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final long maxRetryAfterMs;
+
+    public RetryPolicy(int maxRetries, long baseDelayMs, long maxDelayMs) {
+        this(maxRetries, baseDelayMs, maxDelayMs, Long.MAX_VALUE);
+    }
+
+    public RetryPolicy(int maxRetries, long baseDelayMs, long maxDelayMs, long maxRetryAfterMs) {
+        this.maxRetries = maxRetries;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.maxRetryAfterMs = maxRetryAfterMs;
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(0, 0, 0, 0);
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public boolean isRetryable(int statusCode) {
+        return RETRYABLE_STATUSES.contains(statusCode);
+    }
+
+    // attempt is the number of the retry about to be made, starting at 1; retryAfter is the raw header, if any.
+    // -1 when Retry-After asks for more than maxRetryAfterMs and the call should not be retried
+    public long delayMs(int attempt, String retryAfter) {
+        long retryAfterMs = retryAfterMs(retryAfter);
+        if (retryAfterMs >= 0) {
+            return retryAfterMs <= maxRetryAfterMs ? retryAfterMs : -1;
+        }
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 30));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    // Retry-After is either delta-seconds or an HTTP date; -1 when absent or unparseable
+    static long retryAfterMs(String header) {
+        if (header == null || header.isBlank()) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(header.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+    }
+}
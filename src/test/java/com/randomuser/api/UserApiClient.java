@@ -0,0 +1,88 @@
+package com.randomuser.api;
+
+import com.randomuser.models.UserResponse;
+import com.randomuser.utils.TestConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Backend-neutral users client. {@code api.client.backend} selects RestAssured ({@link RandomUserApiClient})
+ * or the JDK HTTP client ({@link HttpUserApiClient}).
+ */
+public interface UserApiClient extends AutoCloseable {
+
+    static UserApiClient fromConfig() {
+        String backend = TestConfig.get("api.client.backend", "restassured").toLowerCase(Locale.ROOT);
+        switch (backend) {
+            case "restassured":
+                return new RandomUserApiClient();
+            case "jdk":
+                return new HttpUserApiClient();
+            default:
+                throw new IllegalStateException("Unknown api.client.backend: " + backend);
+        }
+    }
+
+    // Raw, uncached request; the caller reads the body
+    ApiResponse execute(UserQuery query);
+
+    // Parsed users; a non-200 status throws IllegalStateException
+    UserResponse fetchUsers(UserQuery query);
+
+    CompletableFuture<UserResponse> getUsersAsync(UserQuery query);
+
+    @Override
+    void close();
+
+    default CompletableFuture<List<UserResponse>> getUsersBatch(List<UserQuery> queries) {
+        return getUsersBatch(queries, TestConfig.getInt("api.async.max.concurrency", 32));
+    }
+
+    // Runs the queries concurrently, never more than maxConcurrency at once; results keep the input order
+    default CompletableFuture<List<UserResponse>> getUsersBatch(List<UserQuery> queries, int maxConcurrency) {
+        List<CompletableFuture<UserResponse>> futures = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            futures.add(new CompletableFuture<>());
+        }
+        AtomicInteger nextIndex = new AtomicInteger();
+        for (int i = 0; i < Math.min(Math.max(1, maxConcurrency), queries.size()); i++) {
+            submitNext(queries, futures, nextIndex);
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<UserResponse> responses = new ArrayList<>(futures.size());
+                    futures.forEach(future -> responses.add(future.join()));
+                    return responses;
+                });
+    }
+
+    // Each completion pulls the next query, so the cap holds without blocking a thread per waiting query
+    private void submitNext(List<UserQuery> queries, List<CompletableFuture<UserResponse>> futures,
+                            AtomicInteger nextIndex) {
+        int index = nextIndex.getAndIncrement();
+        if (index >= queries.size()) {
+            return;
+        }
+        getUsersAsync(queries.get(index)).whenComplete((response, error) -> {
+            if (error != null) {
+                futures.get(index).completeExceptionally(error);
+            } else {
+                futures.get(index).complete(response);
+            }
+            submitNext(queries, futures, nextIndex);
+        });
+    }
+
+    static UserResponse checkStatus(UserQuery query, ApiResponse response) {
+        if (response.getStatusCode() != 200) {
+            response.discard();
+            throw new IllegalStateException("Unexpected status code " + response.getStatusCode() + " for " + query);
+        }
+        return response.asUserResponse();
+    }
+}
@@ -0,0 +1,142 @@
+package com.randomuser.api;
+
+import com.randomuser.utils.UserProjection;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable, normalized set of query parameters for the users endpoint. Equal queries produce equal
+ * requests, so instances double as cache keys.
+ */
+public final class UserQuery {
+    private final int results;
+    private final int page;
+    private final String gender;
+    private final String nat;
+    private final String seed;
+    private final String inc;
+    private final String exc;
+
+    public UserQuery(int results, int page, String gender, String nat, String seed) {
+        this(results, page, gender, nat, seed, null, null);
+    }
+
+    // inc/exc are comma-separated user field names (see UserProjection.USER_FIELDS)
+    public UserQuery(int results, int page, String gender, String nat, String seed, String inc, String exc) {
+        this.results = Math.max(0, results);
+        this.page = Math.max(0, page);
+        this.gender = isBlank(gender) ? null : gender.trim().toLowerCase(Locale.ROOT);
+        this.nat = isBlank(nat) ? null : normalizeNat(nat);
+        this.seed = isBlank(seed) ? null : seed;
+        this.inc = isBlank(inc) ? null : UserProjection.normalize(inc);
+        this.exc = isBlank(exc) ? null : UserProjection.normalize(exc);
+    }
+
+    public static UserQuery of(int results, String gender, String nat, String seed) {
+        return new UserQuery(results, 0, gender, nat, seed);
+    }
+
+    public static UserQuery page(int page, int results, String seed) {
+        return new UserQuery(results, page, null, null, seed);
+    }
+
+    public UserQuery withPage(int page) {
+        return new UserQuery(results, page, gender, nat, seed, inc, exc);
+    }
+
+    public UserQuery withSeed(String seed) {
+        return new UserQuery(results, page, gender, nat, seed, inc, exc);
+    }
+
+    public UserQuery withInclude(String... fields) {
+        return new UserQuery(results, page, gender, nat, seed, String.join(",", fields), exc);
+    }
+
+    public UserQuery withExclude(String... fields) {
+        return new UserQuery(results, page, gender, nat, seed, inc, String.join(",", fields));
+    }
+
+    public boolean isProjected() {
+        return inc != null || exc != null;
+    }
+
+    public boolean isSeeded() {
+        return seed != null;
+    }
+
+    // Only set parameters are sent, in a stable order
+    public Map<String, Object> toParams() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (results > 0) {
+            params.put("results", results);
+        }
+        if (page > 0) {
+            params.put("page", page);
+        }
+        if (gender != null) {
+            params.put("gender", gender);
+        }
+        if (nat != null) {
+            params.put("nat", nat);
+        }
+        if (seed != null) {
+            params.put("seed", seed);
+        }
+        if (inc != null) {
+            params.put("inc", inc);
+        }
+        if (exc != null) {
+            params.put("exc", exc);
+        }
+        return params;
+    }
+
+    // Parameter names only, e.g. "results,gender" - groups requests of the same shape
+    public String shape() {
+        String shape = String.join(",", toParams().keySet());
+        return shape.isEmpty() ? "default" : shape;
+    }
+
+    // Getters
+    public int getResults() { return results; }
+    public int getPage() { return page; }
+    public String getGender() { return gender; }
+    public String getNat() { return nat; }
+    public String getSeed() { return seed; }
+    public String getInc() { return inc; }
+    public String getExc() { return exc; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserQuery)) return false;
+        UserQuery that = (UserQuery) o;
+        return results == that.results && page == that.page && Objects.equals(gender, that.gender)
+                && Objects.equals(nat, that.nat) && Objects.equals(seed, that.seed)
+                && Objects.equals(inc, that.inc) && Objects.equals(exc, that.exc);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(results, page, gender, nat, seed, inc, exc);
+    }
+
+    @Override
+    public String toString() {
+        return "UserQuery" + toParams();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static String normalizeNat(String nat) {
+        String[] codes = nat.toUpperCase(Locale.ROOT).replace(" ", "").split(",");
+        Arrays.sort(codes);
+        return String.join(",", codes);
+    }
+}
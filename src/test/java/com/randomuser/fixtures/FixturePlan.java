@@ -0,0 +1,107 @@
+package com.randomuser.fixtures;
+
+import com.randomuser.api.UserQuery;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data needs of a suite, collected from {@link UserFixture} annotations. Needs with the same gender and
+ * nationality are summed into one group, fetched in requests of at most 5000 users (the API maximum),
+ * and each test gets its own contiguous slice of the group.
+ */
+public class FixturePlan {
+    private static final int MAX_RESULTS_PER_REQUEST = 5000;
+
+    private final Map<String, Group> groups = new LinkedHashMap<>();
+    private final Map<String, Slice> slices = new LinkedHashMap<>();
+
+    public static FixturePlan of(Collection<Method> methods) {
+        FixturePlan plan = new FixturePlan();
+        // Sorted so every run hands the same slice to the same test
+        methods.stream()
+                .filter(method -> method.isAnnotationPresent(UserFixture.class))
+                .distinct()
+                .sorted(Comparator.comparing(FixturePlan::key))
+                .forEach(plan::add);
+        return plan;
+    }
+
+    public static FixturePlan of(Class<?> testClass) {
+        return of(List.of(testClass.getMethods()));
+    }
+
+    public static String key(Method method) {
+        return method.getDeclaringClass().getName() + "." + method.getName();
+    }
+
+    public boolean covers(Method method) {
+        return slices.containsKey(key(method));
+    }
+
+    public Collection<Group> getGroups() {
+        return groups.values();
+    }
+
+    public int getTests() {
+        return slices.size();
+    }
+
+    Slice slice(Method method) {
+        return slices.get(key(method));
+    }
+
+    private void add(Method method) {
+        UserFixture fixture = method.getAnnotation(UserFixture.class);
+        String gender = fixture.gender().isEmpty() ? null : fixture.gender();
+        String nat = fixture.nat().isEmpty() ? null : fixture.nat();
+        Group group = groups.computeIfAbsent(gender + "|" + nat, ignored -> new Group(gender, nat));
+        slices.put(key(method), new Slice(group, group.users, fixture.count()));
+        group.users += fixture.count();
+    }
+
+    public static final class Group {
+        private final String gender;
+        private final String nat;
+        private int users;
+
+        Group(String gender, String nat) {
+            this.gender = gender;
+            this.nat = nat;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public List<UserQuery> queries() {
+            List<UserQuery> queries = new ArrayList<>();
+            for (int remaining = users; remaining > 0; remaining -= MAX_RESULTS_PER_REQUEST) {
+                queries.add(UserQuery.of(Math.min(remaining, MAX_RESULTS_PER_REQUEST), gender, nat, null));
+            }
+            return queries;
+        }
+
+        @Override
+        public String toString() {
+            return "gender=" + gender + ", nat=" + nat + ", users=" + users;
+        }
+    }
+
+    static final class Slice {
+        final Group group;
+        final int offset;
+        final int count;
+
+        Slice(Group group, int offset, int count) {
+            this.group = group;
+            this.offset = offset;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.randomuser.fixtures;
+
+import com.randomuser.models.User;
+import org.testng.annotations.DataProvider;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Data providers over the suite fixtures. Use with {@code dataProviderClass = UserDataProviders.class}
+ * on a test annotated with {@link UserFixture}.
+ */
+public class UserDataProviders {
+
+    // One invocation per user, run in parallel
+    @DataProvider(name = "fixtureUsers", parallel = true)
+    public static Object[][] fixtureUsers(Method method) {
+        List<User> users = UserFixtures.get(method).usersFor(method);
+        Object[][] rows = new Object[users.size()][];
+        for (int i = 0; i < users.size(); i++) {
+            rows[i] = new Object[]{users.get(i)};
+        }
+        return rows;
+    }
+
+    // A single invocation with the whole slice, for checks across users
+    @DataProvider(name = "fixtureBatch")
+    public static Object[][] fixtureBatch(Method method) {
+        return new Object[][]{{UserFixtures.get(method).usersFor(method)}};
+    }
+}
@@ -0,0 +1,20 @@
+package com.randomuser.fixtures;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many suite-fixture users a test needs, optionally filtered. Tests with the same filter share
+ * one batched request; see {@link FixturePlan}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface UserFixture {
+    int count() default 1;
+
+    String gender() default "";
+
+    String nat() default "";
+}
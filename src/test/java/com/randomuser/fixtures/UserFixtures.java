@@ -0,0 +1,106 @@
+package com.randomuser.fixtures;
+
+import com.randomuser.api.ApiResponse;
+import com.randomuser.api.AsyncExecutors;
+import com.randomuser.api.UserApiClient;
+import com.randomuser.api.UserQuery;
+import com.randomuser.models.User;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Users fetched once for the whole suite according to a {@link FixturePlan}. All planned requests run
+ * concurrently on first use; tests then read their slices without touching the network.
+ */
+public class UserFixtures {
+    private static FixturePlan suitePlan;
+    private static UserFixtures suite;
+
+    private final FixturePlan plan;
+    private final Map<FixturePlan.Group, List<User>> users = new IdentityHashMap<>();
+    private final int requests;
+    private String contentType;
+
+    private UserFixtures(FixturePlan plan, UserApiClient client) {
+        this.plan = plan;
+        List<FixturePlan.Group> groups = new ArrayList<>(plan.getGroups());
+        List<List<CompletableFuture<ApiResponse>>> futures = new ArrayList<>();
+        ExecutorService executor = AsyncExecutors.newRequestExecutor();
+        int sent = 0;
+        try {
+            for (FixturePlan.Group group : groups) {
+                List<CompletableFuture<ApiResponse>> groupFutures = new ArrayList<>();
+                for (UserQuery query : group.queries()) {
+                    groupFutures.add(CompletableFuture.supplyAsync(() -> client.execute(query), executor));
+                    sent++;
+                }
+                futures.add(groupFutures);
+            }
+            for (int i = 0; i < groups.size(); i++) {
+                List<User> groupUsers = new ArrayList<>(groups.get(i).getUsers());
+                for (CompletableFuture<ApiResponse> future : futures.get(i)) {
+                    ApiResponse response = future.join();
+                    if (response.getStatusCode() != 200) {
+                        response.discard();
+                        throw new IllegalStateException("Fixture request for " + groups.get(i) + " returned "
+                                + response.getStatusCode());
+                    }
+                    contentType = response.getContentType();
+                    groupUsers.addAll(response.asUserResponse().getResults());
+                }
+                users.put(groups.get(i), Collections.unmodifiableList(groupUsers));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        this.requests = sent;
+    }
+
+    // Called by UserFixtureListener before any test runs
+    public static synchronized void plan(FixturePlan plan) {
+        suitePlan = plan;
+        suite = null;
+    }
+
+    // Loads on first use; outside a planned suite the test's own class is planned instead
+    public static synchronized UserFixtures get(Method method) {
+        if (suite == null || !suite.plan.covers(method)) {
+            FixturePlan plan = suitePlan != null && suitePlan.covers(method)
+                    ? suitePlan : FixturePlan.of(method.getDeclaringClass());
+            try (UserApiClient client = UserApiClient.fromConfig()) {
+                suite = new UserFixtures(plan, client);
+            }
+        }
+        return suite;
+    }
+
+    public List<User> usersFor(Method method) {
+        FixturePlan.Slice slice = plan.slice(method);
+        if (slice == null) {
+            throw new IllegalStateException(FixturePlan.key(method) + " is not annotated with @UserFixture");
+        }
+        List<User> groupUsers = users.get(slice.group);
+        // A short response would otherwise hand data-provider tests fewer rows, or none, and let them pass
+        if (slice.offset + slice.count > groupUsers.size()) {
+            throw new IllegalStateException(FixturePlan.key(method) + " needs users " + slice.offset + " to "
+                    + (slice.offset + slice.count) + " of " + slice.group + ", but the API returned "
+                    + groupUsers.size());
+        }
+        return groupUsers.subList(slice.offset, slice.offset + slice.count);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+}
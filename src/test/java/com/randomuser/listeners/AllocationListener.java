@@ -0,0 +1,60 @@
+package com.randomuser.listeners;
+
+import com.randomuser.metrics.AllocationMetrics;
+import com.randomuser.metrics.MetricsReportWriter;
+import com.randomuser.utils.TestConfig;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Measures allocation, GC and peak heap around every test invocation, fails invocations that allocate more than
+ * their {@link com.randomuser.metrics.AllocationBudget}, and writes allocation-metrics.json/.csv when the suite ends.
+ */
+public class AllocationListener implements IInvokedMethodListener, ISuiteListener {
+    private final AllocationMetrics metrics = AllocationMetrics.fromConfig();
+    private final ThreadLocal<AllocationMetrics.Window> window = new ThreadLocal<>();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (metrics != null && method.isTestMethod()) {
+            window.set(metrics.start());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        AllocationMetrics.Window started = window.get();
+        if (started == null || !method.isTestMethod()) {
+            return;
+        }
+        window.remove();
+        AllocationMetrics.Sample sample = metrics.stop(started);
+        metrics.record(result.getTestClass().getRealClass().getSimpleName()
+                + "." + result.getMethod().getMethodName(), sample);
+
+        String overBudget = AllocationMetrics.checkBudget(result.getMethod().getConstructorOrMethod().getMethod(), sample);
+        if (overBudget != null && result.getStatus() == ITestResult.SUCCESS) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError(overBudget));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (metrics == null) {
+            return;
+        }
+        try {
+            MetricsReportWriter.writeAllocations(Paths.get(TestConfig.get("metrics.report.dir", "target/metrics")),
+                    metrics);
+        } catch (IOException e) {
+            System.err.println("Unable to write allocation report: " + e.getMessage());
+        }
+    }
+}
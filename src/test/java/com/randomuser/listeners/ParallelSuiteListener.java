@@ -0,0 +1,29 @@
+package com.randomuser.listeners;
+
+import com.randomuser.utils.TestConfig;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Applies {@code suite.parallel} and {@code suite.thread.count} from the test config to every suite,
+ * so the degree of parallelism can be changed without editing testng.xml.
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String parallel = TestConfig.get("suite.parallel", null);
+        int threadCount = TestConfig.getInt("suite.thread.count", 0);
+
+        for (XmlSuite suite : suites) {
+            if (parallel != null) {
+                suite.setParallel(XmlSuite.ParallelMode.getValidParallel(parallel));
+            }
+            if (threadCount > 0) {
+                suite.setThreadCount(threadCount);
+            }
+        }
+    }
+}
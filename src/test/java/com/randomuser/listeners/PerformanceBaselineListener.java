@@ -0,0 +1,57 @@
+package com.randomuser.listeners;
+
+import com.randomuser.perf.BaselineRun;
+import com.randomuser.perf.BaselineStore;
+import com.randomuser.perf.PerfSamples;
+import com.randomuser.utils.TestConfig;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Samples the duration of every passing test invocation into {@link PerfSamples} and, when the suite ends,
+ * appends the run (with the request durations recorded by RequestMetrics) to the baseline store.
+ */
+public class PerformanceBaselineListener implements IInvokedMethodListener, ISuiteListener {
+    private final ThreadLocal<Long> started = new ThreadLocal<>();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.isTestMethod()) {
+            started.set(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        Long start = started.get();
+        if (start == null || !method.isTestMethod()) {
+            return;
+        }
+        started.remove();
+        if (result.getStatus() == ITestResult.SUCCESS) {
+            PerfSamples.global().recordMs("test " + result.getTestClass().getRealClass().getSimpleName()
+                    + "." + result.getMethod().getMethodName(), (System.nanoTime() - start) / 1e6);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!TestConfig.getBoolean("perf.baseline.record", true) || PerfSamples.global().snapshot().isEmpty()) {
+            return;
+        }
+        BaselineStore store = BaselineStore.fromConfig();
+        try {
+            BaselineRun run = BaselineRun.of("suite", PerfSamples.global().snapshot());
+            store.append(run);
+            System.out.println("Recorded performance run " + run.commit() + " (config " + run.config() + ") in "
+                    + store.getFile());
+        } catch (UncheckedIOException e) {
+            System.err.println("Unable to record performance run: " + e.getMessage());
+        }
+    }
+}
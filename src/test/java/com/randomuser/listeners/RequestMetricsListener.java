@@ -0,0 +1,49 @@
+package com.randomuser.listeners;
+
+import com.randomuser.metrics.MetricsReportWriter;
+import com.randomuser.metrics.RequestMetrics;
+import com.randomuser.utils.TestConfig;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Attributes requests to the running test method and writes request-metrics.json/.csv when the suite ends.
+ */
+public class RequestMetricsListener implements ITestListener, ISuiteListener {
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        RequestMetrics.global().setCurrentTest(result.getTestClass().getRealClass().getSimpleName()
+                + "." + result.getMethod().getMethodName());
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        RequestMetrics.global().setCurrentTest(null);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        RequestMetrics.global().setCurrentTest(null);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        RequestMetrics.global().setCurrentTest(null);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        try {
+            MetricsReportWriter.write(Paths.get(TestConfig.get("metrics.report.dir", "target/metrics")),
+                    RequestMetrics.global());
+        } catch (IOException e) {
+            System.err.println("Unable to write request metrics report: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.randomuser.listeners;
+
+import com.randomuser.sharding.ShardPlan;
+import com.randomuser.sharding.TestTimings;
+import com.randomuser.utils.TestConfig;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+/**
+ * Runs only this shard's part of the suite ({@code test.shard.index} of {@code test.shard.count}) and records
+ * per-method durations to {@code test.shard.report.dir/shard-<index>/timings.json} for balancing later runs.
+ */
+public class ShardingListener implements ISuiteListener, IMethodInterceptor, IDataProviderInterceptor, ITestListener {
+    private final TestTimings timings = new TestTimings();
+
+    @Override
+    public void onStart(ISuite suite) {
+        List<ITestNGMethod> methods = suite.getAllMethods();
+        ShardPlan plan = ShardPlan.fromConfig(
+                methods.stream().map(ITestNGMethod::getQualifiedName).collect(Collectors.toList()),
+                methods.stream().filter(ITestNGMethod::isDataDriven).map(ITestNGMethod::getQualifiedName)
+                        .collect(Collectors.toList()));
+        ShardPlan.setCurrent(plan);
+        if (plan.isActive()) {
+            System.out.println("Sharding: " + plan);
+        }
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ShardPlan plan = ShardPlan.current();
+        return methods.stream()
+                .filter(instance -> plan.includes(instance.getMethod().getQualifiedName()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> rows, IDataProviderMethod dataProvider,
+                                        ITestNGMethod method, ITestContext context) {
+        ShardPlan plan = ShardPlan.current();
+        String name = method.getQualifiedName();
+        return plan.isSplit(name) ? new ShardRows(rows, plan, name) : rows;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ShardPlan plan = ShardPlan.current();
+        try {
+            timings.write(Paths.get(TestConfig.get("test.shard.report.dir", "target/shards"),
+                    "shard-" + plan.getIndex(), "timings.json"));
+        } catch (IOException e) {
+            System.err.println("Unable to write test timings: " + e.getMessage());
+        }
+        ShardPlan.setCurrent(null);
+    }
+
+    private void record(ITestResult result) {
+        timings.record(result.getMethod().getQualifiedName(), result.getEndMillis() - result.getStartMillis());
+    }
+
+    // Passes through only the rows dealt to this shard
+    private static final class ShardRows implements Iterator<Object[]> {
+        private final Iterator<Object[]> rows;
+        private final ShardPlan plan;
+        private final String method;
+        private int row;
+        private Object[] next;
+
+        ShardRows(Iterator<Object[]> rows, ShardPlan plan, String method) {
+            this.rows = rows;
+            this.plan = plan;
+            this.method = method;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && rows.hasNext()) {
+                Object[] candidate = rows.next();
+                if (plan.includesRow(method, row++)) {
+                    next = candidate;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] row = next;
+            next = null;
+            return row;
+        }
+    }
+}
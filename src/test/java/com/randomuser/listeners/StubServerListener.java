@@ -0,0 +1,48 @@
+package com.randomuser.listeners;
+
+import com.randomuser.stub.StubBehavior;
+import com.randomuser.stub.StubServer;
+import com.randomuser.utils.TestConfig;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Starts the embedded stub server for the suite when {@code stub.enabled=true} and points
+ * {@code api.base.url} and {@code picture.verify.origin} at it.
+ */
+public class StubServerListener implements ISuiteListener {
+    private static volatile StubServer server;
+
+    public static StubServer getServer() {
+        return server;
+    }
+
+    @Override
+    public synchronized void onStart(ISuite suite) {
+        if (!TestConfig.isStubEnabled() || server != null) {
+            return;
+        }
+        try {
+            server = new StubServer(TestConfig.getInt("stub.port", 0),
+                    TestConfig.getInt("stub.threads", 32),
+                    StubBehavior.fromConfig()).start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start stub server", e);
+        }
+        System.setProperty("api.base.url", server.getBaseUrl());
+        System.setProperty("picture.verify.origin", server.getOrigin());
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        if (server != null) {
+            server.close();
+            server = null;
+            System.clearProperty("api.base.url");
+            System.clearProperty("picture.verify.origin");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.randomuser.listeners;
+
+import com.randomuser.fixtures.FixturePlan;
+import com.randomuser.fixtures.UserFixtures;
+import com.randomuser.sharding.ShardPlan;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.util.stream.Collectors;
+
+/**
+ * Plans the suite's {@code @UserFixture} needs up front so they are fetched together in as few requests
+ * as possible. In a sharded run only this shard's methods are planned.
+ */
+public class UserFixtureListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        ShardPlan shard = ShardPlan.current();
+        UserFixtures.plan(FixturePlan.of(suite.getAllMethods().stream()
+                .filter(method -> shard.includes(method.getQualifiedName()))
+                .map(method -> method.getConstructorOrMethod().getMethod())
+                .collect(Collectors.toList())));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        UserFixtures.plan(null);
+    }
+}
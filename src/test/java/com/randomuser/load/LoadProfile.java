@@ -0,0 +1,58 @@
+package com.randomuser.load;
+
+import com.randomuser.utils.TestConfig;
+
+/**
+ * Workload shape: open model (fixed arrival rate, independent of response times) or closed model
+ * (fixed number of users issuing requests back to back).
+ */
+public final class LoadProfile {
+    public enum Model { OPEN, CLOSED }
+
+    private final Model model;
+    private final double targetRps;
+    private final int concurrency;
+    private final long durationMs;
+    private final long warmupMs;
+
+    private LoadProfile(Model model, double targetRps, int concurrency, long durationMs, long warmupMs) {
+        this.model = model;
+        this.targetRps = targetRps;
+        this.concurrency = concurrency;
+        this.durationMs = durationMs;
+        this.warmupMs = warmupMs;
+    }
+
+    // concurrency caps requests in flight; latency is still measured from the intended start time
+    public static LoadProfile open(double targetRps, int maxInFlight, long durationMs, long warmupMs) {
+        return new LoadProfile(Model.OPEN, targetRps, maxInFlight, durationMs, warmupMs);
+    }
+
+    public static LoadProfile closed(int users, long durationMs, long warmupMs) {
+        return new LoadProfile(Model.CLOSED, 0, users, durationMs, warmupMs);
+    }
+
+    public static LoadProfile fromConfig() {
+        long durationMs = TestConfig.getLong("load.duration.ms", 2000);
+        long warmupMs = TestConfig.getLong("load.warmup.ms", 500);
+        int concurrency = TestConfig.getInt("load.concurrency", 4);
+        if ("open".equalsIgnoreCase(TestConfig.get("load.model", "closed"))) {
+            return open(TestConfig.getDouble("load.target.rps", 10), concurrency, durationMs, warmupMs);
+        }
+        return closed(concurrency, durationMs, warmupMs);
+    }
+
+    // Getters
+    public Model getModel() { return model; }
+    public double getTargetRps() { return targetRps; }
+    public int getConcurrency() { return concurrency; }
+    public long getDurationMs() { return durationMs; }
+    public long getWarmupMs() { return warmupMs; }
+
+    @Override
+    public String toString() {
+        return model == Model.OPEN
+                ? String.format("open(%.1f rps, max %d in flight, %d ms + %d ms warm-up)", targetRps, concurrency, durationMs, warmupMs)
+                : String.format("closed(%d users, %d ms + %d ms warm-up)", concurrency, durationMs, warmupMs);
+    }
+}
@@ -0,0 +1,57 @@
+package com.randomuser.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of a load run. Latencies are in microseconds in the histogram and reported in milliseconds.
+ */
+public class LoadReport {
+    private final LoadProfile profile;
+    private final Histogram histogram;
+    private final long measuredNanos;
+    private final long requests;
+    private final long errors;
+    private final Map<String, Long> errorsByType;
+
+    public LoadReport(LoadProfile profile, Histogram histogram, long measuredNanos, long requests, long errors,
+                      Map<String, Long> errorsByType) {
+        this.profile = profile;
+        this.histogram = histogram;
+        this.measuredNanos = measuredNanos;
+        this.requests = requests;
+        this.errors = errors;
+        this.errorsByType = Collections.unmodifiableMap(new TreeMap<>(errorsByType));
+    }
+
+    public double getPercentileMs(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getThroughputRps() {
+        return measuredNanos == 0 ? 0 : requests * 1e9 / measuredNanos;
+    }
+
+    public double getErrorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    public LoadProfile getProfile() { return profile; }
+    public Histogram getHistogram() { return histogram; }
+    public long getRequests() { return requests; }
+    public long getErrors() { return errors; }
+    public Map<String, Long> getErrorsByType() { return errorsByType; }
+    public double getMeanMs() { return histogram.getMean() / 1000.0; }
+    public double getMaxMs() { return histogram.getMaxValue() / 1000.0; }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d requests, %.1f rps, error rate %.2f%% %s, "
+                        + "p50=%.1f ms p90=%.1f ms p99=%.1f ms p99.9=%.1f ms max=%.1f ms",
+                profile, requests, getThroughputRps(), getErrorRate() * 100, errorsByType,
+                getPercentileMs(50), getPercentileMs(90), getPercentileMs(99), getPercentileMs(99.9), getMaxMs());
+    }
+}
@@ -0,0 +1,149 @@
+package com.randomuser.load;
+
+import com.randomuser.api.AsyncExecutors;
+import com.randomuser.api.ApiResponse;
+import com.randomuser.api.UserApiClient;
+import com.randomuser.api.UserQuery;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives a {@link UserApiClient} with an open or closed workload and records latencies into an
+ * HdrHistogram. In the open model each latency is measured from the request's scheduled start, so
+ * queueing behind a slow response is counted instead of hidden (no coordinated omission).
+ */
+public class LoadTestRunner {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final UserApiClient client;
+    private final List<UserQuery> queries;
+
+    public LoadTestRunner(UserApiClient client, List<UserQuery> queries) {
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException("At least one query is required");
+        }
+        this.client = client;
+        this.queries = queries;
+    }
+
+    public LoadReport run(LoadProfile profile) {
+        Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        Counters counters = new Counters();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.MILLISECONDS.toNanos(profile.getWarmupMs());
+        long end = measureFrom + TimeUnit.MILLISECONDS.toNanos(profile.getDurationMs());
+
+        ExecutorService executor = AsyncExecutors.newRequestExecutor();
+        try {
+            if (profile.getModel() == LoadProfile.Model.OPEN) {
+                runOpen(profile, executor, recorder, counters, start, measureFrom, end);
+            } else {
+                runClosed(profile, executor, recorder, counters, measureFrom, end);
+            }
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+
+        Histogram histogram = recorder.getIntervalHistogram();
+        return new LoadReport(profile, histogram, end - measureFrom, counters.requests.get(), counters.errors.get(),
+                counters.errorsByType);
+    }
+
+    private void runOpen(LoadProfile profile, ExecutorService executor, Recorder recorder, Counters counters,
+                         long start, long measureFrom, long end) {
+        long intervalNanos = (long) (1e9 / profile.getTargetRps());
+        Semaphore inFlight = new Semaphore(Math.max(1, profile.getConcurrency()));
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            // An interrupt stops scheduling; requests already sent still complete
+            if (intended >= end || !sleepUntil(intended)) {
+                break;
+            }
+            // Waiting here for a free slot delays the send, but not the intended start used for latency
+            inFlight.acquireUninterruptibly();
+            UserQuery query = queries.get((int) (i % queries.size()));
+            executor.execute(() -> {
+                try {
+                    execute(query, intended, intended >= measureFrom, recorder, counters);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void runClosed(LoadProfile profile, ExecutorService executor, Recorder recorder, Counters counters,
+                           long measureFrom, long end) {
+        AtomicLong sequence = new AtomicLong();
+        for (int user = 0; user < profile.getConcurrency(); user++) {
+            executor.execute(() -> {
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    UserQuery query = queries.get((int) (sequence.getAndIncrement() % queries.size()));
+                    execute(query, now, now >= measureFrom, recorder, counters);
+                }
+            });
+        }
+    }
+
+    private void execute(UserQuery query, long startNanos, boolean measured, Recorder recorder, Counters counters) {
+        String error = null;
+        try {
+            ApiResponse response = client.execute(query);
+            response.asByteArray();
+            if (response.getStatusCode() != 200) {
+                error = "HTTP " + response.getStatusCode();
+            }
+        } catch (Exception e) {
+            // Includes the checked IOExceptions RestAssured sneaky-throws; timeouts are the latencies that matter most
+            error = e.getClass().getSimpleName();
+        }
+        if (!measured) {
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        recorder.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        counters.requests.incrementAndGet();
+        if (error != null) {
+            counters.errors.incrementAndGet();
+            counters.errorsByType.merge(error, 1L, Long::sum);
+        }
+    }
+
+    // False if interrupted before the deadline
+    private static boolean sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            executor.awaitTermination(5, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Counters {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final Map<String, Long> errorsByType = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,16 @@
+package com.randomuser.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Upper bound on the bytes a test may allocate on its own thread per invocation (per row for data-driven tests).
+ * Enforced by {@link com.randomuser.listeners.AllocationListener}; work handed to other threads is not counted.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AllocationBudget {
+    long bytes();
+}
@@ -0,0 +1,125 @@
+package com.randomuser.metrics;
+
+import com.randomuser.utils.TestConfig;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-test heap churn: bytes allocated by the test's own thread (HotSpot's per-thread allocation counter), plus
+ * GC collections, GC time and peak heap over the test's run. The GC and heap figures are JVM-wide, so with
+ * parallel methods they also include whatever ran alongside.
+ */
+public class AllocationMetrics {
+    private static final AllocationMetrics GLOBAL = new AllocationMetrics();
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+    private final Map<String, AllocationStats> stats = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+
+    public record Sample(long allocatedBytes, long gcCount, long gcPauseMs, long peakHeapBytes) {
+    }
+
+    public static final class Window {
+        private final long allocatedBytes;
+        private final long gcCount;
+        private final long gcPauseMs;
+
+        private Window(long allocatedBytes, long gcCount, long gcPauseMs) {
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcPauseMs = gcPauseMs;
+        }
+    }
+
+    public static AllocationMetrics global() {
+        return GLOBAL;
+    }
+
+    // Null when switched off or when the JVM has no per-thread allocation counter
+    public static AllocationMetrics fromConfig() {
+        return TestConfig.getBoolean("metrics.allocation.enabled", true) && isSupported() ? GLOBAL : null;
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null && THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    // Peaks are reset only when nothing else is being measured, so overlapping windows never lose a peak
+    public Window start() {
+        if (running.getAndIncrement() == 0) {
+            HEAP_POOLS.forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+        long gcCount = 0;
+        long gcPauseMs = 0;
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcPauseMs += Math.max(0, collector.getCollectionTime());
+        }
+        return new Window(THREADS.getCurrentThreadAllocatedBytes(), gcCount, gcPauseMs);
+    }
+
+    // Must run on the thread that called start()
+    public Sample stop(Window window) {
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - window.allocatedBytes;
+        long gcCount = 0;
+        long gcPauseMs = 0;
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcPauseMs += Math.max(0, collector.getCollectionTime());
+        }
+        // Sum of per-pool peaks: an upper bound, since the pools need not peak at the same moment
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : HEAP_POOLS) {
+            peakHeap += pool.getPeakUsage().getUsed();
+        }
+        running.decrementAndGet();
+        return new Sample(allocated, gcCount - window.gcCount, gcPauseMs - window.gcPauseMs, peakHeap);
+    }
+
+    // Null when the method has no budget or stayed within it
+    public static String checkBudget(Method method, Sample sample) {
+        AllocationBudget budget = method.getAnnotation(AllocationBudget.class);
+        if (budget == null || sample.allocatedBytes() <= budget.bytes()) {
+            return null;
+        }
+        return String.format("Allocated %,d bytes, over the budget of %,d bytes", sample.allocatedBytes(), budget.bytes());
+    }
+
+    public void record(String testName, Sample sample) {
+        stats.computeIfAbsent(testName, AllocationStats::new).add(sample);
+    }
+
+    public List<AllocationStats> getStats() {
+        List<AllocationStats> list = new ArrayList<>(stats.values());
+        list.sort(Comparator.comparing(AllocationStats::getTestName));
+        return list;
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            if (bean.isThreadAllocatedMemorySupported() && !bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return bean;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.randomuser.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated allocation and GC figures for one test method over all its invocations.
+ */
+public class AllocationStats {
+    private final String testName;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Math::max, 0);
+    private final LongAdder gcCount = new LongAdder();
+    private final LongAdder gcPauseMs = new LongAdder();
+    private final LongAccumulator peakHeapBytes = new LongAccumulator(Math::max, 0);
+
+    AllocationStats(String testName) {
+        this.testName = testName;
+    }
+
+    void add(AllocationMetrics.Sample sample) {
+        invocations.increment();
+        allocatedBytes.add(sample.allocatedBytes());
+        maxAllocatedBytes.accumulate(sample.allocatedBytes());
+        gcCount.add(sample.gcCount());
+        gcPauseMs.add(sample.gcPauseMs());
+        peakHeapBytes.accumulate(sample.peakHeapBytes());
+    }
+
+    public String getTestName() { return testName; }
+    public long getInvocations() { return invocations.sum(); }
+    public long getAllocatedBytes() { return allocatedBytes.sum(); }
+    public long getMaxAllocatedBytes() { return maxAllocatedBytes.get(); }
+    public long getGcCount() { return gcCount.sum(); }
+    public long getGcPauseMs() { return gcPauseMs.sum(); }
+    public long getPeakHeapBytes() { return peakHeapBytes.get(); }
+}
@@ -0,0 +1,116 @@
+package com.randomuser.metrics;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * HttpClient hooks for the phases a RestAssured filter cannot see: the request interceptor runs once a
+ * connection is established, the response interceptor once the status line and headers arrive. The
+ * response body is wrapped so that bytes and read time are recorded when it is consumed.
+ */
+public class HttpMetricsInterceptor implements HttpRequestInterceptor, HttpResponseInterceptor {
+    private final RequestMetrics metrics;
+
+    public HttpMetricsInterceptor(RequestMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void process(HttpRequest request, HttpContext context) {
+        RequestRecord record = metrics.current();
+        if (record != null) {
+            metrics.markConnected(record);
+        }
+    }
+
+    @Override
+    public void process(HttpResponse response, HttpContext context) {
+        RequestRecord record = metrics.current();
+        if (record == null) {
+            return;
+        }
+        metrics.markFirstByte(record, response.getStatusLine().getStatusCode());
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            metrics.complete(record, 0, false);
+        } else {
+            response.setEntity(new MeteredEntity(entity, record));
+        }
+    }
+
+    private final class MeteredEntity extends HttpEntityWrapper {
+        private final RequestRecord record;
+        private InputStream content;
+
+        private MeteredEntity(HttpEntity wrapped, RequestRecord record) {
+            super(wrapped);
+            this.record = record;
+        }
+
+        @Override
+        public synchronized InputStream getContent() throws IOException {
+            if (content == null) {
+                content = new CountingInputStream(super.getContent(), record);
+            }
+            return content;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try (InputStream in = getContent()) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    private final class CountingInputStream extends FilterInputStream {
+        private final RequestRecord record;
+        private long bytes;
+
+        private CountingInputStream(InputStream in, RequestRecord record) {
+            super(in);
+            this.record = record;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b < 0) {
+                metrics.complete(record, bytes, false);
+            } else {
+                bytes++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n < 0) {
+                metrics.complete(record, bytes, false);
+            } else {
+                bytes += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                metrics.complete(record, bytes, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.randomuser.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Minimal lock-free counters and timers that a long-running harness can scrape via {@link #snapshot()}.
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, key -> new Timer());
+    }
+
+    // Flat name -> value view: counters as-is, timers as .count, .total.ms, .mean.ms and .max.ms
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        timers.forEach((name, timer) -> {
+            snapshot.put(name + ".count", timer.getCount());
+            snapshot.put(name + ".total.ms", timer.getTotalMs());
+            snapshot.put(name + ".mean.ms", timer.getMeanMs());
+            snapshot.put(name + ".max.ms", timer.getMaxMs());
+        });
+        return snapshot;
+    }
+
+    public void reset() {
+        counters.clear();
+        timers.clear();
+    }
+
+    public static class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        public void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        public long getCount() { return count.sum(); }
+        public double getTotalMs() { return totalNanos.sum() / 1e6; }
+        public double getMaxMs() { return maxNanos.get() / 1e6; }
+
+        public double getMeanMs() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+        }
+
+        public long getTotal(TimeUnit unit) {
+            return unit.convert(totalNanos.sum(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.randomuser.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the per test / per shape request statistics and the per test allocation figures as JSON and CSV.
+ */
+public final class MetricsReportWriter {
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private MetricsReportWriter() {
+    }
+
+    public static void write(Path dir, RequestMetrics metrics) throws IOException {
+        Files.createDirectories(dir);
+        List<ShapeStats> stats = metrics.getStats();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", stats);
+        report.put("registry", metrics.getRegistry().snapshot());
+        JSON.writeValue(dir.resolve("request-metrics.json").toFile(), report);
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(dir.resolve("request-metrics.csv"), StandardCharsets.UTF_8))) {
+            csv.println("test,shape,requests,errors,bytes,mean_connect_ms,mean_ttfb_ms,mean_body_ms,mean_total_ms,"
+                    + "max_total_ms,deserializations,mean_deserialize_ms");
+            for (ShapeStats s : stats) {
+                csv.println(String.format(Locale.ROOT, "%s,\"%s\",%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%.3f",
+                        s.getTestName(), s.getShape(), s.getRequests(), s.getErrors(), s.getBytes(),
+                        s.getMeanConnectMs(), s.getMeanTtfbMs(), s.getMeanBodyMs(), s.getMeanTotalMs(),
+                        s.getMaxTotalMs(), s.getDeserializations(), s.getMeanDeserializeMs()));
+            }
+        }
+    }
+
+    public static void writeAllocations(Path dir, AllocationMetrics metrics) throws IOException {
+        Files.createDirectories(dir);
+        List<AllocationStats> stats = metrics.getStats();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("tests", stats);
+        JSON.writeValue(dir.resolve("allocation-metrics.json").toFile(), report);
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(dir.resolve("allocation-metrics.csv"), StandardCharsets.UTF_8))) {
+            csv.println("test,invocations,allocated_bytes,max_allocated_bytes,gc_count,gc_pause_ms,peak_heap_bytes");
+            for (AllocationStats s : stats) {
+                csv.println(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d",
+                        s.getTestName(), s.getInvocations(), s.getAllocatedBytes(), s.getMaxAllocatedBytes(),
+                        s.getGcCount(), s.getGcPauseMs(), s.getPeakHeapBytes()));
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.randomuser.metrics;
+
+import com.randomuser.perf.PerfSamples;
+import com.randomuser.utils.TestConfig;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-request phase timings and aggregates them per test method and query shape.
+ * The filter and HttpClient interceptors of one request run on the same thread, so the in-progress
+ * record is handed between them through a thread-local.
+ */
+public class RequestMetrics {
+    public static final String UNATTRIBUTED = "(none)";
+
+    private static final RequestMetrics GLOBAL = new RequestMetrics(MetricsRegistry.global(), PerfSamples.global());
+
+    private final MetricsRegistry registry;
+    private final PerfSamples samples;
+    private final Map<String, ShapeStats> stats = new ConcurrentHashMap<>();
+    private final ThreadLocal<RequestRecord> current = new ThreadLocal<>();
+    private final ThreadLocal<RequestRecord> last = new ThreadLocal<>();
+    private final ThreadLocal<String> currentTest = new ThreadLocal<>();
+
+    public RequestMetrics(MetricsRegistry registry) {
+        this(registry, null);
+    }
+
+    // Raw request durations also go to samples (if any) for the performance baseline
+    public RequestMetrics(MetricsRegistry registry, PerfSamples samples) {
+        this.registry = registry;
+        this.samples = samples;
+    }
+
+    public static RequestMetrics global() {
+        return GLOBAL;
+    }
+
+    // Null when instrumentation is switched off
+    public static RequestMetrics fromConfig() {
+        return TestConfig.getBoolean("metrics.enabled", true) ? GLOBAL : null;
+    }
+
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    public void setCurrentTest(String testName) {
+        if (testName == null) {
+            currentTest.remove();
+        } else {
+            currentTest.set(testName);
+        }
+    }
+
+    public RequestRecord start(String shape) {
+        String test = currentTest.get();
+        RequestRecord record = new RequestRecord(test == null ? UNATTRIBUTED : test, shape, System.nanoTime());
+        current.set(record);
+        return record;
+    }
+
+    public RequestRecord current() {
+        return current.get();
+    }
+
+    // The record stays reachable for a following response.as(...) on the same thread
+    public void finish(RequestRecord record) {
+        current.remove();
+        last.set(record);
+    }
+
+    public RequestRecord lastCompleted() {
+        return last.get();
+    }
+
+    void markConnected(RequestRecord record) {
+        record.markConnected(System.nanoTime());
+    }
+
+    void markFirstByte(RequestRecord record, int statusCode) {
+        record.markFirstByte(System.nanoTime(), statusCode);
+    }
+
+    // Called once the body has been fully read (or closed); a failed exchange passes error = true
+    public void complete(RequestRecord record, long responseBytes, boolean error) {
+        if (!record.complete()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long connect = record.getConnectNanos();
+        long ttfb = record.getTimeToFirstByteNanos();
+        long body = record.getFirstByteNanos() == 0 ? 0 : now - record.getFirstByteNanos();
+        long total = now - record.getStartNanos();
+        boolean failed = error || record.getStatusCode() >= 400;
+
+        statsFor(record).addRequest(connect, ttfb, body, total, responseBytes, failed);
+        registry.timer("http.client.requests").record(total);
+        registry.timer("http.client.connect").record(connect);
+        registry.timer("http.client.ttfb").record(ttfb);
+        registry.timer("http.client.body").record(body);
+        registry.counter("http.client.bytes").add(responseBytes);
+        registry.counter("http.client.status." + (error ? "exception" : String.valueOf(record.getStatusCode()))).increment();
+        if (failed) {
+            registry.counter("http.client.errors").increment();
+        }
+        if (samples != null && !failed) {
+            samples.recordMs("http " + record.getTestName() + " " + record.getShape(), total / 1e6);
+        }
+    }
+
+    public void recordDeserialization(RequestRecord record, long nanos) {
+        registry.timer("http.client.deserialize").record(nanos);
+        if (record != null) {
+            statsFor(record).addDeserialization(nanos);
+        }
+    }
+
+    public List<ShapeStats> getStats() {
+        List<ShapeStats> list = new ArrayList<>(stats.values());
+        list.sort(Comparator.comparing(ShapeStats::getTestName).thenComparing(ShapeStats::getShape));
+        return list;
+    }
+
+    public void reset() {
+        stats.clear();
+        registry.reset();
+    }
+
+    private ShapeStats statsFor(RequestRecord record) {
+        String key = record.getTestName() + '|' + record.getShape();
+        return stats.computeIfAbsent(key, k -> new ShapeStats(record.getTestName(), record.getShape()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.randomuser.metrics;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Opens a {@link RequestRecord} for each request; phases are filled in by {@link HttpMetricsInterceptor}.
+ */
+public class RequestMetricsFilter implements Filter {
+    private final RequestMetrics metrics;
+
+    public RequestMetricsFilter(RequestMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String shape = String.join(",", requestSpec.getQueryParams().keySet());
+        RequestRecord record = metrics.start(shape.isEmpty() ? "default" : shape);
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } catch (RuntimeException e) {
+            metrics.complete(record, 0, true);
+            throw e;
+        } finally {
+            metrics.finish(record);
+        }
+    }
+}
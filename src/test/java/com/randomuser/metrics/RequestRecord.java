@@ -0,0 +1,52 @@
+package com.randomuser.metrics;
+
+/**
+ * Timestamps (System.nanoTime) of a single HTTP exchange. Phases that were not observed stay 0.
+ */
+public class RequestRecord {
+    private final String testName;
+    private final String shape;
+    private final long startNanos;
+    private volatile long connectedNanos;
+    private volatile long firstByteNanos;
+    private volatile int statusCode;
+    private volatile boolean completed;
+
+    RequestRecord(String testName, String shape, long startNanos) {
+        this.testName = testName;
+        this.shape = shape;
+        this.startNanos = startNanos;
+    }
+
+    public String getTestName() { return testName; }
+    public String getShape() { return shape; }
+    public long getStartNanos() { return startNanos; }
+    public int getStatusCode() { return statusCode; }
+
+    // Time to obtain a connection: pool lease plus TCP/TLS setup when no kept-alive connection was available
+    public long getConnectNanos() {
+        return connectedNanos == 0 ? 0 : connectedNanos - startNanos;
+    }
+
+    public long getTimeToFirstByteNanos() {
+        return firstByteNanos == 0 ? 0 : firstByteNanos - startNanos;
+    }
+
+    void markConnected(long nanos) { connectedNanos = nanos; }
+
+    void markFirstByte(long nanos, int statusCode) {
+        firstByteNanos = nanos;
+        this.statusCode = statusCode;
+    }
+
+    long getFirstByteNanos() { return firstByteNanos; }
+
+    // Completes at most once, whichever of end-of-body or close comes first
+    synchronized boolean complete() {
+        if (completed) {
+            return false;
+        }
+        completed = true;
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.randomuser.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated request phases for one test method and query shape.
+ */
+public class ShapeStats {
+    private final String testName;
+    private final String shape;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder connectNanos = new LongAdder();
+    private final LongAdder ttfbNanos = new LongAdder();
+    private final LongAdder bodyNanos = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxTotalNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder deserializations = new LongAdder();
+    private final LongAdder deserializeNanos = new LongAdder();
+
+    ShapeStats(String testName, String shape) {
+        this.testName = testName;
+        this.shape = shape;
+    }
+
+    void addRequest(long connect, long ttfb, long body, long total, long responseBytes, boolean error) {
+        requests.increment();
+        connectNanos.add(connect);
+        ttfbNanos.add(ttfb);
+        bodyNanos.add(body);
+        totalNanos.add(total);
+        maxTotalNanos.accumulate(total);
+        bytes.add(responseBytes);
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    void addDeserialization(long nanos) {
+        deserializations.increment();
+        deserializeNanos.add(nanos);
+    }
+
+    public String getTestName() { return testName; }
+    public String getShape() { return shape; }
+    public long getRequests() { return requests.sum(); }
+    public long getErrors() { return errors.sum(); }
+    public long getBytes() { return bytes.sum(); }
+    public long getDeserializations() { return deserializations.sum(); }
+    public double getMeanConnectMs() { return mean(connectNanos, requests); }
+    public double getMeanTtfbMs() { return mean(ttfbNanos, requests); }
+    public double getMeanBodyMs() { return mean(bodyNanos, requests); }
+    public double getMeanTotalMs() { return mean(totalNanos, requests); }
+    public double getMaxTotalMs() { return maxTotalNanos.get() / 1e6; }
+    public double getMeanDeserializeMs() { return mean(deserializeNanos, deserializations); }
+    public double getTotalDeserializeMs() { return deserializeNanos.sum() / 1e6; }
+
+    private static double mean(LongAdder nanos, LongAdder count) {
+        long n = count.sum();
+        return n == 0 ? 0 : nanos.sum() / 1e6 / n;
+    }
+}
@@ -0,0 +1,44 @@
+package com.randomuser.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Jackson-backed RestAssured object mapper that times {@code response.as(...)} and attributes it to the
+ * last request completed on the calling thread.
+ */
+public class TimingObjectMapper implements io.restassured.mapper.ObjectMapper {
+    private final ObjectMapper mapper;
+    private final RequestMetrics metrics;
+
+    public TimingObjectMapper(ObjectMapper mapper, RequestMetrics metrics) {
+        this.mapper = mapper;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        long start = System.nanoTime();
+        try {
+            return mapper.readValue(context.getDataToDeserialize().asInputStream(),
+                    mapper.constructType(context.getType()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            metrics.recordDeserialization(metrics.lastCompleted(), System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        try {
+            return mapper.writeValueAsString(context.getObjectToSerialize());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.randomuser.models;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps distinct strings to dense int codes (0..size-1) for dictionary-encoded columns. Null is stored as -1.
+ */
+public class StringDictionary {
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    public int encode(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    // -1 when the value has never been encoded
+    public int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    public String decode(int code) {
+        return code < 0 ? null : values.get(code);
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
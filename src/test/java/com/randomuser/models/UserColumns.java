@@ -0,0 +1,318 @@
+package com.randomuser.models;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.randomuser.utils.UserStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Struct-of-arrays store for bulk checks over many users: categorical fields are dictionary-encoded into
+ * int columns, numeric fields live in primitive arrays. Aggregates are plain loops over those arrays,
+ * which the JIT can unroll and vectorize. Not thread-safe while being filled.
+ */
+public class UserColumns {
+    public enum Column { GENDER, NAT, COUNTRY, STATE }
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StringDictionary[] dictionaries = new StringDictionary[Column.values().length];
+    private int[][] codes = new int[Column.values().length][INITIAL_CAPACITY];
+    private int[] ages = new int[INITIAL_CAPACITY];
+    private int[] registeredAges = new int[INITIAL_CAPACITY];
+    private int[] streetNumbers = new int[INITIAL_CAPACITY];
+    private double[] latitudes = new double[INITIAL_CAPACITY];
+    private double[] longitudes = new double[INITIAL_CAPACITY];
+    private int size;
+
+    public UserColumns() {
+        for (int i = 0; i < dictionaries.length; i++) {
+            dictionaries[i] = new StringDictionary();
+        }
+    }
+
+    public static UserColumns of(Iterable<User> users) {
+        UserColumns columns = new UserColumns();
+        users.forEach(columns::add);
+        return columns;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public StringDictionary dictionary(Column column) {
+        return dictionaries[column.ordinal()];
+    }
+
+    public void add(User user) {
+        Location location = user.getLocation();
+        Location.Street street = location == null ? null : location.getStreet();
+        Location.Coordinates coordinates = location == null ? null : location.getCoordinates();
+        append(user.getGender(), user.getNat(),
+                location == null ? null : location.getCountry(),
+                location == null ? null : location.getState(),
+                user.getDob() == null ? 0 : user.getDob().getAge(),
+                user.getRegistered() == null ? 0 : user.getRegistered().getAge(),
+                street == null ? 0 : street.getNumber(),
+                coordinates == null ? Double.NaN : parseDouble(coordinates.getLatitude()),
+                coordinates == null ? Double.NaN : parseDouble(coordinates.getLongitude()));
+    }
+
+    // Fills the columns straight from a response body without binding User objects
+    public UserColumns load(InputStream body) {
+        try (JsonParser p = UserStream.mapper().getFactory().createParser(body)) {
+            for (JsonToken t = p.nextToken(); t != null; t = p.nextToken()) {
+                if (t == JsonToken.FIELD_NAME && "results".equals(p.getCurrentName()) && p.getParsingContext().getParent().inRoot()) {
+                    p.nextToken();
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        readUser(p);
+                    }
+                }
+            }
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int getAge(int row) { return ages[row]; }
+    public int getRegisteredAge(int row) { return registeredAges[row]; }
+    public int getStreetNumber(int row) { return streetNumbers[row]; }
+    public double getLatitude(int row) { return latitudes[row]; }
+    public double getLongitude(int row) { return longitudes[row]; }
+
+    public String get(Column column, int row) {
+        return dictionary(column).decode(codes[column.ordinal()][row]);
+    }
+
+    public Map<String, Integer> countBy(Column column) {
+        return countBy(column, null);
+    }
+
+    // Counts per category, optionally restricted to the selected rows
+    public Map<String, Integer> countBy(Column column, BitSet selection) {
+        StringDictionary dictionary = dictionary(column);
+        int[] counts = new int[dictionary.size() + 1];
+        int[] columnCodes = codes[column.ordinal()];
+        if (selection == null) {
+            for (int i = 0; i < size; i++) {
+                counts[columnCodes[i] + 1]++;
+            }
+        } else {
+            for (int i = selection.nextSetBit(0); i >= 0 && i < size; i = selection.nextSetBit(i + 1)) {
+                counts[columnCodes[i] + 1]++;
+            }
+        }
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int code = 0; code < dictionary.size(); code++) {
+            if (counts[code + 1] > 0) {
+                result.put(dictionary.decode(code), counts[code + 1]);
+            }
+        }
+        if (counts[0] > 0) {
+            result.put(null, counts[0]);
+        }
+        return result;
+    }
+
+    public int count(Column column, String value) {
+        int code = dictionary(column).codeOf(value);
+        if (code < 0) {
+            return 0;
+        }
+        int[] columnCodes = codes[column.ordinal()];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += columnCodes[i] == code ? 1 : 0;
+        }
+        return count;
+    }
+
+    public int distinctCount(Column column) {
+        boolean[] seen = new boolean[dictionary(column).size()];
+        int[] columnCodes = codes[column.ordinal()];
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            int code = columnCodes[i];
+            if (code >= 0 && !seen[code]) {
+                seen[code] = true;
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+
+    // Empty when no users have been added
+    public OptionalInt minAge() {
+        if (size == 0) {
+            return OptionalInt.empty();
+        }
+        int min = ages[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, ages[i]);
+        }
+        return OptionalInt.of(min);
+    }
+
+    public OptionalInt maxAge() {
+        if (size == 0) {
+            return OptionalInt.empty();
+        }
+        int max = ages[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, ages[i]);
+        }
+        return OptionalInt.of(max);
+    }
+
+    public double averageAge() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += ages[i];
+        }
+        return size == 0 ? Double.NaN : (double) sum / size;
+    }
+
+    public BitSet filterAge(int minInclusive, int maxInclusive) {
+        BitSet selection = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (ages[i] >= minInclusive && ages[i] <= maxInclusive) {
+                selection.set(i);
+            }
+        }
+        return selection;
+    }
+
+    public BitSet filterEquals(Column column, String value) {
+        BitSet selection = new BitSet(size);
+        int code = dictionary(column).codeOf(value);
+        if (code < 0) {
+            return selection;
+        }
+        int[] columnCodes = codes[column.ordinal()];
+        for (int i = 0; i < size; i++) {
+            if (columnCodes[i] == code) {
+                selection.set(i);
+            }
+        }
+        return selection;
+    }
+
+    // Rows whose coordinates fall inside the box
+    public BitSet filterBoundingBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        BitSet selection = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            double lat = latitudes[i];
+            double lon = longitudes[i];
+            if (lat >= minLatitude && lat <= maxLatitude && lon >= minLongitude && lon <= maxLongitude) {
+                selection.set(i);
+            }
+        }
+        return selection;
+    }
+
+    private void readUser(JsonParser p) throws IOException {
+        String gender = null, nat = null, country = null, state = null;
+        int age = 0, registeredAge = 0, streetNumber = 0;
+        double latitude = Double.NaN, longitude = Double.NaN;
+
+        for (JsonToken t = p.nextToken(); t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+            String field = p.getCurrentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "gender": gender = p.getValueAsString(); break;
+                case "nat": nat = p.getValueAsString(); break;
+                case "dob":
+                case "registered":
+                    if (value != JsonToken.START_OBJECT) {
+                        p.skipChildren();
+                        break;
+                    }
+                    for (JsonToken n = p.nextToken(); n == JsonToken.FIELD_NAME; n = p.nextToken()) {
+                        String key = p.getCurrentName();
+                        p.nextToken();
+                        if ("age".equals(key)) {
+                            if ("dob".equals(field)) age = p.getValueAsInt(); else registeredAge = p.getValueAsInt();
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                    break;
+                case "location":
+                    if (value != JsonToken.START_OBJECT) {
+                        p.skipChildren();
+                        break;
+                    }
+                    for (JsonToken n = p.nextToken(); n == JsonToken.FIELD_NAME; n = p.nextToken()) {
+                        String key = p.getCurrentName();
+                        JsonToken v = p.nextToken();
+                        if ("country".equals(key)) {
+                            country = p.getValueAsString();
+                        } else if ("state".equals(key)) {
+                            state = p.getValueAsString();
+                        } else if (("street".equals(key) || "coordinates".equals(key)) && v == JsonToken.START_OBJECT) {
+                            for (JsonToken m = p.nextToken(); m == JsonToken.FIELD_NAME; m = p.nextToken()) {
+                                String inner = p.getCurrentName();
+                                p.nextToken();
+                                if ("number".equals(inner)) streetNumber = p.getValueAsInt();
+                                else if ("latitude".equals(inner)) latitude = p.getValueAsDouble(Double.NaN);
+                                else if ("longitude".equals(inner)) longitude = p.getValueAsDouble(Double.NaN);
+                                else p.skipChildren();
+                            }
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                    break;
+                default:
+                    p.skipChildren();
+            }
+        }
+        append(gender, nat, country, state, age, registeredAge, streetNumber, latitude, longitude);
+    }
+
+    private void append(String gender, String nat, String country, String state, int age, int registeredAge,
+                        int streetNumber, double latitude, double longitude) {
+        if (size == ages.length) {
+            grow();
+        }
+        codes[Column.GENDER.ordinal()][size] = dictionary(Column.GENDER).encode(gender);
+        codes[Column.NAT.ordinal()][size] = dictionary(Column.NAT).encode(nat);
+        codes[Column.COUNTRY.ordinal()][size] = dictionary(Column.COUNTRY).encode(country);
+        codes[Column.STATE.ordinal()][size] = dictionary(Column.STATE).encode(state);
+        ages[size] = age;
+        registeredAges[size] = registeredAge;
+        streetNumbers[size] = streetNumber;
+        latitudes[size] = latitude;
+        longitudes[size] = longitude;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = ages.length * 2;
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = Arrays.copyOf(codes[i], capacity);
+        }
+        ages = Arrays.copyOf(ages, capacity);
+        registeredAges = Arrays.copyOf(registeredAges, capacity);
+        streetNumbers = Arrays.copyOf(streetNumbers, capacity);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+    }
+
+    private static double parseDouble(String value) {
+        try {
+            return value == null ? Double.NaN : Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.randomuser.models.compact;
+
+/**
+ * Flattened {@code Location}: street, coordinates and timezone inlined, coordinates as doubles.
+ */
+public record CompactLocation(int streetNumber, String streetName, String city, String state, String country,
+                              String postcode, double latitude, double longitude,
+                              String timezoneOffset, String timezoneDescription) {
+}
@@ -0,0 +1,14 @@
+package com.randomuser.models.compact;
+
+import java.util.UUID;
+
+/**
+ * {@code Login} with the UUID held as two longs instead of a 36-character string.
+ */
+public record CompactLogin(long uuidMostSignificant, long uuidLeastSignificant, String username, String password,
+                           String salt, String md5, String sha1, String sha256) {
+
+    public UUID uuid() {
+        return new UUID(uuidMostSignificant, uuidLeastSignificant);
+    }
+}
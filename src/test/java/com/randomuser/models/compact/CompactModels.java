@@ -0,0 +1,216 @@
+package com.randomuser.models.compact;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Shared, preconfigured mapper and readers for the compact models. The wire format is walked directly
+ * so that nested objects such as {@code dob} or {@code coordinates} are flattened without intermediate beans.
+ */
+public final class CompactModels {
+    private static final Interner INTERNER = new Interner();
+
+    public static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new SimpleModule("compact-models")
+                    .addDeserializer(CompactUser.class, new CompactUserDeserializer()))
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    public static final ObjectReader USER_READER = MAPPER.readerFor(CompactUser.class);
+    public static final ObjectReader RESPONSE_READER = MAPPER.readerFor(CompactUserResponse.class);
+
+    private CompactModels() {
+    }
+
+    public static CompactUserResponse readResponse(InputStream input) {
+        try {
+            return RESPONSE_READER.readValue(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static CompactUserResponse readResponse(byte[] body) {
+        try {
+            return RESPONSE_READER.readValue(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class CompactUserDeserializer extends JsonDeserializer<CompactUser> {
+
+        @Override
+        public CompactUser deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Gender gender = Gender.UNKNOWN;
+            String title = null, first = null, last = null, email = null, phone = null, cell = null;
+            String idName = null, idValue = null, nat = null;
+            CompactLocation location = null;
+            CompactLogin login = null;
+            CompactPicture picture = null;
+            long dob = 0, registered = 0;
+            int age = 0, registeredAge = 0;
+
+            for (JsonToken t = startObject(p); t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+                String field = p.getCurrentName();
+                JsonToken value = p.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "gender": gender = Gender.of(p.getText()); break;
+                    case "email": email = p.getText(); break;
+                    case "phone": phone = p.getText(); break;
+                    case "cell": cell = p.getText(); break;
+                    case "nat": nat = INTERNER.intern(p.getText()); break;
+                    case "name":
+                        for (JsonToken n = p.nextToken(); n == JsonToken.FIELD_NAME; n = p.nextToken()) {
+                            String key = p.getCurrentName();
+                            p.nextToken();
+                            if ("title".equals(key)) title = INTERNER.intern(p.getValueAsString());
+                            else if ("first".equals(key)) first = p.getValueAsString();
+                            else if ("last".equals(key)) last = p.getValueAsString();
+                            else p.skipChildren();
+                        }
+                        break;
+                    case "dob":
+                    case "registered":
+                        long date = 0;
+                        int years = 0;
+                        for (JsonToken n = p.nextToken(); n == JsonToken.FIELD_NAME; n = p.nextToken()) {
+                            String key = p.getCurrentName();
+                            JsonToken v = p.nextToken();
+                            if ("date".equals(key) && v != JsonToken.VALUE_NULL) date = ctxt.readValue(p, Instant.class).toEpochMilli();
+                            else if ("age".equals(key)) years = p.getValueAsInt();
+                            else p.skipChildren();
+                        }
+                        if ("dob".equals(field)) {
+                            dob = date;
+                            age = years;
+                        } else {
+                            registered = date;
+                            registeredAge = years;
+                        }
+                        break;
+                    case "id":
+                        for (JsonToken n = p.nextToken(); n == JsonToken.FIELD_NAME; n = p.nextToken()) {
+                            String key = p.getCurrentName();
+                            p.nextToken();
+                            if ("name".equals(key)) idName = INTERNER.intern(p.getValueAsString());
+                            else if ("value".equals(key)) idValue = p.getValueAsString();
+                            else p.skipChildren();
+                        }
+                        break;
+                    case "location": location = readLocation(p); break;
+                    case "login": login = readLogin(p); break;
+                    case "picture": picture = readPicture(p); break;
+                    default: p.skipChildren();
+                }
+            }
+            return new CompactUser(gender, title, first, last, location, email, login, dob, age, registered,
+                    registeredAge, phone, cell, idName, idValue, picture, nat);
+        }
+
+        private static JsonToken startObject(JsonParser p) throws IOException {
+            return p.currentToken() == JsonToken.START_OBJECT ? p.nextToken() : p.currentToken();
+        }
+
+        private static CompactLocation readLocation(JsonParser p) throws IOException {
+            int streetNumber = 0;
+            String streetName = null, city = null, state = null, country = null, postcode = null;
+            String offset = null, description = null;
+            double latitude = Double.NaN, longitude = Double.NaN;
+
+            for (JsonToken t = p.nextToken(); t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                switch (field) {
+                    case "city": city = p.getValueAsString(); break;
+                    case "state": state = INTERNER.intern(p.getValueAsString()); break;
+                    case "country": country = INTERNER.intern(p.getValueAsString()); break;
+                    case "postcode": postcode = p.getValueAsString(); break;
+                    case "street":
+                    case "coordinates":
+                    case "timezone":
+                        // null (or anything but an object) must not pull location's own fields into the loop
+                        if (p.currentToken() != JsonToken.START_OBJECT) {
+                            p.skipChildren();
+                            break;
+                        }
+                        for (JsonToken n = p.nextToken(); n == JsonToken.FIELD_NAME; n = p.nextToken()) {
+                            String key = p.getCurrentName();
+                            p.nextToken();
+                            switch (key) {
+                                case "number": streetNumber = p.getValueAsInt(); break;
+                                case "name": streetName = p.getValueAsString(); break;
+                                case "latitude": latitude = p.getValueAsDouble(Double.NaN); break;
+                                case "longitude": longitude = p.getValueAsDouble(Double.NaN); break;
+                                case "offset": offset = INTERNER.intern(p.getValueAsString()); break;
+                                case "description": description = INTERNER.intern(p.getValueAsString()); break;
+                                default: p.skipChildren();
+                            }
+                        }
+                        break;
+                    default: p.skipChildren();
+                }
+            }
+            return new CompactLocation(streetNumber, streetName, city, state, country, postcode, latitude, longitude,
+                    offset, description);
+        }
+
+        private static CompactLogin readLogin(JsonParser p) throws IOException {
+            long most = 0, least = 0;
+            String username = null, password = null, salt = null, md5 = null, sha1 = null, sha256 = null;
+            for (JsonToken t = p.nextToken(); t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                switch (field) {
+                    case "uuid":
+                        String text = p.getValueAsString();
+                        if (text != null) {
+                            UUID uuid = UUID.fromString(text);
+                            most = uuid.getMostSignificantBits();
+                            least = uuid.getLeastSignificantBits();
+                        }
+                        break;
+                    case "username": username = p.getValueAsString(); break;
+                    case "password": password = p.getValueAsString(); break;
+                    case "salt": salt = p.getValueAsString(); break;
+                    case "md5": md5 = p.getValueAsString(); break;
+                    case "sha1": sha1 = p.getValueAsString(); break;
+                    case "sha256": sha256 = p.getValueAsString(); break;
+                    default: p.skipChildren();
+                }
+            }
+            return new CompactLogin(most, least, username, password, salt, md5, sha1, sha256);
+        }
+
+        private static CompactPicture readPicture(JsonParser p) throws IOException {
+            String large = null, medium = null, thumbnail = null;
+            for (JsonToken t = p.nextToken(); t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                switch (field) {
+                    case "large": large = INTERNER.intern(p.getValueAsString()); break;
+                    case "medium": medium = INTERNER.intern(p.getValueAsString()); break;
+                    case "thumbnail": thumbnail = INTERNER.intern(p.getValueAsString()); break;
+                    default: p.skipChildren();
+                }
+            }
+            return new CompactPicture(large, medium, thumbnail);
+        }
+    }
+}
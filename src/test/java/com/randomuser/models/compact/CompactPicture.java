@@ -0,0 +1,5 @@
+package com.randomuser.models.compact;
+
+// Portrait URLs repeat across users, so they are interned
+public record CompactPicture(String large, String medium, String thumbnail) {
+}
@@ -0,0 +1,21 @@
+package com.randomuser.models.compact;
+
+import java.time.Instant;
+
+/**
+ * Immutable, compact counterpart of {@code User}: dates as epoch millis, {@code Dob}/{@code Registered}/
+ * {@code Name}/{@code Id} inlined, and low-cardinality values as enums or interned strings.
+ */
+public record CompactUser(Gender gender, String title, String firstName, String lastName, CompactLocation location,
+                          String email, CompactLogin login, long dobEpochMillis, int age,
+                          long registeredEpochMillis, int registeredAge, String phone, String cell,
+                          String idName, String idValue, CompactPicture picture, String nat) {
+
+    public Instant dob() {
+        return Instant.ofEpochMilli(dobEpochMillis);
+    }
+
+    public Instant registered() {
+        return Instant.ofEpochMilli(registeredEpochMillis);
+    }
+}
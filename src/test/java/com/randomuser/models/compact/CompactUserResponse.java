@@ -0,0 +1,8 @@
+package com.randomuser.models.compact;
+
+import com.randomuser.models.UserResponse;
+
+import java.util.List;
+
+public record CompactUserResponse(List<CompactUser> results, UserResponse.Info info) {
+}
@@ -0,0 +1,21 @@
+package com.randomuser.models.compact;
+
+import java.util.Locale;
+
+public enum Gender {
+    MALE, FEMALE, UNKNOWN;
+
+    public static Gender of(String value) {
+        if ("male".equals(value)) {
+            return MALE;
+        }
+        if ("female".equals(value)) {
+            return FEMALE;
+        }
+        return UNKNOWN;
+    }
+
+    public String apiValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
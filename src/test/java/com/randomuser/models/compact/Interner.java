@@ -0,0 +1,27 @@
+package com.randomuser.models.compact;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deduplicates low-cardinality strings without growing the JVM-wide string table.
+ */
+final class Interner {
+    private static final int MAX_SIZE = 100_000;
+
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+
+    String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = values.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (values.size() >= MAX_SIZE) {
+            return value;
+        }
+        existing = values.putIfAbsent(value, value);
+        return existing == null ? value : existing;
+    }
+}
@@ -0,0 +1,111 @@
+package com.randomuser.perf;
+
+import com.randomuser.utils.TestConfig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One recorded run: the commit and configuration it ran under and its samples per metric. Runs are only
+ * compared with runs of the same {@code config} id, a hash of the settings that shape the timings.
+ */
+public record BaselineRun(String commit, String config, Map<String, String> settings, String timestamp,
+                          Map<String, Series> series) {
+
+    // Settings that change what the timings mean; anything else may differ between compared runs
+    private static final List<String> TIMING_KEYS = List.of("api.client.backend", "stub.enabled",
+            "stub.latency.ms", "stub.latency.jitter.ms", "stub.bandwidth.bytes.per.second", "suite.parallel",
+            "suite.thread.count", "load.model", "load.concurrency", "load.target.rps", "load.duration.ms", "test.shard.count");
+
+    public static BaselineRun of(String source, Map<String, Series> series) {
+        Map<String, String> settings = settings(source);
+        return new BaselineRun(currentCommit(), configId(settings), settings, Instant.now().toString(), series);
+    }
+
+    /**
+     * This run with the samples of earlier runs of the same commit and config added, so that metrics sampled
+     * once per run (a test's duration) gather enough samples to be judged.
+     */
+    public BaselineRun pooledWith(List<BaselineRun> earlier) {
+        List<BaselineRun> runs = new ArrayList<>(earlier);
+        runs.add(this);
+        return new BaselineRun(commit, config, settings, timestamp, BaselineStore.pool(runs));
+    }
+
+    public static Map<String, String> settings(String source) {
+        Map<String, String> settings = new TreeMap<>();
+        settings.put("source", source);
+        settings.put("java", String.valueOf(Runtime.version().feature()));
+        settings.put("os.arch", System.getProperty("os.arch"));
+        settings.put("cpus", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        if ("suite".equals(source)) {
+            for (String key : TIMING_KEYS) {
+                settings.put(key, TestConfig.get(key, ""));
+            }
+            if (!TestConfig.isStubEnabled()) {
+                settings.put("api.base.url", TestConfig.getBaseUrl());
+            }
+        }
+        return settings;
+    }
+
+    public static String configId(Map<String, String> settings) {
+        StringBuilder text = new StringBuilder();
+        new TreeMap<>(settings).forEach((key, value) -> text.append(key).append('=').append(value).append('\n'));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // perf.commit wins (CI usually knows it); otherwise git, with -dirty for uncommitted changes
+    public static String currentCommit() {
+        String configured = TestConfig.get("perf.commit", null);
+        if (configured != null) {
+            return configured;
+        }
+        String head = git("rev-parse", "HEAD");
+        if (head == null || head.isEmpty()) {
+            return "unknown";
+        }
+        String status = git("status", "--porcelain", "--untracked-files=no");
+        return status == null || status.isEmpty() ? head : head + "-dirty";
+    }
+
+    private static String git(String... args) {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            String output;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                output = String.join("\n", reader.lines().toList()).trim();
+            }
+            if (!process.waitFor(10, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                process.destroy();
+                return null;
+            }
+            return output;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
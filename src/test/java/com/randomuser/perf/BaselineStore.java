@@ -0,0 +1,142 @@
+package com.randomuser.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.randomuser.utils.TestConfig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * History of runs, one JSON object per line, keeping the last {@code maxRunsPerConfig} runs of each config. It
+ * lives outside target/ by default so that {@code mvn clean} keeps it. A torn last line from an interrupted run
+ * is skipped on read.
+ */
+public class BaselineStore {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Path file;
+    private final int maxRunsPerConfig;
+
+    public BaselineStore(Path file) {
+        this(file, Integer.MAX_VALUE);
+    }
+
+    public BaselineStore(Path file, int maxRunsPerConfig) {
+        this.file = file;
+        this.maxRunsPerConfig = maxRunsPerConfig;
+    }
+
+    public static BaselineStore fromConfig() {
+        return new BaselineStore(Paths.get(TestConfig.get("perf.baseline.file", ".perf/baselines.jsonl")),
+                TestConfig.getInt("perf.baseline.keep.runs", 100));
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized void append(BaselineRun run) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(JSON.writeValueAsString(run));
+                writer.write('\n');
+            }
+            prune(run.config());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append run to " + file, e);
+        }
+    }
+
+    // Rewrites the file without the oldest runs of config once it holds more than maxRunsPerConfig of them
+    private void prune(String config) throws IOException {
+        List<BaselineRun> runs = read();
+        long count = runs.stream().filter(run -> run.config().equals(config)).count();
+        if (count <= maxRunsPerConfig) {
+            return;
+        }
+        long toDrop = count - maxRunsPerConfig;
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (BaselineRun run : runs) {
+                if (run.config().equals(config) && toDrop-- > 0) {
+                    continue;
+                }
+                writer.write(JSON.writeValueAsString(run));
+                writer.write('\n');
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public List<BaselineRun> read() {
+        List<BaselineRun> runs = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return runs;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    runs.add(JSON.readValue(line, BaselineRun.class));
+                } catch (IOException e) {
+                    System.err.println("Skipping unreadable baseline entry in " + file + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read baselines from " + file, e);
+        }
+        return runs;
+    }
+
+    /**
+     * The runs to compare against: the last {@code maxRuns} runs with the same config of {@code commit}, or of
+     * the most recently recorded other commit when {@code commit} is null. Empty when there is none.
+     */
+    public List<BaselineRun> baselineRuns(String config, String currentCommit, String commit, int maxRuns) {
+        List<BaselineRun> matching = read().stream().filter(run -> run.config().equals(config)).toList();
+        String target = commit;
+        if (target == null) {
+            for (int i = matching.size() - 1; i >= 0 && target == null; i--) {
+                if (!matching.get(i).commit().equals(currentCommit)) {
+                    target = matching.get(i).commit();
+                }
+            }
+        }
+        String chosen = target;
+        List<BaselineRun> runs = matching.stream().filter(run -> run.commit().equals(chosen)).toList();
+        return runs.subList(Math.max(0, runs.size() - maxRuns), runs.size());
+    }
+
+    // The last maxRuns recorded runs of this very commit and config, to pool with the run being judged
+    public List<BaselineRun> earlierRuns(String config, String commit, int maxRuns) {
+        return baselineRuns(config, commit, commit, maxRuns);
+    }
+
+    // Samples of several runs pooled per metric
+    public static Map<String, Series> pool(List<BaselineRun> runs) {
+        Map<String, Series> pooled = new TreeMap<>();
+        for (BaselineRun run : runs) {
+            run.series().forEach((metric, series) -> pooled.merge(metric, series, Series::concat));
+        }
+        return pooled;
+    }
+}
@@ -0,0 +1,73 @@
+package com.randomuser.perf;
+
+import java.util.Arrays;
+
+/**
+ * Two-sided Mann-Whitney U test (normal approximation with tie and continuity correction). It makes no
+ * assumption about the shape of the distributions, which suits skewed, long-tailed latency samples.
+ */
+public final class MannWhitney {
+
+    private MannWhitney() {
+    }
+
+    public record Result(double u, double z, double pValue) {
+    }
+
+    public static Result test(double[] first, double[] second) {
+        int n1 = first.length;
+        int n2 = second.length;
+        int n = n1 + n2;
+        if (n1 == 0 || n2 == 0) {
+            return new Result(0, 0, 1);
+        }
+        // Indexes below n1 belong to the first sample
+        double[] values = new double[n];
+        Integer[] order = new Integer[n];
+        System.arraycopy(first, 0, values, 0, n1);
+        System.arraycopy(second, 0, values, n1, n2);
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        double firstRankSum = 0;
+        double tieTerm = 0;
+        for (int start = 0; start < n; ) {
+            int end = start;
+            while (end + 1 < n && values[order[end + 1]] == values[order[start]]) {
+                end++;
+            }
+            // Tied values share the average of the ranks they span (ranks are 1-based)
+            double rank = (start + end + 2) / 2.0;
+            for (int i = start; i <= end; i++) {
+                if (order[i] < n1) {
+                    firstRankSum += rank;
+                }
+            }
+            double ties = end - start + 1;
+            tieTerm += ties * ties * ties - ties;
+            start = end + 1;
+        }
+
+        double u = firstRankSum - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2;
+        double variance = n1 * (double) n2 / 12 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return new Result(u, 0, 1);
+        }
+        double diff = u - mean;
+        double z = (diff - Math.signum(diff) * 0.5) / Math.sqrt(variance);
+        return new Result(u, z, Math.min(1, erfc(Math.abs(z) / Math.sqrt(2))));
+    }
+
+    // Complementary error function, fractional error below 1.2e-7 (Numerical Recipes' erfcc)
+    static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1 / (1 + 0.5 * z);
+        double ans = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? ans : 2 - ans;
+    }
+}
@@ -0,0 +1,156 @@
+package com.randomuser.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.randomuser.utils.TestConfig;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Current samples against a baseline, metric by metric. A change is only called when the Mann-Whitney p-value
+ * clears {@code alpha} divided by the number of metrics compared (Bonferroni) and the medians moved by at least
+ * {@code minChange}, so large samples do not turn harmless noise into failures.
+ */
+public class PerfComparison {
+    public enum Verdict { REGRESSION, IMPROVEMENT, UNCHANGED, INSUFFICIENT }
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String currentCommit;
+    private final String baselineCommit;
+    private final String config;
+    private final double alpha;
+    private final double minChange;
+    private final List<Diff> diffs;
+
+    public record Diff(String metric, String unit, int baselineSamples, int currentSamples, double baselineMedian,
+                       double currentMedian, double change, double pValue, Verdict verdict) {
+    }
+
+    private PerfComparison(String currentCommit, String baselineCommit, String config, double alpha,
+                           double minChange, List<Diff> diffs) {
+        this.currentCommit = currentCommit;
+        this.baselineCommit = baselineCommit;
+        this.config = config;
+        this.alpha = alpha;
+        this.minChange = minChange;
+        this.diffs = diffs;
+    }
+
+    public static PerfComparison fromConfig(BaselineRun current, List<BaselineRun> baseline) {
+        return compare(current, baseline, TestConfig.getDouble("perf.alpha", 0.01),
+                TestConfig.getDouble("perf.min.change", 0.25), TestConfig.getInt("perf.min.samples", 10));
+    }
+
+    public static PerfComparison compare(BaselineRun current, List<BaselineRun> baseline, double alpha,
+                                         double minChange, int minSamples) {
+        Map<String, Series> before = BaselineStore.pool(baseline);
+        List<String> metrics = new ArrayList<>();
+        current.series().forEach((metric, series) -> {
+            Series old = before.get(metric);
+            if (old != null && old.size() >= minSamples && series.size() >= minSamples) {
+                metrics.add(metric);
+            }
+        });
+        double threshold = alpha / Math.max(1, metrics.size());
+
+        List<Diff> diffs = new ArrayList<>();
+        current.series().forEach((metric, series) -> {
+            Series old = before.get(metric);
+            if (old == null) {
+                return;
+            }
+            double oldMedian = old.median();
+            double newMedian = series.median();
+            double change = oldMedian == 0 ? 0 : (newMedian - oldMedian) / oldMedian;
+            double p = 1;
+            Verdict verdict = Verdict.INSUFFICIENT;
+            if (metrics.contains(metric)) {
+                p = MannWhitney.test(old.values(), series.values()).pValue();
+                verdict = Verdict.UNCHANGED;
+                if (p < threshold && Math.abs(change) >= minChange) {
+                    boolean worse = series.higherIsBetter() ? change < 0 : change > 0;
+                    verdict = worse ? Verdict.REGRESSION : Verdict.IMPROVEMENT;
+                }
+            }
+            diffs.add(new Diff(metric, series.unit(), old.size(), series.size(), oldMedian, newMedian, change, p, verdict));
+        });
+        diffs.sort(Comparator.comparing(Diff::verdict).thenComparing(diff -> -Math.abs(diff.change())));
+        String baselineCommit = baseline.isEmpty() ? null : baseline.get(baseline.size() - 1).commit();
+        return new PerfComparison(current.commit(), baselineCommit, current.config(), alpha, minChange, diffs);
+    }
+
+    public boolean hasBaseline() {
+        return baselineCommit != null;
+    }
+
+    public List<Diff> getDiffs() {
+        return diffs;
+    }
+
+    public List<Diff> getRegressions() {
+        return diffs.stream().filter(diff -> diff.verdict() == Verdict.REGRESSION).toList();
+    }
+
+    public long count(Verdict verdict) {
+        return diffs.stream().filter(diff -> diff.verdict() == verdict).count();
+    }
+
+    // Writes perf-diff.md and perf-diff.json
+    public void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("currentCommit", currentCommit);
+        report.put("baselineCommit", baselineCommit);
+        report.put("config", config);
+        report.put("alpha", alpha);
+        report.put("minChange", minChange);
+        report.put("diffs", diffs);
+        JSON.writeValue(dir.resolve("perf-diff.json").toFile(), report);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(dir.resolve("perf-diff.md"), StandardCharsets.UTF_8))) {
+            out.print(toMarkdown());
+        }
+    }
+
+    public String toMarkdown() {
+        StringBuilder md = new StringBuilder();
+        md.append("# Performance diff\n\n");
+        if (!hasBaseline()) {
+            md.append("No baseline recorded for config ").append(config).append(" yet.\n");
+            return md.toString();
+        }
+        md.append(String.format(Locale.ROOT, "%s against %s (config %s, alpha %.3g, min change %.0f%%)%n%n",
+                currentCommit, baselineCommit, config, alpha, minChange * 100));
+        md.append(String.format(Locale.ROOT, "%d regressions, %d improvements, %d unchanged, %d with too few samples%n%n",
+                count(Verdict.REGRESSION), count(Verdict.IMPROVEMENT), count(Verdict.UNCHANGED),
+                count(Verdict.INSUFFICIENT)));
+        md.append("| verdict | metric | baseline median | current median | change | p-value | samples |\n");
+        md.append("|---|---|---:|---:|---:|---:|---:|\n");
+        for (Diff diff : diffs) {
+            md.append(String.format(Locale.ROOT, "| %s | %s | %.3f %s | %.3f %s | %+.1f%% | %.2g | %d / %d |%n",
+                    diff.verdict(), diff.metric(), diff.baselineMedian(), diff.unit(), diff.currentMedian(),
+                    diff.unit(), diff.change() * 100, diff.pValue(), diff.baselineSamples(), diff.currentSamples()));
+        }
+        return md.toString();
+    }
+
+    @Override
+    public String toString() {
+        if (!hasBaseline()) {
+            return "no baseline for config " + config;
+        }
+        return String.format("%s vs %s: %d regressions, %d improvements, %d unchanged, %d insufficient",
+                currentCommit, baselineCommit, count(Verdict.REGRESSION), count(Verdict.IMPROVEMENT),
+                count(Verdict.UNCHANGED), count(Verdict.INSUFFICIENT));
+    }
+}
@@ -0,0 +1,62 @@
+package com.randomuser.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.randomuser.utils.TestConfig;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Gate for JMH results (-rf json): compares them with the stored baseline, writes the diff to perf.report.dir,
+ * records them and exits with 1 when a benchmark regressed.
+ * Usage: mvn -Pperf-gate test-compile exec:exec -Dperf.args="target/jmh-result.json"
+ */
+public final class PerfGate {
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private PerfGate() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path results = Paths.get(args.length > 0 ? args[0] : "jmh-result.json");
+        BaselineRun current = BaselineRun.of("jmh", readJmh(results));
+        BaselineStore store = BaselineStore.fromConfig();
+        List<BaselineRun> baseline = store.baselineRuns(current.config(), current.commit(),
+                TestConfig.get("perf.baseline.commit", null), TestConfig.getInt("perf.baseline.runs", 10));
+        PerfComparison comparison = PerfComparison.fromConfig(current.pooledWith(store.earlierRuns(current.config(),
+                current.commit(), TestConfig.getInt("perf.current.runs", 10) - 1)), baseline);
+        comparison.write(Paths.get(TestConfig.get("perf.report.dir", "target/perf")));
+        if (TestConfig.getBoolean("perf.baseline.record", true)) {
+            store.append(current);
+        }
+        System.out.print(comparison.toMarkdown());
+        if (!comparison.getRegressions().isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    // One series per benchmark and parameter set, from the per-iteration scores of all forks
+    public static Map<String, Series> readJmh(Path results) throws IOException {
+        Map<String, Series> series = new TreeMap<>();
+        for (JsonNode benchmark : JSON.readTree(results.toFile())) {
+            StringBuilder metric = new StringBuilder("jmh ").append(benchmark.path("benchmark").asText());
+            benchmark.path("params").fields().forEachRemaining(param ->
+                    metric.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            JsonNode primary = benchmark.path("primaryMetric");
+            List<Double> values = new ArrayList<>();
+            for (JsonNode fork : primary.path("rawData")) {
+                fork.forEach(value -> values.add(value.asDouble()));
+            }
+            boolean higherIsBetter = "thrpt".equals(benchmark.path("mode").asText());
+            series.put(metric.toString(), new Series(primary.path("scoreUnit").asText(), higherIsBetter,
+                    values.stream().mapToDouble(Double::doubleValue).toArray()));
+        }
+        return series;
+    }
+}
@@ -0,0 +1,79 @@
+package com.randomuser.perf;
+
+import com.randomuser.utils.TestConfig;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Raw timing samples of the running suite, per metric, for {@link BaselineStore}. Each metric keeps a uniform
+ * reservoir of at most {@code perf.max.samples} values, so a long load run cannot grow it without bound.
+ */
+public class PerfSamples {
+    private static final PerfSamples GLOBAL = new PerfSamples(TestConfig.getInt("perf.max.samples", 2000));
+
+    private final int capacity;
+    private final Map<String, Reservoir> reservoirs = new ConcurrentHashMap<>();
+
+    public PerfSamples(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public static PerfSamples global() {
+        return GLOBAL;
+    }
+
+    public void recordMs(String metric, double ms) {
+        record(metric, "ms", false, ms);
+    }
+
+    public void record(String metric, String unit, boolean higherIsBetter, double value) {
+        reservoirs.computeIfAbsent(metric, key -> new Reservoir(unit, higherIsBetter, capacity, key.hashCode()))
+                .add(value);
+    }
+
+    public Map<String, Series> snapshot() {
+        Map<String, Series> snapshot = new TreeMap<>();
+        reservoirs.forEach((metric, reservoir) -> snapshot.put(metric, reservoir.toSeries()));
+        return snapshot;
+    }
+
+    public void reset() {
+        reservoirs.clear();
+    }
+
+    private static final class Reservoir {
+        private final String unit;
+        private final boolean higherIsBetter;
+        private final double[] values;
+        // Seeded per metric so the same run keeps the same samples
+        private final SplittableRandom random;
+        private long seen;
+
+        Reservoir(String unit, boolean higherIsBetter, int capacity, long seed) {
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+            this.values = new double[capacity];
+            this.random = new SplittableRandom(seed);
+        }
+
+        synchronized void add(double value) {
+            if (seen < values.length) {
+                values[(int) seen] = value;
+            } else {
+                long slot = random.nextLong(seen + 1);
+                if (slot < values.length) {
+                    values[(int) slot] = value;
+                }
+            }
+            seen++;
+        }
+
+        synchronized Series toSeries() {
+            return new Series(unit, higherIsBetter, Arrays.copyOf(values, (int) Math.min(seen, values.length)));
+        }
+    }
+}
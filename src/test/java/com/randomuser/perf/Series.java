@@ -0,0 +1,33 @@
+package com.randomuser.perf;
+
+import java.util.Arrays;
+
+/**
+ * One metric's samples from a run, with the unit and which direction counts as better.
+ */
+public record Series(String unit, boolean higherIsBetter, double[] values) {
+
+    public static Series latencyMs(double[] values) {
+        return new Series("ms", false, values);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public double median() {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    public Series concat(Series other) {
+        double[] all = Arrays.copyOf(values, values.length + other.values.length);
+        System.arraycopy(other.values, 0, all, values.length, other.values.length);
+        return new Series(unit, higherIsBetter, all);
+    }
+}
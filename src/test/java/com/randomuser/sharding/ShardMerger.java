@@ -0,0 +1,233 @@
+package com.randomuser.sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the output of several shards into one: testng-results.xml (suites, tests and classes of the same
+ * name are merged and the totals summed), timings.json (durations summed), request-metrics.json (request
+ * stats concatenated, registry snapshots kept per shard) and allocation-metrics.json (per-test rows concatenated).
+ * <p>
+ * Usage: {@code ShardMerger [output-dir [shard-dir...]]}, defaulting to {@code target/shards} and its
+ * {@code shard-*} subdirectories. Each shard directory is searched recursively, so it can hold a shard's
+ * surefire-reports and metrics directories as collected from a CI node.
+ */
+public class ShardMerger {
+    public static final String RESULTS_FILE = "testng-results.xml";
+    public static final String TIMINGS_FILE = "timings.json";
+    public static final String METRICS_FILE = "request-metrics.json";
+    public static final String ALLOCATIONS_FILE = "allocation-metrics.json";
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String[] TOTALS = {"ignored", "total", "passed", "failed", "skipped"};
+
+    private final List<Path> shards;
+
+    public ShardMerger(List<Path> shards) {
+        this.shards = shards;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path output = Paths.get(args.length > 0 ? args[0] : "target/shards");
+        List<Path> shards = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            shards.add(Paths.get(args[i]));
+        }
+        if (shards.isEmpty()) {
+            try (Stream<Path> children = Files.list(output)) {
+                shards = children.filter(Files::isDirectory)
+                        .filter(dir -> dir.getFileName().toString().startsWith("shard-"))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        }
+        System.out.println(new ShardMerger(shards).mergeInto(output));
+    }
+
+    // Writes whichever merged reports have inputs and returns a one-line summary
+    public String mergeInto(Path output) throws IOException {
+        Files.createDirectories(output);
+        StringBuilder summary = new StringBuilder("Merged " + shards.size() + " shards into " + output);
+
+        List<Path> results = find(RESULTS_FILE);
+        if (!results.isEmpty()) {
+            Document merged = mergeResults(results);
+            write(merged, output.resolve(RESULTS_FILE));
+            Element root = merged.getDocumentElement();
+            summary.append(String.format(": %s tests, %s passed, %s failed, %s skipped",
+                    root.getAttribute("total"), root.getAttribute("passed"), root.getAttribute("failed"),
+                    root.getAttribute("skipped")));
+        }
+
+        List<Path> timingFiles = find(TIMINGS_FILE);
+        if (!timingFiles.isEmpty()) {
+            TestTimings timings = new TestTimings();
+            timingFiles.forEach(file -> timings.addAll(TestTimings.read(file)));
+            timings.write(output.resolve(TIMINGS_FILE));
+            summary.append(", timings for ").append(timings.size()).append(" methods");
+        }
+
+        List<Path> metrics = find(METRICS_FILE);
+        if (!metrics.isEmpty()) {
+            JSON.writeValue(output.resolve(METRICS_FILE).toFile(), mergeMetrics(metrics));
+        }
+
+        List<Path> allocations = find(ALLOCATIONS_FILE);
+        if (!allocations.isEmpty()) {
+            ObjectNode merged = JSON.createObjectNode();
+            ArrayNode tests = merged.putArray("tests");
+            for (Path file : allocations) {
+                JSON.readTree(file.toFile()).path("tests").forEach(tests::add);
+            }
+            JSON.writeValue(output.resolve(ALLOCATIONS_FILE).toFile(), merged);
+        }
+        return summary.toString();
+    }
+
+    public static Document mergeResults(List<Path> files) {
+        try {
+            DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            Document merged = null;
+            for (Path file : files) {
+                Document shard = builder.parse(file.toFile());
+                if (merged == null) {
+                    merged = shard;
+                    continue;
+                }
+                Element root = merged.getDocumentElement();
+                Element shardRoot = shard.getDocumentElement();
+                for (String total : TOTALS) {
+                    root.setAttribute(total, String.valueOf(intAttribute(root, total) + intAttribute(shardRoot, total)));
+                }
+                for (Element suite : children(shardRoot, "suite")) {
+                    mergeInto(root, (Element) merged.importNode(suite, true));
+                }
+            }
+            return merged;
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("Cannot merge TestNG results", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read TestNG results", e);
+        }
+    }
+
+    // Suites, tests and classes with the same name become one element; test methods are appended
+    private static void mergeInto(Element parent, Element child) {
+        if (child.getTagName().equals("test-method")) {
+            parent.appendChild(child);
+            return;
+        }
+        Element existing = null;
+        for (Element candidate : children(parent, child.getTagName())) {
+            if (candidate.getAttribute("name").equals(child.getAttribute("name"))) {
+                existing = candidate;
+                break;
+            }
+        }
+        if (existing == null) {
+            parent.appendChild(child);
+            return;
+        }
+        // Shards run side by side, so the merged span is the earliest start to the latest finish
+        if (child.hasAttribute("started-at")) {
+            if (child.getAttribute("started-at").compareTo(existing.getAttribute("started-at")) < 0) {
+                existing.setAttribute("started-at", child.getAttribute("started-at"));
+            }
+            if (child.getAttribute("finished-at").compareTo(existing.getAttribute("finished-at")) > 0) {
+                existing.setAttribute("finished-at", child.getAttribute("finished-at"));
+            }
+            existing.setAttribute("duration-ms", String.valueOf(
+                    Math.max(intAttribute(existing, "duration-ms"), intAttribute(child, "duration-ms"))));
+        }
+        for (Element grandChild : children(child, null)) {
+            if (grandChild.getTagName().equals("groups") || grandChild.getTagName().equals("reporter-output")) {
+                continue;
+            }
+            mergeInto(existing, grandChild);
+        }
+    }
+
+    private ObjectNode mergeMetrics(List<Path> files) throws IOException {
+        ObjectNode merged = JSON.createObjectNode();
+        ArrayNode requests = merged.putArray("requests");
+        ObjectNode registries = merged.putObject("registry");
+        for (Path file : files) {
+            JsonNode shard = JSON.readTree(file.toFile());
+            shard.path("requests").forEach(requests::add);
+            registries.set(shardName(file), shard.path("registry"));
+        }
+        return merged;
+    }
+
+    private List<Path> find(String fileName) throws IOException {
+        List<Path> found = new ArrayList<>();
+        for (Path shard : shards) {
+            try (Stream<Path> files = Files.walk(shard)) {
+                files.filter(file -> file.getFileName().toString().equals(fileName))
+                        .sorted()
+                        .forEach(found::add);
+            }
+        }
+        return found;
+    }
+
+    private String shardName(Path file) {
+        for (Path shard : shards) {
+            if (file.startsWith(shard)) {
+                return shard.getFileName().toString();
+            }
+        }
+        return file.getParent().toString();
+    }
+
+    private static List<Element> children(Element parent, String tagName) {
+        List<Element> children = new ArrayList<>();
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && (tagName == null || ((Element) node).getTagName().equals(tagName))) {
+                children.add((Element) node);
+            }
+        }
+        return children;
+    }
+
+    private static int intAttribute(Element element, String name) {
+        String value = element.getAttribute(name);
+        return value.isEmpty() ? 0 : Integer.parseInt(value);
+    }
+
+    private static void write(Document document, Path file) {
+        try {
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+            transformer.transform(new DOMSource(document), new StreamResult(file.toFile()));
+        } catch (TransformerException e) {
+            throw new IllegalStateException("Cannot write " + file, e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.randomuser.sharding;
+
+import com.randomuser.utils.TestConfig;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deterministic split of a suite's test methods over {@code count} shards. Plain methods are placed whole,
+ * longest recorded duration first, on the least loaded shard; data-driven methods run on every shard with their
+ * rows dealt round-robin. Every shard computes the same plan from the same inputs, so no coordination is needed.
+ */
+public final class ShardPlan {
+    private static final ShardPlan NONE = new ShardPlan(0, 1, Map.of(), Set.of(), new long[1]);
+
+    private static volatile ShardPlan current = NONE;
+
+    private final int index;
+    private final int count;
+    private final Map<String, Integer> shards;
+    private final Set<String> split;
+    private final long[] loads;
+
+    private ShardPlan(int index, int count, Map<String, Integer> shards, Set<String> split, long[] loads) {
+        this.index = index;
+        this.count = count;
+        this.shards = shards;
+        this.split = split;
+        this.loads = loads;
+    }
+
+    public static ShardPlan none() {
+        return NONE;
+    }
+
+    // The plan of the running suite, set by ShardingListener; none() outside a sharded run
+    public static ShardPlan current() {
+        return current;
+    }
+
+    public static void setCurrent(ShardPlan plan) {
+        current = plan == null ? NONE : plan;
+    }
+
+    public static ShardPlan fromConfig(Collection<String> methods, Collection<String> dataDriven) {
+        int count = TestConfig.getInt("test.shard.count", 1);
+        if (count <= 1) {
+            return NONE;
+        }
+        return of(TestConfig.getInt("test.shard.index", 0), count, methods, dataDriven,
+                TestTimings.read(Paths.get(TestConfig.get("test.shard.timings", "target/shards/timings.json"))));
+    }
+
+    public static ShardPlan of(int index, int count, Collection<String> methods, Collection<String> dataDriven,
+                               TestTimings timings) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalStateException("Shard index " + index + " is outside 0.." + (count - 1));
+        }
+        Set<String> split = new HashSet<>(dataDriven);
+        Map<String, Long> durations = new HashMap<>();
+        for (String method : methods) {
+            durations.put(method, timings.get(method));
+        }
+        for (String method : split) {
+            durations.putIfAbsent(method, timings.get(method));
+        }
+        // Methods never timed count as an average one
+        long estimate = Math.max(1, Math.round(durations.values().stream().filter(ms -> ms >= 0)
+                .mapToLong(Long::longValue).average().orElse(1)));
+        durations.replaceAll((method, ms) -> ms < 0 ? estimate : ms);
+
+        long[] loads = new long[count];
+        for (String method : split) {
+            for (int shard = 0; shard < count; shard++) {
+                loads[shard] += durations.get(method) / count;
+            }
+        }
+        List<String> whole = new ArrayList<>(durations.keySet());
+        whole.removeAll(split);
+        whole.sort(Comparator.comparing((String method) -> durations.get(method)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        Map<String, Integer> shards = new HashMap<>();
+        for (String method : whole) {
+            int lightest = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            shards.put(method, lightest);
+            loads[lightest] += durations.get(method);
+        }
+        return new ShardPlan(index, count, shards, split, loads);
+    }
+
+    public boolean isActive() {
+        return count > 1;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isSplit(String method) {
+        return count > 1 && split.contains(method);
+    }
+
+    // Methods that were not in the plan are placed by name so they still land on exactly one shard
+    public boolean includes(String method) {
+        if (count <= 1 || split.contains(method)) {
+            return true;
+        }
+        Integer shard = shards.get(method);
+        return (shard != null ? shard : Math.floorMod(method.hashCode(), count)) == index;
+    }
+
+    // The offset keeps single-row methods from all landing on shard 0
+    public boolean includesRow(String method, int row) {
+        return !isSplit(method) || Math.floorMod(row + method.hashCode(), count) == index;
+    }
+
+    public long getExpectedMs(int shard) {
+        return loads[shard];
+    }
+
+    public int methodsOn(int shard) {
+        return (int) shards.values().stream().filter(s -> s == shard).count() + split.size();
+    }
+
+    @Override
+    public String toString() {
+        if (count <= 1) {
+            return "unsharded";
+        }
+        return String.format("shard %d/%d: %d methods (%d split by row), expected %d ms of %d ms total",
+                index, count, methodsOn(index), split.size(), loads[index], Arrays.stream(loads).sum());
+    }
+}
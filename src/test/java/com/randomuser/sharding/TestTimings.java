@@ -0,0 +1,69 @@
+package com.randomuser.sharding;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recorded wall time per test method (summed over data-provider rows), stored as a sorted JSON object of
+ * qualified method name to milliseconds. Shards write one each; {@link ShardMerger} adds them up for the next run.
+ */
+public class TestTimings {
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, LongAdder> millis = new ConcurrentHashMap<>();
+
+    // A missing file just means nothing has been recorded yet
+    public static TestTimings read(Path file) {
+        TestTimings timings = new TestTimings();
+        if (Files.exists(file)) {
+            try {
+                Map<String, Long> values = JSON.readValue(file.toFile(), new TypeReference<Map<String, Long>>() { });
+                values.forEach(timings::record);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read test timings from " + file, e);
+            }
+        }
+        return timings;
+    }
+
+    public void record(String method, long ms) {
+        millis.computeIfAbsent(method, key -> new LongAdder()).add(ms);
+    }
+
+    public void addAll(TestTimings other) {
+        other.millis.forEach((method, ms) -> record(method, ms.sum()));
+    }
+
+    // -1 when the method has never been timed
+    public long get(String method) {
+        LongAdder ms = millis.get(method);
+        return ms == null ? -1 : ms.sum();
+    }
+
+    public int size() {
+        return millis.size();
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        millis.forEach((method, ms) -> snapshot.put(method, ms.sum()));
+        return snapshot;
+    }
+
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        JSON.writeValue(file.toFile(), snapshot());
+    }
+}
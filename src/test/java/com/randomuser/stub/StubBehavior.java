@@ -0,0 +1,72 @@
+package com.randomuser.stub;
+
+import com.randomuser.utils.TestConfig;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runtime-adjustable latency, bandwidth and fault settings of the stub server.
+ */
+public class StubBehavior {
+    private volatile long latencyMs;
+    private volatile long latencyJitterMs;
+    private volatile long bandwidthBytesPerSecond;
+    private volatile double rateLimitErrorRate;
+    private volatile double serverErrorRate;
+    private volatile int serverErrorStatus = 503;
+    private volatile int retryAfterSeconds = 1;
+    private final AtomicInteger pendingConnectionDrops = new AtomicInteger();
+
+    public static StubBehavior fromConfig() {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setLatencyMs(TestConfig.getLong("stub.latency.ms", 0));
+        behavior.setLatencyJitterMs(TestConfig.getLong("stub.latency.jitter.ms", 0));
+        behavior.setBandwidthBytesPerSecond(TestConfig.getLong("stub.bandwidth.bytes.per.second", 0));
+        behavior.setRateLimitErrorRate(TestConfig.getDouble("stub.error.rate.429", 0));
+        behavior.setServerErrorRate(TestConfig.getDouble("stub.error.rate.5xx", 0));
+        behavior.setServerErrorStatus(TestConfig.getInt("stub.error.status.5xx", 503));
+        behavior.setRetryAfterSeconds(TestConfig.getInt("stub.retry.after.seconds", 1));
+        return behavior;
+    }
+
+    public void reset() {
+        latencyMs = 0;
+        latencyJitterMs = 0;
+        bandwidthBytesPerSecond = 0;
+        rateLimitErrorRate = 0;
+        serverErrorRate = 0;
+        serverErrorStatus = 503;
+        retryAfterSeconds = 1;
+        pendingConnectionDrops.set(0);
+    }
+
+    // Getters and setters
+    public long getLatencyMs() { return latencyMs; }
+    public void setLatencyMs(long latencyMs) { this.latencyMs = latencyMs; }
+
+    public long getLatencyJitterMs() { return latencyJitterMs; }
+    public void setLatencyJitterMs(long latencyJitterMs) { this.latencyJitterMs = latencyJitterMs; }
+
+    // 0 means unthrottled
+    public long getBandwidthBytesPerSecond() { return bandwidthBytesPerSecond; }
+    public void setBandwidthBytesPerSecond(long bandwidthBytesPerSecond) { this.bandwidthBytesPerSecond = bandwidthBytesPerSecond; }
+
+    public double getRateLimitErrorRate() { return rateLimitErrorRate; }
+    public void setRateLimitErrorRate(double rateLimitErrorRate) { this.rateLimitErrorRate = rateLimitErrorRate; }
+
+    public double getServerErrorRate() { return serverErrorRate; }
+    public void setServerErrorRate(double serverErrorRate) { this.serverErrorRate = serverErrorRate; }
+
+    public int getServerErrorStatus() { return serverErrorStatus; }
+    public void setServerErrorStatus(int serverErrorStatus) { this.serverErrorStatus = serverErrorStatus; }
+
+    public int getRetryAfterSeconds() { return retryAfterSeconds; }
+    public void setRetryAfterSeconds(int retryAfterSeconds) { this.retryAfterSeconds = retryAfterSeconds; }
+
+    // The next n user requests get their headers and half the body, then the connection is closed
+    public void dropNextConnections(int n) { pendingConnectionDrops.set(n); }
+
+    boolean takeConnectionDrop() {
+        return pendingConnectionDrops.getAndUpdate(n -> Math.max(0, n - 1)) > 0;
+    }
+}
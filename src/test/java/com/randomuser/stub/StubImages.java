@@ -0,0 +1,68 @@
+package com.randomuser.stub;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Placeholder JPEGs for the stub's portrait paths: a valid header and trailer around filler, at roughly the
+ * sizes of randomuser.me's thumbnail, medium and large portraits.
+ */
+final class StubImages {
+    private static final Pattern PATH = Pattern.compile("/(thumb/|med/)?(men|women)/(\\d{1,2})\\.jpg");
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private static final byte[] THUMBNAIL = jpeg(1_800);
+    private static final byte[] MEDIUM = jpeg(3_500);
+    private static final byte[] LARGE = jpeg(9_000);
+
+    private StubImages() {
+    }
+
+    // Null for paths StubUserFactory never generates
+    static byte[] forPath(String path) {
+        Matcher matcher = PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String size = matcher.group(1);
+        if (size == null) {
+            return LARGE;
+        }
+        return size.equals("thumb/") ? THUMBNAIL : MEDIUM;
+    }
+
+    // {first, last} of a single satisfiable byte range, else null (the whole image is sent)
+    static long[] parseRange(String header, long length) {
+        if (header == null) {
+            return null;
+        }
+        Matcher matcher = RANGE.matcher(header.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+        long first;
+        long last;
+        if (matcher.group(1).isEmpty()) {
+            first = Math.max(0, length - Long.parseLong(matcher.group(2)));
+            last = length - 1;
+        } else {
+            first = Long.parseLong(matcher.group(1));
+            last = matcher.group(2).isEmpty() ? length - 1 : Math.min(length - 1, Long.parseLong(matcher.group(2)));
+        }
+        return first <= last && first < length ? new long[]{first, last} : null;
+    }
+
+    private static byte[] jpeg(int size) {
+        byte[] image = new byte[size];
+        for (int i = 0; i < size; i++) {
+            image[i] = (byte) (i * 31 + 7);
+        }
+        image[0] = (byte) 0xFF;
+        image[1] = (byte) 0xD8;
+        image[2] = (byte) 0xFF;
+        image[3] = (byte) 0xE0;
+        image[size - 2] = (byte) 0xFF;
+        image[size - 1] = (byte) 0xD9;
+        return image;
+    }
+}
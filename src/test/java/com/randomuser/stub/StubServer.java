@@ -0,0 +1,292 @@
+package com.randomuser.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.randomuser.models.User;
+import com.randomuser.models.UserResponse;
+import com.randomuser.utils.UserProjection;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded stand-in for randomuser.me serving {@code /api/} with the same response shape as {@link UserResponse},
+ * and placeholder images under {@code /api/portraits/} for the picture URLs it hands out.
+ */
+public class StubServer implements AutoCloseable {
+    public static final String CONTEXT_PATH = "/api";
+    public static final String VERSION = "1.4";
+    public static final String PORTRAITS_PATH = CONTEXT_PATH + "/portraits";
+    public static final int MAX_RESULTS = 5000;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter WRITER = MAPPER.writerFor(UserResponse.class);
+
+    static {
+        // Without TCP_NODELAY small responses sit behind Nagle + delayed ACK for ~40 ms on loopback
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final StubBehavior behavior;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong injectedErrorCount = new AtomicLong();
+    private final AtomicLong imageRequestCount = new AtomicLong();
+
+    public StubServer(int port, int threads, StubBehavior behavior) throws IOException {
+        this.behavior = behavior;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(CONTEXT_PATH, this::handle);
+        server.createContext(PORTRAITS_PATH, this::handlePortrait);
+    }
+
+    public StubServer start() {
+        server.start();
+        return this;
+    }
+
+    public String getBaseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + CONTEXT_PATH;
+    }
+
+    // Scheme, host and port, for rewriting the randomuser.me picture URLs to this server
+    public String getOrigin() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    public StubBehavior getBehavior() { return behavior; }
+
+    public long getRequestCount() { return requestCount.get(); }
+
+    public long getInjectedErrorCount() { return injectedErrorCount.get(); }
+
+    public long getImageRequestCount() { return imageRequestCount.get(); }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            sleepLatency();
+
+            if (injectFault(exchange)) {
+                return;
+            }
+
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            byte[] body = serialize(buildResponse(params), params.get("inc"), params.get("exc"));
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            if (behavior.takeConnectionDrop()) {
+                injectedErrorCount.incrementAndGet();
+                exchange.getResponseBody().write(body, 0, body.length / 2);
+                exchange.getResponseBody().flush();
+                // Closing short of the declared length makes the server drop the connection
+                return;
+            }
+            writeThrottled(exchange.getResponseBody(), body);
+        }
+    }
+
+    // Only the paths StubUserFactory generates exist; supports HEAD and single-range GET
+    private void handlePortrait(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            imageRequestCount.incrementAndGet();
+            sleepLatency();
+
+            String method = exchange.getRequestMethod();
+            byte[] image = StubImages.forPath(exchange.getRequestURI().getPath().substring(PORTRAITS_PATH.length()));
+            if (image == null || !("GET".equals(method) || "HEAD".equals(method))) {
+                exchange.sendResponseHeaders(image == null ? 404 : 405, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "image/jpeg");
+            exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+            int from = 0;
+            int to = image.length - 1;
+            int status = 200;
+            long[] range = StubImages.parseRange(exchange.getRequestHeaders().getFirst("Range"), image.length);
+            if (range != null) {
+                from = (int) range[0];
+                to = (int) range[1];
+                status = 206;
+                exchange.getResponseHeaders().set("Content-Range", "bytes " + from + "-" + to + "/" + image.length);
+            }
+            int length = to - from + 1;
+            if ("HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Content-Length", String.valueOf(length));
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(status, length);
+            exchange.getResponseBody().write(image, from, length);
+        }
+    }
+
+    public static UserResponse buildResponse(Map<String, String> params) {
+        int results = clamp(parseInt(params.get("results"), 1), 1, MAX_RESULTS);
+        int page = Math.max(1, parseInt(params.get("page"), 1));
+        String gender = params.get("gender");
+        if (!"male".equals(gender) && !"female".equals(gender)) {
+            gender = null;
+        }
+        String nat = params.get("nat");
+        String[] nats = nat == null || nat.isEmpty() ? null : nat.split(",");
+        String seed = params.get("seed");
+        if (seed == null || seed.isEmpty()) {
+            seed = StubUserFactory.randomSeed(ThreadLocalRandom.current());
+        }
+
+        List<User> users = new ArrayList<>(results);
+        for (int i = 0; i < results; i++) {
+            users.add(StubUserFactory.createUser(seed, page, i, gender, nats));
+        }
+
+        UserResponse.Info info = new UserResponse.Info();
+        info.setSeed(seed);
+        info.setResults(results);
+        info.setPage(page);
+        info.setVersion(VERSION);
+
+        UserResponse response = new UserResponse();
+        response.setResults(users);
+        response.setInfo(info);
+        return response;
+    }
+
+    // inc/exc drop unselected user fields from the wire format, as the real API does
+    public static byte[] serialize(UserResponse response, String inc, String exc) throws IOException {
+        UserProjection projection = UserProjection.of(inc, exc);
+        if (projection.isAll()) {
+            return WRITER.writeValueAsBytes(response);
+        }
+        ObjectNode tree = MAPPER.valueToTree(response);
+        for (JsonNode user : tree.withArray("results")) {
+            ((ObjectNode) user).retain(projection.getFields());
+        }
+        return MAPPER.writeValueAsBytes(tree);
+    }
+
+    private boolean injectFault(HttpExchange exchange) throws IOException {
+        double roll = ThreadLocalRandom.current().nextDouble();
+        int status;
+        if (roll < behavior.getRateLimitErrorRate()) {
+            status = 429;
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(behavior.getRetryAfterSeconds()));
+        } else if (roll < behavior.getRateLimitErrorRate() + behavior.getServerErrorRate()) {
+            status = behavior.getServerErrorStatus();
+            if (status == 503) {
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(behavior.getRetryAfterSeconds()));
+            }
+        } else {
+            return false;
+        }
+        injectedErrorCount.incrementAndGet();
+        byte[] body = ("{\"error\":\"Injected " + status + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        return true;
+    }
+
+    private void sleepLatency() {
+        long latency = behavior.getLatencyMs();
+        long jitter = behavior.getLatencyJitterMs();
+        if (jitter > 0) {
+            latency += ThreadLocalRandom.current().nextLong(jitter + 1);
+        }
+        sleep(latency);
+    }
+
+    private void writeThrottled(OutputStream out, byte[] body) throws IOException {
+        long bytesPerSecond = behavior.getBandwidthBytesPerSecond();
+        if (bytesPerSecond <= 0) {
+            out.write(body);
+            return;
+        }
+        // Write in ~50 ms slices and pace each slice against the elapsed time
+        int chunk = (int) Math.max(1, Math.min(body.length, bytesPerSecond / 20));
+        long start = System.nanoTime();
+        for (int offset = 0; offset < body.length; offset += chunk) {
+            int length = Math.min(chunk, body.length - offset);
+            out.write(body, offset, length);
+            out.flush();
+            long dueNanos = TimeUnit.SECONDS.toNanos(offset + length) / bytesPerSecond;
+            long aheadMs = TimeUnit.NANOSECONDS.toMillis(dueNanos - (System.nanoTime() - start));
+            sleep(aheadMs);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,207 @@
+package com.randomuser.stub;
+
+import com.randomuser.models.Dob;
+import com.randomuser.models.Id;
+import com.randomuser.models.Location;
+import com.randomuser.models.Login;
+import com.randomuser.models.Name;
+import com.randomuser.models.Picture;
+import com.randomuser.models.Registered;
+import com.randomuser.models.User;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Builds deterministic users for the stub server: the same seed, page and index always give the same user.
+ */
+public class StubUserFactory {
+
+    public static final String[] NATIONALITIES = {"AU", "BR", "CA", "CH", "DE", "DK", "ES", "FI", "FR", "GB",
+            "IE", "IN", "IR", "MX", "NL", "NO", "NZ", "RS", "TR", "UA", "US"};
+
+    static final String[] COUNTRIES = {"Australia", "Brazil", "Canada", "Switzerland", "Germany", "Denmark",
+            "Spain", "Finland", "France", "United Kingdom", "Ireland", "India", "Iran", "Mexico", "Netherlands",
+            "Norway", "New Zealand", "Serbia", "Turkey", "Ukraine", "United States"};
+
+    static final String[] ID_NAMES = {"TFN", "CPF", "SIN", "AVS", "", "CPR", "DNI", "HETU", "INSEE", "NINO",
+            "PPS", "UIDAI", "", "NSS", "BSN", "FN", "", "SID", "", "", "SSN"};
+
+    static final String[] MALE_FIRST = {"James", "Lucas", "Noah", "Liam", "Oliver", "Elias", "Mateo",
+            "Hugo", "Leon", "Arthur", "Emil", "Aaron", "Felix", "Oscar", "Daniel", "Milan"};
+    static final String[] FEMALE_FIRST = {"Emma", "Olivia", "Mia", "Sofia", "Amelia", "Ella", "Lea",
+            "Clara", "Alice", "Nora", "Ida", "Chloe", "Lina", "Julia", "Maja", "Zoe"};
+    static final String[] LAST = {"Smith", "Jones", "Martin", "Garcia", "Muller", "Novak", "Hansen",
+            "Silva", "Dubois", "Walker", "Moreau", "Schmidt", "Jensen", "Lopez", "Virtanen", "Kaya"};
+    static final String[] CITIES = {"Springfield", "Riverside", "Fairview", "Kingston", "Ashford",
+            "Greenville", "Lakewood", "Milford", "Newport", "Oakland"};
+    static final String[] STATES = {"North", "South", "East", "West", "Central", "Coastal", "Highland"};
+    static final String[] STREETS = {"Main Street", "Park Avenue", "Oak Lane", "Mill Road", "Church Street",
+            "High Street", "Station Road", "Victoria Road"};
+    static final String[] PASSWORDS = {"sunshine", "dragon", "letmein", "monkey", "shadow", "master",
+            "qwerty", "freedom", "whatever", "trustno1"};
+    static final String[][] TIMEZONES = {{"-5:00", "Eastern Time (US & Canada), Bogota, Lima"},
+            {"+0:00", "Western Europe Time, London, Lisbon, Casablanca"},
+            {"+1:00", "Brussels, Copenhagen, Madrid, Paris"},
+            {"+3:00", "Baghdad, Riyadh, Moscow, St. Petersburg"},
+            {"+5:30", "Bombay, Calcutta, Madras, New Delhi"},
+            {"+10:00", "Eastern Australia, Guam, Vladivostok"}};
+
+    static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+    static final String PICTURE_BASE = "https://randomuser.me/api/portraits/";
+
+    public static String randomSeed(Random random) {
+        return Long.toHexString(random.nextLong() | Long.MIN_VALUE).substring(0, 16);
+    }
+
+    public static User createUser(String seed, int page, int index, String gender, String[] nats) {
+        Random random = new Random(seed.hashCode() * 31L + page * 1_000_003L + index);
+
+        String resolvedGender = gender != null ? gender : (random.nextBoolean() ? "male" : "female");
+        int natIndex = nats != null && nats.length > 0
+                ? indexOfNat(nats[random.nextInt(nats.length)])
+                : random.nextInt(NATIONALITIES.length);
+        String nat = NATIONALITIES[natIndex];
+
+        Name name = new Name();
+        boolean male = "male".equals(resolvedGender);
+        name.setTitle(male ? "Mr" : (random.nextBoolean() ? "Ms" : "Mrs"));
+        name.setFirst(pick(random, male ? MALE_FIRST : FEMALE_FIRST));
+        name.setLast(pick(random, LAST));
+
+        User user = new User();
+        user.setGender(resolvedGender);
+        user.setName(name);
+        user.setLocation(createLocation(random, natIndex));
+        user.setEmail((name.getFirst() + "." + name.getLast()).toLowerCase(Locale.ROOT) + "@example.com");
+        user.setLogin(createLogin(random, name));
+        user.setDob(createDob(random));
+        user.setRegistered(createRegistered(random, user.getDob().getAge()));
+        user.setPhone(phone(random));
+        user.setCell(phone(random));
+        user.setId(createId(random, natIndex));
+        user.setPicture(createPicture(random, male));
+        user.setNat(nat);
+        return user;
+    }
+
+    private static int indexOfNat(String nat) {
+        for (int i = 0; i < NATIONALITIES.length; i++) {
+            if (NATIONALITIES[i].equalsIgnoreCase(nat)) {
+                return i;
+            }
+        }
+        return NATIONALITIES.length - 1;
+    }
+
+    private static Location createLocation(Random random, int natIndex) {
+        Location.Street street = new Location.Street();
+        street.setNumber(1 + random.nextInt(9999));
+        street.setName(pick(random, STREETS));
+
+        Location.Coordinates coordinates = new Location.Coordinates();
+        coordinates.setLatitude(String.format(Locale.ROOT, "%.4f", random.nextDouble() * 180 - 90));
+        coordinates.setLongitude(String.format(Locale.ROOT, "%.4f", random.nextDouble() * 360 - 180));
+
+        String[] tz = TIMEZONES[random.nextInt(TIMEZONES.length)];
+        Location.Timezone timezone = new Location.Timezone();
+        timezone.setOffset(tz[0]);
+        timezone.setDescription(tz[1]);
+
+        Location location = new Location();
+        location.setStreet(street);
+        location.setCity(pick(random, CITIES));
+        location.setState(pick(random, STATES));
+        location.setCountry(COUNTRIES[natIndex]);
+        location.setPostcode(String.valueOf(10000 + random.nextInt(90000)));
+        location.setCoordinates(coordinates);
+        location.setTimezone(timezone);
+        return location;
+    }
+
+    private static Login createLogin(Random random, Name name) {
+        String password = pick(random, PASSWORDS);
+        String salt = randomAlphanumeric(random, 8);
+
+        Login login = new Login();
+        login.setUuid(new UUID(random.nextLong(), random.nextLong()).toString());
+        login.setUsername(name.getFirst().toLowerCase(Locale.ROOT) + name.getLast().toLowerCase(Locale.ROOT)
+                + random.nextInt(1000));
+        login.setPassword(password);
+        login.setSalt(salt);
+        login.setMd5(hex("MD5", password + salt));
+        login.setSha1(hex("SHA-1", password + salt));
+        login.setSha256(hex("SHA-256", password + salt));
+        return login;
+    }
+
+    private static Dob createDob(Random random) {
+        int age = 18 + random.nextInt(60);
+        Dob dob = new Dob();
+        dob.setDate(NOW.minus(age * 365L + random.nextInt(365), ChronoUnit.DAYS).toString());
+        dob.setAge(age);
+        return dob;
+    }
+
+    // Nobody registered before they were born
+    private static Registered createRegistered(Random random, int maxAge) {
+        int age = random.nextInt(Math.min(20, maxAge));
+        Registered registered = new Registered();
+        registered.setDate(NOW.minus(age * 365L + random.nextInt(365), ChronoUnit.DAYS).toString());
+        registered.setAge(age);
+        return registered;
+    }
+
+    private static Id createId(Random random, int natIndex) {
+        Id id = new Id();
+        id.setName(ID_NAMES[natIndex]);
+        id.setValue(ID_NAMES[natIndex].isEmpty() ? null : String.valueOf(100_000_000 + random.nextInt(900_000_000)));
+        return id;
+    }
+
+    private static Picture createPicture(Random random, boolean male) {
+        String path = (male ? "men/" : "women/") + random.nextInt(100) + ".jpg";
+        Picture picture = new Picture();
+        picture.setLarge(PICTURE_BASE + path);
+        picture.setMedium(PICTURE_BASE + "med/" + path);
+        picture.setThumbnail(PICTURE_BASE + "thumb/" + path);
+        return picture;
+    }
+
+    private static String phone(Random random) {
+        return String.format(Locale.ROOT, "(%03d) %03d-%04d",
+                random.nextInt(1000), random.nextInt(1000), random.nextInt(10000));
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String randomAlphanumeric(Random random, int length) {
+        String alphabet = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+
+    private static String hex(String algorithm, String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance(algorithm).digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " not available", e);
+        }
+    }
+}
@@ -0,0 +1,556 @@
+package com.randomuser.stub;
+
+import com.randomuser.models.Dob;
+import com.randomuser.models.Id;
+import com.randomuser.models.Location;
+import com.randomuser.models.Login;
+import com.randomuser.models.Name;
+import com.randomuser.models.Picture;
+import com.randomuser.models.Registered;
+import com.randomuser.models.User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Seed-driven bulk user generator for stress tests. Each user is a pure function of (seed, page, index), drawn
+ * from its own SplitMix64 sequence, so pages can be produced on any thread in any order and still be identical.
+ * {@link #writePage} emits the {@code UserResponse} wire format straight into a byte buffer; per-thread scratch
+ * state (random source, digests, buffers) keeps that path free of per-user allocation.
+ */
+public class SyntheticUserGenerator {
+    public static final String VERSION = StubServer.VERSION;
+
+    private static final long DAY_MS = 86_400_000L;
+    private static final long NOW_MS = StubUserFactory.NOW.toEpochMilli();
+    private static final char[] SALT_ALPHABET =
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final String[] FEMALE_TITLES = {"Ms", "Mrs"};
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final String seed;
+    private final long seedHash;
+
+    public SyntheticUserGenerator(String seed) {
+        this.seed = seed;
+        // FNV-1a over the seed's chars
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < seed.length(); i++) {
+            hash = (hash ^ seed.charAt(i)) * 0x100000001b3L;
+        }
+        this.seedHash = hash;
+    }
+
+    public String getSeed() {
+        return seed;
+    }
+
+    // Pages are 1-based like the API; index is the position within the page
+    public User user(int page, int index) {
+        Scratch scratch = SCRATCH.get();
+        Draft draft = scratch.draw(userSeed(page, index));
+        return draft.toUser(scratch);
+    }
+
+    public List<User> users(int page, int results) {
+        List<User> users = new ArrayList<>(results);
+        for (int i = 0; i < results; i++) {
+            users.add(user(page, i));
+        }
+        return users;
+    }
+
+    // Users 0..total-1 laid out over pages of pageSize; safe to run with .parallel()
+    public Stream<User> stream(long total, int pageSize) {
+        return LongStream.range(0, total).mapToObj(i -> user((int) (i / pageSize) + 1, (int) (i % pageSize)));
+    }
+
+    public byte[] pageJson(int page, int results) {
+        Scratch scratch = SCRATCH.get();
+        JsonSink sink = scratch.page;
+        sink.reset();
+        writePage(page, results, sink, scratch);
+        return sink.toByteArray();
+    }
+
+    public void writePage(int page, int results, OutputStream out) throws IOException {
+        Scratch scratch = SCRATCH.get();
+        JsonSink sink = scratch.page;
+        sink.reset();
+        writePage(page, results, sink, scratch);
+        sink.writeTo(out);
+    }
+
+    private void writePage(int page, int results, JsonSink sink, Scratch scratch) {
+        sink.ascii("{\"results\":[");
+        for (int i = 0; i < results; i++) {
+            if (i > 0) {
+                sink.write(',');
+            }
+            scratch.draw(userSeed(page, i)).writeJson(sink, scratch);
+        }
+        sink.ascii("],\"info\":{\"seed\":").string(seed)
+                .ascii(",\"results\":").number(results)
+                .ascii(",\"page\":").number(page)
+                .ascii(",\"version\":\"").ascii(VERSION).ascii("\"}}");
+    }
+
+    private long userSeed(int page, int index) {
+        return Rng.mix(seedHash + Rng.mix(((long) page << 32) | (index & 0xffffffffL)));
+    }
+
+    /**
+     * SplitMix64, the generator behind {@link java.util.SplittableRandom}, with a resettable state so one
+     * instance per thread serves every user without allocating.
+     */
+    static final class Rng {
+        private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+        private long state;
+
+        static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+
+        void reset(long seed) {
+            state = seed;
+        }
+
+        long nextLong() {
+            return mix(state += GOLDEN_GAMMA);
+        }
+
+        // Multiply-shift range reduction; the bias is negligible for the small bounds used here
+        int nextInt(int bound) {
+            return (int) (((nextLong() >>> 32) * bound) >>> 32);
+        }
+    }
+
+    /**
+     * All random draws for one user, kept as primitives and table indexes until rendered.
+     */
+    private static final class Draft {
+        boolean male;
+        int nat;
+        int title;
+        int first;
+        int last;
+        int streetNumber;
+        int street;
+        int city;
+        int state;
+        int postcode;
+        int latitudeE4;
+        int longitudeE4;
+        int timezone;
+        int password;
+        final byte[] salt = new byte[8];
+        long uuidHigh;
+        long uuidLow;
+        int usernameSuffix;
+        long dobMs;
+        int dobAge;
+        long registeredMs;
+        int registeredAge;
+        final int[] phone = new int[3];
+        final int[] cell = new int[3];
+        int idValue;
+        int picture;
+
+        void draw(Rng rng) {
+            male = rng.nextInt(2) == 0;
+            nat = rng.nextInt(StubUserFactory.NATIONALITIES.length);
+            title = male ? -1 : rng.nextInt(FEMALE_TITLES.length);
+            first = rng.nextInt((male ? StubUserFactory.MALE_FIRST : StubUserFactory.FEMALE_FIRST).length);
+            last = rng.nextInt(StubUserFactory.LAST.length);
+            streetNumber = 1 + rng.nextInt(9999);
+            street = rng.nextInt(StubUserFactory.STREETS.length);
+            city = rng.nextInt(StubUserFactory.CITIES.length);
+            state = rng.nextInt(StubUserFactory.STATES.length);
+            postcode = 10000 + rng.nextInt(90000);
+            latitudeE4 = rng.nextInt(1_800_001) - 900_000;
+            longitudeE4 = rng.nextInt(3_600_001) - 1_800_000;
+            timezone = rng.nextInt(StubUserFactory.TIMEZONES.length);
+            password = rng.nextInt(StubUserFactory.PASSWORDS.length);
+            for (int i = 0; i < salt.length; i++) {
+                salt[i] = (byte) SALT_ALPHABET[rng.nextInt(SALT_ALPHABET.length)];
+            }
+            // Version 4, IETF variant
+            uuidHigh = (rng.nextLong() & ~0xf000L) | 0x4000L;
+            uuidLow = (rng.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+            usernameSuffix = rng.nextInt(1000);
+            dobAge = 18 + rng.nextInt(60);
+            dobMs = NOW_MS - (dobAge * 365L + rng.nextInt(365)) * DAY_MS - rng.nextInt((int) DAY_MS);
+            registeredAge = rng.nextInt(Math.min(20, dobAge));
+            registeredMs = NOW_MS - (registeredAge * 365L + rng.nextInt(365)) * DAY_MS - rng.nextInt((int) DAY_MS);
+            for (int i = 0; i < 3; i++) {
+                phone[i] = rng.nextInt(i == 2 ? 10000 : 1000);
+            }
+            for (int i = 0; i < 3; i++) {
+                cell[i] = rng.nextInt(i == 2 ? 10000 : 1000);
+            }
+            idValue = 100_000_000 + rng.nextInt(900_000_000);
+            picture = rng.nextInt(100);
+        }
+
+        String firstName() {
+            return (male ? StubUserFactory.MALE_FIRST : StubUserFactory.FEMALE_FIRST)[first];
+        }
+
+        String lastName() {
+            return StubUserFactory.LAST[last];
+        }
+
+        String titleName() {
+            return male ? "Mr" : FEMALE_TITLES[title];
+        }
+
+        String idName() {
+            return StubUserFactory.ID_NAMES[nat];
+        }
+
+        void writeJson(JsonSink out, Scratch scratch) {
+            String[] tz = StubUserFactory.TIMEZONES[timezone];
+            out.ascii("{\"gender\":\"").ascii(male ? "male" : "female")
+                    .ascii("\",\"name\":{\"title\":\"").ascii(titleName())
+                    .ascii("\",\"first\":\"").ascii(firstName())
+                    .ascii("\",\"last\":\"").ascii(lastName())
+                    .ascii("\"},\"location\":{\"street\":{\"number\":").number(streetNumber)
+                    .ascii(",\"name\":\"").ascii(StubUserFactory.STREETS[street])
+                    .ascii("\"},\"city\":\"").ascii(StubUserFactory.CITIES[city])
+                    .ascii("\",\"state\":\"").ascii(StubUserFactory.STATES[state])
+                    .ascii("\",\"country\":\"").ascii(StubUserFactory.COUNTRIES[nat])
+                    .ascii("\",\"postcode\":\"").number(postcode)
+                    .ascii("\",\"coordinates\":{\"latitude\":\"").fixed4(latitudeE4)
+                    .ascii("\",\"longitude\":\"").fixed4(longitudeE4)
+                    .ascii("\"},\"timezone\":{\"offset\":\"").ascii(tz[0])
+                    .ascii("\",\"description\":\"").ascii(tz[1])
+                    .ascii("\"}},\"email\":\"").lowerAscii(firstName()).write('.').lowerAscii(lastName())
+                    .ascii("@example.com\",\"login\":{\"uuid\":\"").uuid(uuidHigh, uuidLow)
+                    .ascii("\",\"username\":\"").lowerAscii(firstName()).lowerAscii(lastName()).number(usernameSuffix)
+                    .ascii("\",\"password\":\"").ascii(StubUserFactory.PASSWORDS[password])
+                    .ascii("\",\"salt\":\"").bytes(salt)
+                    .ascii("\",\"md5\":\"");
+            scratch.hash(scratch.md5, this, out);
+            out.ascii("\",\"sha1\":\"");
+            scratch.hash(scratch.sha1, this, out);
+            out.ascii("\",\"sha256\":\"");
+            scratch.hash(scratch.sha256, this, out);
+            out.ascii("\"},\"dob\":{\"date\":\"").isoInstant(dobMs)
+                    .ascii("\",\"age\":").number(dobAge)
+                    .ascii("},\"registered\":{\"date\":\"").isoInstant(registeredMs)
+                    .ascii("\",\"age\":").number(registeredAge)
+                    .ascii("},\"phone\":\"").phone(phone)
+                    .ascii("\",\"cell\":\"").phone(cell)
+                    .ascii("\",\"id\":{\"name\":\"").ascii(idName()).ascii("\",\"value\":");
+            if (idName().isEmpty()) {
+                out.ascii("null");
+            } else {
+                out.write('"').number(idValue).write('"');
+            }
+            out.ascii("},\"picture\":{\"large\":\"").picture(male, picture, "")
+                    .ascii("\",\"medium\":\"").picture(male, picture, "med/")
+                    .ascii("\",\"thumbnail\":\"").picture(male, picture, "thumb/")
+                    .ascii("\"},\"nat\":\"").ascii(StubUserFactory.NATIONALITIES[nat])
+                    .ascii("\"}");
+        }
+
+        // Formatted fields go through the same sink code as the JSON path, so both renderings agree exactly
+        User toUser(Scratch scratch) {
+            JsonSink text = scratch.text;
+
+            Name name = new Name();
+            name.setTitle(titleName());
+            name.setFirst(firstName());
+            name.setLast(lastName());
+
+            Location.Street streetValue = new Location.Street();
+            streetValue.setNumber(streetNumber);
+            streetValue.setName(StubUserFactory.STREETS[street]);
+            Location.Coordinates coordinates = new Location.Coordinates();
+            coordinates.setLatitude(text.reset().fixed4(latitudeE4).toAsciiString());
+            coordinates.setLongitude(text.reset().fixed4(longitudeE4).toAsciiString());
+            Location.Timezone timezoneValue = new Location.Timezone();
+            timezoneValue.setOffset(StubUserFactory.TIMEZONES[timezone][0]);
+            timezoneValue.setDescription(StubUserFactory.TIMEZONES[timezone][1]);
+            Location location = new Location();
+            location.setStreet(streetValue);
+            location.setCity(StubUserFactory.CITIES[city]);
+            location.setState(StubUserFactory.STATES[state]);
+            location.setCountry(StubUserFactory.COUNTRIES[nat]);
+            location.setPostcode(String.valueOf(postcode));
+            location.setCoordinates(coordinates);
+            location.setTimezone(timezoneValue);
+
+            Login login = new Login();
+            login.setUuid(text.reset().uuid(uuidHigh, uuidLow).toAsciiString());
+            login.setUsername(text.reset().lowerAscii(firstName()).lowerAscii(lastName()).number(usernameSuffix)
+                    .toAsciiString());
+            login.setPassword(StubUserFactory.PASSWORDS[password]);
+            login.setSalt(new String(salt, StandardCharsets.US_ASCII));
+            text.reset();
+            scratch.hash(scratch.md5, this, text);
+            login.setMd5(text.toAsciiString());
+            text.reset();
+            scratch.hash(scratch.sha1, this, text);
+            login.setSha1(text.toAsciiString());
+            text.reset();
+            scratch.hash(scratch.sha256, this, text);
+            login.setSha256(text.toAsciiString());
+
+            Dob dob = new Dob();
+            dob.setDate(text.reset().isoInstant(dobMs).toAsciiString());
+            dob.setAge(dobAge);
+            Registered registered = new Registered();
+            registered.setDate(text.reset().isoInstant(registeredMs).toAsciiString());
+            registered.setAge(registeredAge);
+
+            Id id = new Id();
+            id.setName(idName());
+            id.setValue(idName().isEmpty() ? null : String.valueOf(idValue));
+
+            Picture pictureValue = new Picture();
+            pictureValue.setLarge(text.reset().picture(male, picture, "").toAsciiString());
+            pictureValue.setMedium(text.reset().picture(male, picture, "med/").toAsciiString());
+            pictureValue.setThumbnail(text.reset().picture(male, picture, "thumb/").toAsciiString());
+
+            User user = new User();
+            user.setGender(male ? "male" : "female");
+            user.setName(name);
+            user.setLocation(location);
+            user.setEmail(text.reset().lowerAscii(firstName()).write('.').lowerAscii(lastName())
+                    .ascii("@example.com").toAsciiString());
+            user.setLogin(login);
+            user.setDob(dob);
+            user.setRegistered(registered);
+            user.setPhone(text.reset().phone(phone).toAsciiString());
+            user.setCell(text.reset().phone(cell).toAsciiString());
+            user.setId(id);
+            user.setPicture(pictureValue);
+            user.setNat(StubUserFactory.NATIONALITIES[nat]);
+            return user;
+        }
+    }
+
+    private static final class Scratch {
+        final Rng rng = new Rng();
+        final Draft draft = new Draft();
+        final JsonSink page = new JsonSink(1 << 16);
+        final JsonSink text = new JsonSink(128);
+        final MessageDigest md5 = digest("MD5");
+        final MessageDigest sha1 = digest("SHA-1");
+        final MessageDigest sha256 = digest("SHA-256");
+        final byte[] input = new byte[64];
+        final byte[] output = new byte[32];
+
+        Draft draw(long seed) {
+            rng.reset(seed);
+            draft.draw(rng);
+            return draft;
+        }
+
+        // Hex digest of password + salt, as the API computes it
+        void hash(MessageDigest digest, Draft draft, JsonSink out) {
+            String password = StubUserFactory.PASSWORDS[draft.password];
+            int length = 0;
+            for (int i = 0; i < password.length(); i++) {
+                input[length++] = (byte) password.charAt(i);
+            }
+            System.arraycopy(draft.salt, 0, input, length, draft.salt.length);
+            length += draft.salt.length;
+            digest.update(input, 0, length);
+            try {
+                int size = digest.digest(output, 0, output.length);
+                for (int i = 0; i < size; i++) {
+                    out.write(HEX[(output[i] >> 4) & 0xf]).write(HEX[output[i] & 0xf]);
+                }
+            } catch (DigestException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static MessageDigest digest(String algorithm) {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(algorithm + " not available", e);
+            }
+        }
+    }
+
+    /**
+     * Growable byte buffer with just the ASCII writers the wire format needs.
+     */
+    static final class JsonSink {
+        private byte[] buffer;
+        private int size;
+
+        JsonSink(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        JsonSink reset() {
+            size = 0;
+            return this;
+        }
+
+        JsonSink write(int b) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[size++] = (byte) b;
+            return this;
+        }
+
+        JsonSink ascii(String value) {
+            ensure(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                buffer[size++] = (byte) value.charAt(i);
+            }
+            return this;
+        }
+
+        JsonSink lowerAscii(String value) {
+            ensure(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                buffer[size++] = (byte) (c >= 'A' && c <= 'Z' ? c + 32 : c);
+            }
+            return this;
+        }
+
+        JsonSink bytes(byte[] value) {
+            ensure(value.length);
+            System.arraycopy(value, 0, buffer, size, value.length);
+            size += value.length;
+            return this;
+        }
+
+        // Quoted and escaped; only used for the caller-supplied seed
+        JsonSink string(String value) {
+            write('"');
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            for (byte b : utf8) {
+                if (b == '"' || b == '\\') {
+                    write('\\').write(b);
+                } else if (b >= 0 && b < 0x20) {
+                    ascii(String.format("\\u%04x", b));
+                } else {
+                    write(b);
+                }
+            }
+            return write('"');
+        }
+
+        JsonSink number(long value) {
+            if (value < 0) {
+                write('-');
+                value = -value;
+            }
+            ensure(20);
+            int start = size;
+            do {
+                buffer[size++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value > 0);
+            for (int i = start, j = size - 1; i < j; i++, j--) {
+                byte tmp = buffer[i];
+                buffer[i] = buffer[j];
+                buffer[j] = tmp;
+            }
+            return this;
+        }
+
+        JsonSink padded(long value, int digits) {
+            ensure(digits);
+            for (int i = digits - 1; i >= 0; i--) {
+                buffer[size + i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            size += digits;
+            return this;
+        }
+
+        // Ten-thousandths as a fixed-point decimal, e.g. -613746 -> -61.3746
+        JsonSink fixed4(int valueE4) {
+            if (valueE4 < 0) {
+                write('-');
+                valueE4 = -valueE4;
+            }
+            return number(valueE4 / 10_000).write('.').padded(valueE4 % 10_000, 4);
+        }
+
+        JsonSink uuid(long high, long low) {
+            hex(high >>> 32, 8).write('-').hex(high >>> 16, 4).write('-').hex(high, 4).write('-');
+            return hex(low >>> 48, 4).write('-').hex(low, 12);
+        }
+
+        private JsonSink hex(long value, int digits) {
+            ensure(digits);
+            for (int i = digits - 1; i >= 0; i--) {
+                buffer[size + i] = HEX[(int) (value & 0xf)];
+                value >>>= 4;
+            }
+            size += digits;
+            return this;
+        }
+
+        // yyyy-MM-ddTHH:mm:ss.SSSZ in UTC, using the days-to-civil conversion from Howard Hinnant
+        JsonSink isoInstant(long epochMs) {
+            long days = Math.floorDiv(epochMs, DAY_MS);
+            long msOfDay = Math.floorMod(epochMs, DAY_MS);
+            long z = days + 719_468;
+            long era = Math.floorDiv(z, 146_097);
+            long doe = z - era * 146_097;
+            long yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365;
+            long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+            long mp = (5 * doy + 2) / 153;
+            long day = doy - (153 * mp + 2) / 5 + 1;
+            long month = mp < 10 ? mp + 3 : mp - 9;
+            long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+            return padded(year, 4).write('-').padded(month, 2).write('-').padded(day, 2).write('T')
+                    .padded(msOfDay / 3_600_000, 2).write(':').padded(msOfDay / 60_000 % 60, 2).write(':')
+                    .padded(msOfDay / 1000 % 60, 2).write('.').padded(msOfDay % 1000, 3).write('Z');
+        }
+
+        JsonSink phone(int[] parts) {
+            return write('(').padded(parts[0], 3).ascii(") ").padded(parts[1], 3).write('-').padded(parts[2], 4);
+        }
+
+        JsonSink picture(boolean male, int number, String size) {
+            return ascii(StubUserFactory.PICTURE_BASE).ascii(size).ascii(male ? "men/" : "women/").number(number)
+                    .ascii(".jpg");
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        String toAsciiString() {
+            return new String(buffer, 0, size, StandardCharsets.US_ASCII);
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(buffer, 0, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.randomuser.tests;
+
+import com.randomuser.metrics.AllocationBudget;
+import com.randomuser.metrics.AllocationMetrics;
+import com.randomuser.metrics.AllocationStats;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+
+public class AllocationMetricsTests {
+    private static final int MB = 1 << 20;
+
+    private static volatile byte[] sink;
+
+    @Test
+    public void testAllocationsAreCountedOnTheTestThreadOnly() throws InterruptedException {
+        if (!AllocationMetrics.isSupported()) {
+            throw new SkipException("No per-thread allocation counter in this JVM");
+        }
+        AllocationMetrics metrics = new AllocationMetrics();
+
+        AllocationMetrics.Window window = metrics.start();
+        sink = new byte[8 * MB];
+        Thread other = new Thread(() -> sink = new byte[32 * MB]);
+        other.start();
+        other.join();
+        AllocationMetrics.Sample sample = metrics.stop(window);
+        metrics.record("test", sample);
+
+        Assert.assertTrue(sample.allocatedBytes() >= 8 * MB, "Own allocation missing: " + sample);
+        Assert.assertTrue(sample.allocatedBytes() < 32 * MB, "Other thread's allocation counted: " + sample);
+        Assert.assertTrue(sample.peakHeapBytes() > 0);
+        AllocationStats stats = metrics.getStats().get(0);
+        Assert.assertEquals(stats.getInvocations(), 1);
+        Assert.assertEquals(stats.getAllocatedBytes(), sample.allocatedBytes());
+    }
+
+    @Test
+    public void testBudgetIsCheckedPerInvocation() throws NoSuchMethodException {
+        Method budgeted = Budgeted.class.getMethod("parse");
+        Method unbudgeted = Budgeted.class.getMethod("unbudgeted");
+
+        Assert.assertNull(AllocationMetrics.checkBudget(budgeted, new AllocationMetrics.Sample(MB, 0, 0, 0)));
+        Assert.assertNull(AllocationMetrics.checkBudget(unbudgeted, new AllocationMetrics.Sample(Long.MAX_VALUE, 0, 0, 0)));
+        Assert.assertEquals(AllocationMetrics.checkBudget(budgeted, new AllocationMetrics.Sample(MB + 1, 0, 0, 0)),
+                "Allocated 1,048,577 bytes, over the budget of 1,048,576 bytes");
+    }
+
+    public static class Budgeted {
+        @AllocationBudget(bytes = MB)
+        public void parse() {
+        }
+
+        public void unbudgeted() {
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.randomuser.tests;
+
+import com.randomuser.models.Location;
+import com.randomuser.models.User;
+import com.randomuser.models.UserResponse;
+import com.randomuser.models.compact.CompactModels;
+import com.randomuser.models.compact.CompactUser;
+import com.randomuser.models.compact.CompactUserResponse;
+import com.randomuser.models.compact.Gender;
+import com.randomuser.stub.StubServer;
+import com.randomuser.utils.HeapFootprint;
+import com.randomuser.utils.UserStream;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+public class CompactModelsTests {
+    private static final int USERS = 5000;
+
+    private byte[] payload;
+
+    @BeforeClass
+    public void createPayload() throws IOException {
+        UserResponse response = StubServer.buildResponse(Map.of("results", String.valueOf(USERS), "seed", "compact"));
+        payload = StubServer.serialize(response, null, null);
+    }
+
+    @Test
+    public void testCompactModelsMatchPojos() throws IOException {
+        UserResponse pojos = UserStream.mapper().readValue(payload, UserResponse.class);
+        CompactUserResponse compact = CompactModels.readResponse(payload);
+
+        Assert.assertEquals(compact.results().size(), USERS);
+        Assert.assertEquals(compact.info().getSeed(), "compact");
+        for (int i = 0; i < USERS; i += 97) {
+            User user = pojos.getResults().get(i);
+            CompactUser compactUser = compact.results().get(i);
+            Location.Coordinates coordinates = user.getLocation().getCoordinates();
+
+            Assert.assertEquals(compactUser.gender(), Gender.of(user.getGender()));
+            Assert.assertEquals(compactUser.email(), user.getEmail());
+            Assert.assertEquals(compactUser.login().uuid().toString(), user.getLogin().getUuid());
+            Assert.assertEquals(compactUser.dob(), Instant.parse(user.getDob().getDate()));
+            Assert.assertEquals(compactUser.registeredAge(), user.getRegistered().getAge());
+            Assert.assertEquals(compactUser.location().latitude(), Double.parseDouble(coordinates.getLatitude()));
+            Assert.assertEquals(compactUser.location().timezoneOffset(), user.getLocation().getTimezone().getOffset());
+            Assert.assertEquals(compactUser.picture().large(), user.getPicture().getLarge());
+            Assert.assertEquals(compactUser.nat(), user.getNat());
+        }
+        // Interned values share one instance across users
+        Assert.assertSame(compact.results().get(0).nat(), compact.results().stream()
+                .filter(u -> u.nat().equals(compact.results().get(0).nat())).reduce((a, b) -> b).get().nat());
+    }
+
+    @Test
+    public void testNullNestedLocationObjectsAreSkipped() throws IOException {
+        String json = "{\"location\":{\"street\":null,\"city\":\"Oslo\",\"coordinates\":null,\"country\":\"Norway\","
+                + "\"timezone\":{\"offset\":\"+1:00\",\"description\":\"Paris\"},\"postcode\":\"0150\"},"
+                + "\"email\":\"a@example.com\",\"nat\":\"NO\"}";
+        CompactUser user = CompactModels.USER_READER.readValue(json);
+
+        Assert.assertEquals(user.location().city(), "Oslo");
+        Assert.assertEquals(user.location().country(), "Norway");
+        Assert.assertEquals(user.location().postcode(), "0150");
+        Assert.assertEquals(user.location().timezoneOffset(), "+1:00");
+        Assert.assertNull(user.location().streetName());
+        Assert.assertTrue(Double.isNaN(user.location().latitude()));
+        Assert.assertEquals(user.email(), "a@example.com");
+        Assert.assertEquals(user.nat(), "NO");
+    }
+
+    @Test
+    public void testCompactModelsRetainLessHeap() {
+        long pojoBytes = HeapFootprint.retainedBytes(() -> {
+            try {
+                return UserStream.mapper().readValue(payload, UserResponse.class);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long compactBytes = HeapFootprint.retainedBytes(() -> CompactModels.readResponse(payload));
+
+        Assert.assertTrue(compactBytes < pojoBytes * 0.8, "Compact models should retain noticeably less heap: "
+                + compactBytes / USERS + " vs " + pojoBytes / USERS + " bytes per user");
+    }
+}
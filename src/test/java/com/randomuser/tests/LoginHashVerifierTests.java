@@ -0,0 +1,87 @@
+package com.randomuser.tests;
+
+import com.randomuser.metrics.AllocationMetrics;
+import com.randomuser.models.Login;
+import com.randomuser.models.User;
+import com.randomuser.stub.StubServer;
+import com.randomuser.stub.SyntheticUserGenerator;
+import com.randomuser.validation.LoginHashVerifier;
+import com.randomuser.validation.ValidationReport;
+import com.randomuser.validation.Violation;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class LoginHashVerifierTests {
+    private static final int USERS = 5000;
+
+    @Test
+    public void testGeneratedHashesMatchSaltedPasswords() {
+        List<User> stubUsers = StubServer.buildResponse(Map.of("results", String.valueOf(USERS), "seed", "hashes"))
+                .getResults();
+        List<User> syntheticUsers = new SyntheticUserGenerator("hashes").users(1, USERS);
+
+        ValidationReport stub = LoginHashVerifier.defaults().verify(stubUsers);
+        ValidationReport synthetic = LoginHashVerifier.defaults().verify(syntheticUsers);
+
+        Assert.assertTrue(stub.isValid(), stub.toString());
+        Assert.assertTrue(synthetic.isValid(), synthetic.toString());
+        Assert.assertEquals(synthetic.getUsersChecked(), USERS);
+    }
+
+    @Test
+    public void testMismatchesAreReportedPerHash() throws NoSuchAlgorithmException {
+        List<User> users = new SyntheticUserGenerator("tampered").users(1, USERS);
+        Login changedPassword = users.get(10).getLogin();
+        changedPassword.setPassword(changedPassword.getPassword() + "x");
+        users.get(2000).getLogin().setSha1(users.get(2001).getLogin().getSha1());
+        users.get(4000).getLogin().setSalt(null);
+        // Upper-case hex is still a match, and non-ASCII passwords are hashed as UTF-8
+        Login upper = users.get(3000).getLogin();
+        upper.setSha256(upper.getSha256().toUpperCase(Locale.ROOT));
+        Login unicode = users.get(4500).getLogin();
+        unicode.setPassword("pässwörd");
+        unicode.setMd5(hex("MD5", unicode.getPassword() + unicode.getSalt()));
+        unicode.setSha1(hex("SHA-1", unicode.getPassword() + unicode.getSalt()));
+        unicode.setSha256(hex("SHA-256", unicode.getPassword() + unicode.getSalt()));
+
+        List<Violation> violations = LoginHashVerifier.defaults().verify(users).getViolations();
+
+        Assert.assertEquals(violations.stream().map(v -> v.index() + " " + v.field()).toList(), List.of(
+                "10 login.md5", "10 login.sha1", "10 login.sha256", "2000 login.sha1", "4000 login.password"));
+        Assert.assertEquals(violations.get(3).value(), users.get(2001).getLogin().getSha1());
+    }
+
+    @Test
+    public void testValidBatchesAllocateNextToNothing() {
+        if (!AllocationMetrics.isSupported()) {
+            throw new SkipException("No per-thread allocation counter in this JVM");
+        }
+        // Small enough to stay on the calling thread, where the allocation counter can see it
+        List<User> users = new SyntheticUserGenerator("allocation").users(1, 200);
+        LoginHashVerifier verifier = LoginHashVerifier.defaults();
+        for (int i = 0; i < 50; i++) {
+            verifier.verify(users);
+        }
+
+        AllocationMetrics metrics = new AllocationMetrics();
+        AllocationMetrics.Window window = metrics.start();
+        ValidationReport report = verifier.verify(users);
+        long allocated = metrics.stop(window).allocatedBytes();
+
+        Assert.assertTrue(report.isValid(), report.toString());
+        Assert.assertTrue(allocated < 200 * 16, "Allocated " + allocated + " bytes for 200 users");
+    }
+
+    private static String hex(String algorithm, String text) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,133 @@
+package com.randomuser.tests;
+
+import com.randomuser.perf.BaselineRun;
+import com.randomuser.perf.BaselineStore;
+import com.randomuser.perf.MannWhitney;
+import com.randomuser.perf.PerfComparison;
+import com.randomuser.perf.PerfComparison.Verdict;
+import com.randomuser.perf.Series;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+public class PerformanceBaselineTests {
+
+    @Test
+    public void testMannWhitneyMatchesReferenceValues() {
+        // Reference: scipy.stats.mannwhitneyu(a, b, method="asymptotic", use_continuity=True)
+        MannWhitney.Result separated = MannWhitney.test(new double[]{1, 2, 3, 4, 5}, new double[]{6, 7, 8, 9, 10});
+        Assert.assertEquals(separated.u(), 0.0);
+        Assert.assertEquals(separated.pValue(), 0.01219, 1e-4);
+
+        MannWhitney.Result tied = MannWhitney.test(new double[]{1, 2, 2, 3}, new double[]{2, 3, 3, 4});
+        Assert.assertEquals(tied.u(), 3.0);
+        Assert.assertTrue(tied.pValue() > 0.1, "Overlapping samples flagged: " + tied);
+
+        Assert.assertEquals(MannWhitney.test(new double[]{5, 5, 5}, new double[]{5, 5}).pValue(), 1.0);
+    }
+
+    @Test
+    public void testVerdictsFollowSignificanceAndDirection() {
+        Map<String, Series> before = new TreeMap<>();
+        Map<String, Series> after = new TreeMap<>();
+        before.put("slower", Series.latencyMs(noisy(1, 100, 40)));
+        after.put("slower", Series.latencyMs(noisy(2, 150, 40)));
+        before.put("faster", Series.latencyMs(noisy(3, 100, 40)));
+        after.put("faster", Series.latencyMs(noisy(4, 60, 40)));
+        before.put("noise", Series.latencyMs(noisy(5, 100, 40)));
+        after.put("noise", Series.latencyMs(noisy(6, 103, 40)));
+        before.put("throughput", new Series("ops/s", true, noisy(7, 1000, 40)));
+        after.put("throughput", new Series("ops/s", true, noisy(8, 500, 40)));
+        before.put("few", Series.latencyMs(noisy(9, 100, 3)));
+        after.put("few", Series.latencyMs(noisy(10, 300, 3)));
+
+        PerfComparison comparison = PerfComparison.compare(run("new", after), List.of(run("old", before)),
+                0.01, 0.25, 10);
+        Map<String, Verdict> verdicts = comparison.getDiffs().stream()
+                .collect(Collectors.toMap(PerfComparison.Diff::metric, PerfComparison.Diff::verdict));
+
+        Assert.assertEquals(verdicts, Map.of("slower", Verdict.REGRESSION, "faster", Verdict.IMPROVEMENT,
+                "noise", Verdict.UNCHANGED, "throughput", Verdict.REGRESSION, "few", Verdict.INSUFFICIENT));
+        Assert.assertEquals(comparison.getRegressions().size(), 2);
+        Assert.assertTrue(comparison.toMarkdown().contains("| REGRESSION | slower |"), comparison.toMarkdown());
+    }
+
+    @Test
+    public void testStorePicksLatestOtherCommitWithSameConfig() throws IOException {
+        Path file = Files.createTempDirectory("baselines").resolve("runs.jsonl");
+        BaselineStore store = new BaselineStore(file);
+        Map<String, Series> series = Map.of("m", Series.latencyMs(new double[]{1, 2, 3}));
+        store.append(new BaselineRun("a", "cfg", Map.of(), "t0", series));
+        store.append(new BaselineRun("b", "cfg", Map.of(), "t1", series));
+        store.append(new BaselineRun("b", "cfg", Map.of(), "t2", series));
+        store.append(new BaselineRun("c", "other", Map.of(), "t3", series));
+        store.append(new BaselineRun("current", "cfg", Map.of(), "t4", series));
+        Files.writeString(file, "{\"commit\":\"torn", StandardOpenOption.APPEND);
+
+        List<BaselineRun> runs = store.baselineRuns("cfg", "current", null, 5);
+        Assert.assertEquals(runs.stream().map(BaselineRun::timestamp).toList(), List.of("t1", "t2"));
+        Assert.assertEquals(BaselineStore.pool(runs).get("m").size(), 6);
+        Assert.assertEquals(store.baselineRuns("cfg", "current", "a", 5).get(0).timestamp(), "t0");
+        Assert.assertEquals(store.baselineRuns("cfg", "current", "b", 1).get(0).timestamp(), "t2");
+        Assert.assertTrue(store.baselineRuns("none", "current", null, 5).isEmpty());
+    }
+
+    @Test
+    public void testStoreKeepsTheLastRunsOfEachConfig() throws IOException {
+        Path file = Files.createTempDirectory("baselines").resolve("runs.jsonl");
+        BaselineStore store = new BaselineStore(file, 3);
+        Map<String, Series> series = Map.of("m", Series.latencyMs(new double[]{1}));
+        store.append(new BaselineRun("a", "other", Map.of(), "o0", series));
+        for (int i = 0; i < 6; i++) {
+            store.append(new BaselineRun("a", "cfg", Map.of(), "t" + i, series));
+        }
+
+        Assert.assertEquals(store.read().stream().map(BaselineRun::timestamp).toList(), List.of("o0", "t3", "t4", "t5"));
+        Assert.assertEquals(Files.readAllLines(file).size(), 4);
+    }
+
+    @Test
+    public void testOncePerRunMetricsAreJudgedOnRunsPooledPerCommit() throws IOException {
+        BaselineStore store = new BaselineStore(Files.createTempDirectory("baselines").resolve("runs.jsonl"));
+        double[] before = noisy(11, 100, 12);
+        double[] after = noisy(12, 200, 12);
+        for (int i = 0; i < 12; i++) {
+            store.append(run("old", Map.of("test T.m", Series.latencyMs(new double[]{before[i]}))));
+        }
+        for (int i = 0; i < 11; i++) {
+            store.append(run("new", Map.of("test T.m", Series.latencyMs(new double[]{after[i]}))));
+        }
+        BaselineRun current = run("new", Map.of("test T.m", Series.latencyMs(new double[]{after[11]})));
+        List<BaselineRun> baseline = store.baselineRuns("cfg", "new", null, 10);
+
+        Assert.assertEquals(PerfComparison.compare(current, baseline, 0.01, 0.25, 10).getDiffs().get(0).verdict(),
+                Verdict.INSUFFICIENT);
+        PerfComparison pooled = PerfComparison.compare(current.pooledWith(store.earlierRuns("cfg", "new", 9)),
+                baseline, 0.01, 0.25, 10);
+        Assert.assertEquals(pooled.getDiffs().get(0).currentSamples(), 10);
+        Assert.assertEquals(pooled.getDiffs().get(0).verdict(), Verdict.REGRESSION, pooled.toMarkdown());
+    }
+
+    private static BaselineRun run(String commit, Map<String, Series> series) {
+        return new BaselineRun(commit, "cfg", Map.of(), "t", series);
+    }
+
+    // Long-tailed samples around a median, like request latencies
+    private static double[] noisy(long seed, double median, int n) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = median * Math.exp(random.nextGaussian() * 0.1);
+        }
+        return values;
+    }
+}
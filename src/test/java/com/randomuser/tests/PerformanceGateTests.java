@@ -0,0 +1,41 @@
+package com.randomuser.tests;
+
+import com.randomuser.perf.BaselineRun;
+import com.randomuser.perf.BaselineStore;
+import com.randomuser.perf.PerfComparison;
+import com.randomuser.perf.PerfSamples;
+import com.randomuser.utils.TestConfig;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Runs last in the suite: compares the samples of this run with the stored baseline and fails on significant
+ * slowdowns. The diff is written to perf.report.dir either way.
+ */
+public class PerformanceGateTests {
+
+    @Test
+    public void testNoSignificantRegressionAgainstBaseline() throws IOException {
+        if (!TestConfig.getBoolean("perf.gate.enabled", false)) {
+            throw new SkipException("Performance gate disabled (perf.gate.enabled=false)");
+        }
+        BaselineStore store = BaselineStore.fromConfig();
+        BaselineRun current = BaselineRun.of("suite", PerfSamples.global().snapshot());
+        List<BaselineRun> baseline = store.baselineRuns(current.config(), current.commit(),
+                TestConfig.get("perf.baseline.commit", null), TestConfig.getInt("perf.baseline.runs", 10));
+        // A test's duration is one sample per run: pool it with the last runs of this commit
+        current = current.pooledWith(store.earlierRuns(current.config(), current.commit(),
+                TestConfig.getInt("perf.current.runs", 10) - 1));
+        PerfComparison comparison = PerfComparison.fromConfig(current, baseline);
+        comparison.write(Paths.get(TestConfig.get("perf.report.dir", "target/perf")));
+        if (!comparison.hasBaseline()) {
+            throw new SkipException("No baseline recorded for config " + current.config() + " yet");
+        }
+        Assert.assertTrue(comparison.getRegressions().isEmpty(), comparison.toMarkdown());
+    }
+}
@@ -0,0 +1,64 @@
+package com.randomuser.tests;
+
+import com.randomuser.api.PictureVerifier;
+import com.randomuser.models.User;
+import com.randomuser.stub.StubBehavior;
+import com.randomuser.stub.StubServer;
+import com.randomuser.stub.SyntheticUserGenerator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+public class PictureVerifierTests {
+    private static final String PORTRAITS = "https://randomuser.me/api/portraits/";
+
+    @Test
+    public void testDistinctUrlsAreCheckedOnceWithinTheInFlightLimit() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setLatencyMs(2);
+        List<User> users = new SyntheticUserGenerator("pictures").users(1, 3000);
+        try (StubServer server = new StubServer(0, 8, behavior).start();
+             PictureVerifier verifier = verifier(server, 4, 10_000, false)) {
+            PictureVerifier.Report report = verifier.verifyAll(users);
+
+            Assert.assertTrue(report.failures().isEmpty(), "Unresolved: " + report.failures());
+            Assert.assertEquals(report.pictureUrls(), 9000);
+            Assert.assertTrue(report.uniqueUrls() <= 600, "Portraits repeat across users: " + report.uniqueUrls());
+            Assert.assertEquals(server.getImageRequestCount(), report.uniqueUrls());
+            Assert.assertTrue(verifier.getPeakInFlight() <= 4, verifier.toString());
+
+            Assert.assertTrue(verifier.verifyAll(users).failures().isEmpty());
+            Assert.assertEquals(server.getImageRequestCount(), report.uniqueUrls(), "Second pass should be cached");
+            Assert.assertEquals(verifier.getHits(), report.uniqueUrls());
+        }
+    }
+
+    @Test
+    public void testMissingImagesFailAndOldestResultsAreEvicted() throws IOException {
+        try (StubServer server = new StubServer(0, 2, new StubBehavior()).start();
+             PictureVerifier verifier = verifier(server, 2, 2, true)) {
+            PictureVerifier.Check missing = verifier.verify(PORTRAITS + "men/100.jpg").join();
+            Assert.assertFalse(missing.ok());
+            Assert.assertEquals(missing.status(), 404);
+
+            PictureVerifier.Check ranged = verifier.verify(PORTRAITS + "thumb/women/7.jpg").join();
+            Assert.assertTrue(ranged.ok(), ranged.toString());
+            Assert.assertEquals(ranged.status(), 206);
+            Assert.assertTrue(ranged.contentLength() > 1, "Full size comes from Content-Range: " + ranged);
+
+            verifier.verify(PORTRAITS + "med/women/7.jpg").join();
+            Assert.assertEquals(verifier.size(), 2);
+            Assert.assertEquals(verifier.getEvictions(), 1);
+            Assert.assertEquals(verifier.getFailures(), 1);
+            verifier.verify(PORTRAITS + "men/100.jpg").join();
+            Assert.assertEquals(server.getImageRequestCount(), 4, "Evicted result should be checked again");
+        }
+    }
+
+    private static PictureVerifier verifier(StubServer server, int maxInFlight, int maxEntries, boolean rangedGet) {
+        return new PictureVerifier(server.getOrigin(), maxInFlight, maxEntries, 0, Duration.ofSeconds(5), rangedGet);
+    }
+}
@@ -0,0 +1,656 @@
+package com.randomuser.tests;
+
+import com.randomuser.api.ApiResponse;
+import com.randomuser.api.BulkUserFetcher;
+import com.randomuser.api.CassetteStore;
+import com.randomuser.api.CircuitBreaker;
+import com.randomuser.api.HttpConnectionPool;
+import com.randomuser.api.HttpUserApiClient;
+import com.randomuser.api.RandomUserApiClient;
+import com.randomuser.api.RateLimiter;
+import com.randomuser.api.ResiliencePolicy;
+import com.randomuser.api.ResponseCache;
+import com.randomuser.api.RetryPolicy;
+import com.randomuser.api.UserApiClient;
+import com.randomuser.api.UserQuery;
+import com.randomuser.load.LoadProfile;
+import com.randomuser.load.LoadReport;
+import com.randomuser.load.LoadTestRunner;
+import com.randomuser.metrics.MetricsRegistry;
+import com.randomuser.metrics.RequestMetrics;
+import com.randomuser.metrics.ShapeStats;
+import com.randomuser.stub.StubBehavior;
+import com.randomuser.stub.StubServer;
+import com.randomuser.stub.StubUserFactory;
+import com.randomuser.models.User;
+import com.randomuser.models.UserResponse;
+import com.randomuser.utils.ResponseValidator;
+import com.randomuser.utils.UserStream;
+import io.restassured.response.Response;
+import org.apache.http.pool.PoolStats;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class RandomUserApiClientTests {
+
+    @Test
+    public void testConnectionsAreReusedUnderConcurrentLoad() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (StubServer server = new StubServer(0, 8, new StubBehavior()).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(),
+                     new HttpConnectionPool(8, 4, 30_000, 60_000, 2000, 2000, 2000))) {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> client.getUsersWithParams(2, null, null, null).getStatusCode()));
+            }
+            for (Future<Integer> future : futures) {
+                Assert.assertEquals(future.get().intValue(), 200);
+            }
+
+            PoolStats stats = client.getPoolStats();
+            Assert.assertEquals(stats.getLeased(), 0, "All connections should be released");
+            Assert.assertEquals(stats.getPending(), 0, "No requests should wait for a connection");
+            Assert.assertTrue(stats.getAvailable() > 0 && stats.getAvailable() <= 4,
+                    "Connections should be kept alive and capped per route: " + stats);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSocketTimeoutIsEnforced() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setLatencyMs(1500);
+
+        try (StubServer server = new StubServer(0, 2, behavior).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(),
+                     new HttpConnectionPool(4, 4, 30_000, 60_000, 500, 300, 500))) {
+            long start = System.nanoTime();
+            Assert.assertThrows(SocketTimeoutException.class, client::getUsers);
+            Assert.assertTrue((System.nanoTime() - start) / 1_000_000 < 1500, "Timeout should fire before the response");
+        }
+    }
+
+    @Test
+    public void testPooledClientReturnsValidResponses() throws IOException {
+        try (StubServer server = new StubServer(0, 2, new StubBehavior()).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl())) {
+            ResponseValidator.validateStatusCode(client.getUsersWithPage(3, 5), 200);
+            ResponseValidator.validateStatusCode(client.getUsersWithPage(4, 5), 200);
+            Assert.assertEquals(client.getPoolStats().getAvailable(), 1, "Sequential calls should share one connection");
+        }
+    }
+
+    @Test
+    public void testStreamingParseMatchesDatabind() throws IOException {
+        try (StubServer server = new StubServer(0, 2, new StubBehavior()).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl())) {
+            List<User> expected = client.getUsersWithParams(50, null, null, "stream")
+                    .as(UserResponse.class).getResults();
+
+            try (UserStream users = UserStream.from(client.getUsersWithParams(50, null, null, "stream"))) {
+                List<String> uuids = new ArrayList<>();
+                users.forEachRemaining(user -> uuids.add(user.getLogin().getUuid()));
+
+                Assert.assertEquals(uuids.size(), expected.size());
+                for (int i = 0; i < uuids.size(); i++) {
+                    Assert.assertEquals(uuids.get(i), expected.get(i).getLogin().getUuid());
+                }
+                Assert.assertEquals(users.getInfo().getSeed(), "stream");
+                Assert.assertEquals(users.getInfo().getResults(), 50);
+            }
+            Assert.assertEquals(client.getPoolStats().getLeased(), 0, "Closing the stream should release the connection");
+        }
+    }
+
+    @Test
+    public void testStreamingParseReadsLeadingInfoAndSkipsUnknownFields() {
+        String body = "{\"info\":{\"seed\":\"s\",\"results\":1,\"page\":1,\"version\":\"1.4\"},"
+                + "\"extra\":{\"nested\":[1,2]},\"results\":[{\"gender\":\"male\",\"email\":\"a@b.c\"}]}";
+
+        try (UserStream users = new UserStream(new ByteArrayInputStream(body.getBytes()))) {
+            Assert.assertEquals(users.getInfo().getSeed(), "s", "Leading info should be available before iteration");
+            Assert.assertEquals(users.stream().map(User::getEmail).toArray(), new String[]{"a@b.c"});
+        }
+    }
+
+    @Test
+    public void testSeededRequestsAreCachedAndCollapsed() throws Exception {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setLatencyMs(200);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try (StubServer server = new StubServer(0, 8, behavior).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(),
+                     HttpConnectionPool.fromConfig(), new ResponseCache(2, 60_000))) {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> client.getUsersWithParams(1, null, null, "cached")
+                        .as(UserResponse.class).getResults().get(0).getEmail()));
+            }
+            String email = futures.get(0).get();
+            for (Future<String> future : futures) {
+                Assert.assertEquals(future.get(), email);
+            }
+            Assert.assertEquals(server.getRequestCount(), 1, "Concurrent identical requests should hit the network once");
+
+            ResponseCache cache = client.getCache();
+            client.getUsersWithParams(1, null, null, "cached");
+            Assert.assertEquals(cache.getMisses(), 1);
+            Assert.assertEquals(cache.getHits() + cache.getCollapsed(), 8);
+
+            client.getUsersWithParams(1, null, null, null);
+            client.getUsersWithParams(1, null, null, null);
+            Assert.assertEquals(server.getRequestCount(), 3, "Unseeded requests should bypass the cache");
+
+            client.getUsersWithParams(2, null, null, "a");
+            client.getUsersWithParams(3, null, null, "b");
+            Assert.assertEquals(cache.size(), 2);
+            Assert.assertEquals(cache.getEvictions(), 1, "Least recently used entry should be evicted");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBatchRunsConcurrentlyInInputOrder() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setLatencyMs(300);
+
+        try (StubServer server = new StubServer(0, 32, behavior).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl())) {
+            List<UserQuery> queries = new ArrayList<>();
+            for (String nat : StubUserFactory.NATIONALITIES) {
+                queries.add(UserQuery.of(1, "male", nat, null));
+            }
+
+            long start = System.nanoTime();
+            List<UserResponse> responses = client.getUsersBatch(queries, queries.size()).join();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            Assert.assertTrue(elapsedMs < 300L * queries.size() / 3,
+                    "Batch should take about one round trip, took " + elapsedMs + " ms");
+            for (int i = 0; i < queries.size(); i++) {
+                Assert.assertEquals(responses.get(i).getResults().get(0).getNat(), StubUserFactory.NATIONALITIES[i]);
+            }
+
+            start = System.nanoTime();
+            client.getUsersBatch(queries.subList(0, 6), 2).join();
+            elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            Assert.assertTrue(elapsedMs >= 900, "Concurrency cap of 2 should give 3 waves, took " + elapsedMs + " ms");
+        }
+    }
+
+    @Test
+    public void testAsyncFailsOnErrorStatus() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setServerErrorRate(1.0);
+
+        try (StubServer server = new StubServer(0, 2, behavior).start();
+             RandomUserApiClient client = withoutResilience(server.getBaseUrl())) {
+            CompletionException error = Assert.expectThrows(CompletionException.class,
+                    () -> client.getUsersAsync(1, null, null, null).join());
+            Assert.assertTrue(error.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testBulkFetcherStreamsPagesInOrderWithRetries() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setServerErrorRate(0.2);
+        behavior.setServerErrorStatus(502);
+        MetricsRegistry registry = new MetricsRegistry();
+
+        try (StubServer server = new StubServer(0, 16, behavior).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(), HttpConnectionPool.fromConfig(),
+                     null, null, null, new ResiliencePolicy(null, null, new RetryPolicy(8, 10, 50), registry))) {
+            BulkUserFetcher fetcher = new BulkUserFetcher(client, "bulk", 100, 4);
+            Assert.expectThrows(IllegalArgumentException.class, () -> fetcher.stream(-1, true));
+
+            List<String> uuids;
+            try (Stream<User> users = fetcher.stream(950, true)) {
+                uuids = users.map(user -> user.getLogin().getUuid()).collect(Collectors.toList());
+            }
+            Assert.assertEquals(uuids.size(), 950);
+            Assert.assertEquals(fetcher.getPagesFetched(), 10);
+            Assert.assertEquals(registry.counter("resilience.retry.attempts").sum(), server.getInjectedErrorCount(),
+                    "Every injected error should be retried by the client");
+
+            behavior.setServerErrorRate(0);
+            List<User> page3 = client.getUsers(UserQuery.page(3, 100, "bulk")).as(UserResponse.class).getResults();
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(uuids.get(200 + i), page3.get(i).getLogin().getUuid(), "Pages should be emitted in order");
+            }
+
+            try (Stream<User> users = new BulkUserFetcher(client, "bulk", 100, 4).stream(950, false)) {
+                Assert.assertEquals(users.map(user -> user.getLogin().getUuid()).collect(Collectors.toSet()),
+                        new HashSet<>(uuids), "Unordered stream should contain the same users");
+            }
+        }
+    }
+
+    @Test
+    public void testBulkFetcherRefetchesPagesLostInTransport() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+
+        try (StubServer server = new StubServer(0, 8, behavior).start();
+             RandomUserApiClient restAssured = new RandomUserApiClient(server.getBaseUrl(),
+                     HttpConnectionPool.fromConfig(), null, null, null, ResiliencePolicy.none());
+             HttpUserApiClient jdk = new HttpUserApiClient(server.getBaseUrl(), null, ResiliencePolicy.none())) {
+            for (UserApiClient client : List.of(restAssured, jdk)) {
+                behavior.dropNextConnections(2);
+                BulkUserFetcher fetcher = new BulkUserFetcher(client, "dropped", 100, 4, 2, 10);
+                try (Stream<User> users = fetcher.stream(950, true)) {
+                    Assert.assertEquals(users.count(), 950);
+                }
+                Assert.assertEquals(fetcher.getRetries(), 2, "Each dropped page should be fetched again");
+                Assert.assertEquals(fetcher.getPagesFetched(), 10);
+
+                behavior.dropNextConnections(3);
+                BulkUserFetcher exhausted = new BulkUserFetcher(client, "dropped", 100, 1, 2, 10);
+                IllegalStateException error = Assert.expectThrows(IllegalStateException.class, () -> {
+                    try (Stream<User> users = exhausted.stream(100, true)) {
+                        users.count();
+                    }
+                });
+                Assert.assertEquals(error.getMessage(), "Page 1 failed after 3 attempts");
+            }
+
+            // The stub caps a page at MAX_RESULTS users, so a larger page comes back short
+            BulkUserFetcher oversized = new BulkUserFetcher(jdk, "short", StubServer.MAX_RESULTS + 1, 1, 2, 10);
+            IllegalStateException error = Assert.expectThrows(IllegalStateException.class, () -> {
+                try (Stream<User> users = oversized.stream(StubServer.MAX_RESULTS + 1, true)) {
+                    users.count();
+                }
+            });
+            Assert.assertTrue(error.getMessage().contains("returned 5000 of 5001 users"), error.getMessage());
+        }
+    }
+
+    @Test
+    public void testOpenModelLoadAccountsForQueueing() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setLatencyMs(100);
+
+        try (StubServer server = new StubServer(0, 16, behavior).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl())) {
+            LoadTestRunner runner = new LoadTestRunner(client, List.of(UserQuery.of(1, null, null, null)));
+
+            LoadReport unconstrained = runner.run(LoadProfile.open(50, 16, 1000, 200));
+            ResponseValidator.validateErrorRate(unconstrained, 0.0);
+            ResponseValidator.validateThroughput(unconstrained, 40);
+            Assert.assertTrue(unconstrained.getPercentileMs(50) >= 100, unconstrained.toString());
+
+            // One request in flight at 100 ms each cannot keep up with 50 rps: the backlog must show in the tail
+            LoadReport saturated = runner.run(LoadProfile.open(50, 1, 1000, 0));
+            Assert.assertTrue(saturated.getPercentileMs(99) > 500,
+                    "Queueing delay should be recorded, not omitted: " + saturated);
+        }
+    }
+
+    @Test
+    public void testOpenModelStopsSchedulingWhenInterrupted() throws IOException {
+        try (StubServer server = new StubServer(0, 2, new StubBehavior()).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl())) {
+            LoadTestRunner runner = new LoadTestRunner(client, List.of(UserQuery.of(1, null, null, null)));
+
+            Thread.currentThread().interrupt();
+            long start = System.nanoTime();
+            try {
+                LoadReport report = runner.run(LoadProfile.open(10, 1, 60_000, 0));
+                Assert.assertTrue(Thread.currentThread().isInterrupted(), "The interrupt should be preserved");
+                Assert.assertEquals(report.getRequests(), 0);
+            } finally {
+                Thread.interrupted();
+            }
+            Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5),
+                    "An interrupted run should return instead of scheduling for its full duration");
+        }
+    }
+
+    @Test
+    public void testTimeoutsAreRecordedAsErrorsWithTheirLatency() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setLatencyMs(300);
+
+        try (StubServer server = new StubServer(0, 8, behavior).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(),
+                     new HttpConnectionPool(4, 4, 30_000, 60_000, 500, 100, 500), null, null, null,
+                     ResiliencePolicy.none())) {
+            LoadTestRunner runner = new LoadTestRunner(client, List.of(UserQuery.of(1, null, null, null)));
+            // The first call pays for client start-up, which would swallow most of a one-second run
+            Assert.assertThrows(SocketTimeoutException.class, client::getUsers);
+
+            // A thrown timeout must neither end a closed-model user nor vanish from the open-model histogram
+            for (LoadProfile profile : List.of(LoadProfile.closed(2, 1000, 0), LoadProfile.open(10, 4, 1000, 0))) {
+                LoadReport report = runner.run(profile);
+                Assert.assertTrue(report.getRequests() >= 6, report.toString());
+                Assert.assertEquals(report.getErrorRate(), 1.0, report.toString());
+                Assert.assertEquals(report.getErrorsByType().keySet(), Set.of("SocketTimeoutException"));
+                Assert.assertTrue(report.getPercentileMs(50) >= 100, report.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testClosedModelCountsErrors() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setRateLimitErrorRate(0.5);
+
+        try (StubServer server = new StubServer(0, 8, behavior).start();
+             RandomUserApiClient client = withoutResilience(server.getBaseUrl())) {
+            LoadReport report = new LoadTestRunner(client, List.of(UserQuery.of(1, null, null, null)))
+                    .run(LoadProfile.closed(4, 1000, 100));
+
+            Assert.assertTrue(report.getRequests() > 0);
+            Assert.assertTrue(report.getErrorRate() > 0.2 && report.getErrorRate() < 0.8, report.toString());
+            Assert.assertEquals(report.getErrorsByType().keySet(), Set.of("HTTP 429"));
+        }
+    }
+
+    @Test
+    public void testRequestMetricsRecordPhasesPerShape() throws IOException {
+        RequestMetrics metrics = new RequestMetrics(new MetricsRegistry());
+        StubBehavior behavior = new StubBehavior();
+        behavior.setLatencyMs(50);
+
+        try (StubServer server = new StubServer(0, 2, behavior).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(),
+                     HttpConnectionPool.fromConfig(), null, metrics)) {
+            metrics.setCurrentTest("metricsTest");
+            client.getUsersWithParams(100, "male", null, null).as(UserResponse.class);
+            try (UserStream users = UserStream.from(client.getUsersWithParams(10, "male", null, null))) {
+                users.drain();
+            }
+            client.getUsers().asByteArray();
+            metrics.setCurrentTest(null);
+
+            List<ShapeStats> stats = metrics.getStats();
+            Assert.assertEquals(stats.size(), 2);
+            ShapeStats filtered = stats.stream().filter(s -> s.getShape().equals("results,gender")).findFirst().get();
+            Assert.assertEquals(filtered.getTestName(), "metricsTest");
+            Assert.assertEquals(filtered.getRequests(), 2);
+            Assert.assertEquals(filtered.getDeserializations(), 1, "Only response.as(...) should be timed");
+            Assert.assertTrue(filtered.getMeanTtfbMs() >= 50, "TTFB should include server latency");
+            Assert.assertTrue(filtered.getBytes() > 0);
+
+            Map<String, Object> snapshot = metrics.getRegistry().snapshot();
+            Assert.assertEquals(snapshot.get("http.client.requests.count"), 3L);
+            Assert.assertEquals(snapshot.get("http.client.status.200"), 3L);
+            Assert.assertEquals(snapshot.get("http.client.bytes"), stats.stream().mapToLong(ShapeStats::getBytes).sum());
+        }
+    }
+
+    @Test
+    public void testCassetteRecordsAndReplaysFromMappedSegments() throws Exception {
+        Path directory = Files.createTempDirectory("cassettes");
+        List<UserQuery> queries = List.of(UserQuery.of(5000, null, null, "tape"), UserQuery.of(3, "female", "fr", "tape"),
+                UserQuery.page(2, 10, "tape"));
+        List<byte[]> recorded = new ArrayList<>();
+        String origin;
+
+        // Small segments so the 5000-user body forces a roll-over
+        try (StubServer server = new StubServer(0, 2, new StubBehavior()).start();
+             CassetteStore store = new CassetteStore(directory, CassetteStore.Mode.RECORD, 64 * 1024);
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(),
+                     HttpConnectionPool.fromConfig(), null, null, store)) {
+            origin = server.getBaseUrl();
+            for (UserQuery query : queries) {
+                recorded.add(client.getUsers(query).asByteArray());
+            }
+            Assert.assertEquals(server.getRequestCount(), queries.size());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (CassetteStore store = new CassetteStore(directory, CassetteStore.Mode.REPLAY, 64 * 1024);
+             RandomUserApiClient client = new RandomUserApiClient(origin,
+                     HttpConnectionPool.fromConfig(), null, null, store)) {
+            Assert.assertEquals(store.size(), queries.size(), "Index should be loaded on open");
+
+            List<Future<byte[]>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                UserQuery query = queries.get(i % queries.size());
+                futures.add(executor.submit(() -> client.getUsers(query).asByteArray()));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                Assert.assertEquals(futures.get(i).get(), recorded.get(i % queries.size()));
+            }
+
+            Response replayed = client.getUsers(queries.get(1));
+            Assert.assertEquals(replayed.getStatusCode(), 200);
+            Assert.assertTrue(replayed.getContentType().startsWith("application/json"));
+            Assert.assertEquals(replayed.as(UserResponse.class).getResults().size(), 3);
+
+            try (UserStream users = UserStream.from(client.getUsers(queries.get(0)))) {
+                users.drain();
+                Assert.assertEquals(users.getCount(), 5000);
+            }
+            Assert.assertEquals(store.body(origin, queries.get(0)).remaining(), recorded.get(0).length);
+            Assert.assertNull(store.body("http://127.0.0.1:1", queries.get(0)), "Another origin must not replay it");
+            Assert.assertThrows(IllegalStateException.class, () -> client.getUsers(UserQuery.of(1, null, null, "missing")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCassetteDoesNotRecordFailedResponses() throws IOException {
+        Path directory = Files.createTempDirectory("cassettes");
+        StubBehavior behavior = new StubBehavior();
+        behavior.setRateLimitErrorRate(1.0);
+        UserQuery query = UserQuery.of(1, null, null, "throttled");
+
+        try (StubServer server = new StubServer(0, 2, behavior).start();
+             CassetteStore store = new CassetteStore(directory, CassetteStore.Mode.RECORD, 64 * 1024);
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(), HttpConnectionPool.fromConfig(),
+                     null, null, store, ResiliencePolicy.none());
+             HttpUserApiClient jdk = new HttpUserApiClient(server.getBaseUrl(), store, ResiliencePolicy.none())) {
+            Assert.assertEquals(client.getUsers(query).getStatusCode(), 429);
+            Assert.assertEquals(jdk.execute(query).getStatusCode(), 429);
+            Assert.assertFalse(store.contains(server.getBaseUrl(), query));
+            Assert.assertEquals(store.size(), 0);
+        }
+    }
+
+    @Test
+    public void testRetriesHonourRetryAfterAndReturnLastFailure() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setRateLimitErrorRate(1.0);
+        behavior.setRetryAfterSeconds(1);
+        MetricsRegistry registry = new MetricsRegistry();
+
+        try (StubServer server = new StubServer(0, 2, behavior).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(), HttpConnectionPool.fromConfig(),
+                     null, null, null, new ResiliencePolicy(null, null, new RetryPolicy(2, 10, 300), registry))) {
+            long start = System.nanoTime();
+            Response response = client.getUsers();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            Assert.assertEquals(response.getStatusCode(), 429, "Exhausted retries should hand back the last response");
+            Assert.assertEquals(server.getRequestCount(), 3);
+            Assert.assertTrue(elapsedMs >= 2000, "Retry-After should be honoured in full, took " + elapsedMs);
+            Assert.assertEquals(registry.counter("resilience.retry.status.429").sum(), 2);
+            Assert.assertEquals(registry.counter("resilience.retry.exhausted").sum(), 1);
+
+            behavior.setRateLimitErrorRate(0);
+            ResponseValidator.validateStatusCode(client.getUsers(), 200);
+            Assert.assertEquals(registry.counter("resilience.retry.attempts").sum(), 2);
+        }
+    }
+
+    @Test
+    public void testRetryAfterBeyondTheLimitIsNotRetried() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setRateLimitErrorRate(1.0);
+        behavior.setRetryAfterSeconds(1);
+        MetricsRegistry registry = new MetricsRegistry();
+
+        try (StubServer server = new StubServer(0, 2, behavior).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(), HttpConnectionPool.fromConfig(),
+                     null, null, null, new ResiliencePolicy(null, null, new RetryPolicy(2, 10, 300, 500), registry))) {
+            Assert.assertEquals(client.getUsers().getStatusCode(), 429);
+            Assert.assertEquals(server.getRequestCount(), 1, "A Retry-After over the limit should not be waited out");
+            Assert.assertEquals(registry.counter("resilience.retry.after.exceeded").sum(), 1);
+            Assert.assertEquals(registry.counter("resilience.retry.attempts").sum(), 0);
+        }
+    }
+
+    @Test
+    public void testOnlyTheProbeDecidesAHalfOpenCircuit() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(0.5, 4, 2, 50, new MetricsRegistry());
+        boolean straggler = breaker.acquire();
+        for (int i = 0; i < 2; i++) {
+            breaker.record(false, breaker.acquire());
+        }
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+
+        Thread.sleep(60);
+        boolean probe = breaker.acquire();
+        Assert.assertTrue(probe);
+        breaker.record(true, straggler);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN,
+                "A call started before the trip should not close the circuit");
+        breaker.record(true, probe);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void testCircuitBreakerShedsLoadAndRecovers() throws Exception {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setServerErrorRate(1.0);
+        MetricsRegistry registry = new MetricsRegistry();
+        CircuitBreaker breaker = new CircuitBreaker(0.5, 10, 5, 300, registry);
+
+        try (StubServer server = new StubServer(0, 2, behavior).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(), HttpConnectionPool.fromConfig(),
+                     null, null, null, new ResiliencePolicy(null, breaker, RetryPolicy.none(), registry))) {
+            int rejected = 0;
+            for (int i = 0; i < 20; i++) {
+                try {
+                    Assert.assertEquals(client.getUsers().getStatusCode(), 503);
+                } catch (CircuitBreaker.CircuitOpenException e) {
+                    rejected++;
+                }
+            }
+            Assert.assertEquals(server.getRequestCount(), 5, "Calls after the breaker opens should not reach the server");
+            Assert.assertEquals(rejected, 15);
+            Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+
+            behavior.setServerErrorRate(0);
+            Thread.sleep(350);
+            ResponseValidator.validateStatusCode(client.getUsers(), 200);
+            Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+            Assert.assertEquals(registry.counter("resilience.circuit.opened").sum(), 1);
+            Assert.assertEquals(registry.counter("resilience.circuit.rejected").sum(), 15);
+        }
+    }
+
+    @Test
+    public void testTimedOutProbeReopensTheCircuit() throws Exception {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setLatencyMs(400);
+        MetricsRegistry registry = new MetricsRegistry();
+        CircuitBreaker breaker = new CircuitBreaker(0.5, 4, 2, 200, registry);
+
+        try (StubServer server = new StubServer(0, 4, behavior).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(),
+                     new HttpConnectionPool(4, 4, 30_000, 60_000, 500, 100, 500), null, null, null,
+                     new ResiliencePolicy(null, breaker, RetryPolicy.none(), registry))) {
+            Assert.assertThrows(SocketTimeoutException.class, client::getUsers);
+            Assert.assertThrows(SocketTimeoutException.class, client::getUsers);
+            Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN, "Timeouts should count as failures");
+
+            Thread.sleep(250);
+            Assert.assertThrows(SocketTimeoutException.class, client::getUsers);
+            Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN, "A timed-out probe should reopen it");
+
+            behavior.setLatencyMs(0);
+            Thread.sleep(250);
+            ResponseValidator.validateStatusCode(client.getUsers(), 200);
+            Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+            Assert.assertEquals(registry.counter("resilience.circuit.opened").sum(), 2);
+        }
+    }
+
+    @Test
+    public void testRateLimiterCapsThroughputAcrossThreads() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try (StubServer server = new StubServer(0, 4, new StubBehavior()).start();
+             RandomUserApiClient client = new RandomUserApiClient(server.getBaseUrl(), HttpConnectionPool.fromConfig(),
+                     null, null, null, new ResiliencePolicy(new RateLimiter(20, 1, registry), null,
+                     RetryPolicy.none(), registry))) {
+            long start = System.nanoTime();
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 11; i++) {
+                futures.add(executor.submit(() -> client.getUsers().getStatusCode()));
+            }
+            for (Future<Integer> future : futures) {
+                Assert.assertEquals(future.get().intValue(), 200);
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            // One token up front, then one every 50 ms
+            Assert.assertTrue(elapsedMs >= 450, "11 requests at 20 rps should take at least 500 ms, took " + elapsedMs);
+            Assert.assertEquals(registry.counter("resilience.ratelimit.permits").sum(), 11);
+            Assert.assertTrue(registry.timer("resilience.ratelimit.wait").getCount() >= 9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testJdkBackendMatchesRestAssuredBackend() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+
+        try (StubServer server = new StubServer(0, 4, behavior).start();
+             RandomUserApiClient restAssured = new RandomUserApiClient(server.getBaseUrl());
+             HttpUserApiClient jdk = new HttpUserApiClient(server.getBaseUrl(), null, ResiliencePolicy.none())) {
+            UserQuery query = UserQuery.of(50, "female", "fr", "backends");
+            List<User> expected = restAssured.fetchUsers(query).getResults();
+            List<User> actual = jdk.fetchUsers(query).getResults();
+            Assert.assertEquals(actual.stream().map(u -> u.getLogin().getUuid()).collect(Collectors.toList()),
+                    expected.stream().map(u -> u.getLogin().getUuid()).collect(Collectors.toList()));
+
+            ApiResponse raw = jdk.execute(query);
+            Assert.assertEquals(raw.getContentType(), "application/json; charset=utf-8");
+            try (UserStream users = raw.stream()) {
+                users.drain();
+                Assert.assertEquals(users.getCount(), 50);
+            }
+
+            List<UserResponse> batch = jdk.getUsersBatch(List.of(query.withPage(1), query.withPage(2)), 2).join();
+            Assert.assertEquals(batch.get(1).getInfo().getPage(), 2);
+
+            behavior.setServerErrorRate(1.0);
+            CompletionException error = Assert.expectThrows(CompletionException.class,
+                    () -> jdk.getUsersAsync(query).join());
+            Assert.assertTrue(error.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    // Fault-injection checks look at raw error handling, so they bypass retries and the suite-wide breaker
+    private static RandomUserApiClient withoutResilience(String baseUrl) {
+        return new RandomUserApiClient(baseUrl, HttpConnectionPool.fromConfig(), ResponseCache.fromConfig(),
+                RequestMetrics.fromConfig(), CassetteStore.fromConfig(), ResiliencePolicy.none());
+    }
+}
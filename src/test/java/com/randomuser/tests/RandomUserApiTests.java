@@ -1,20 +1,68 @@
 package com.randomuser.tests;
 
+import com.randomuser.api.ApiResponse;
+import com.randomuser.api.CassetteStore;
+import com.randomuser.api.HttpUserApiClient;
+import com.randomuser.api.PictureVerifier;
 import com.randomuser.api.RandomUserApiClient;
+import com.randomuser.api.ResiliencePolicy;
+import com.randomuser.api.UserQuery;
+import com.randomuser.fixtures.UserDataProviders;
+import com.randomuser.fixtures.UserFixture;
+import com.randomuser.fixtures.UserFixtures;
+import com.randomuser.load.LoadProfile;
+import com.randomuser.load.LoadReport;
+import com.randomuser.load.LoadTestRunner;
+import com.randomuser.metrics.AllocationBudget;
+import com.randomuser.models.User;
+import com.randomuser.models.UserColumns;
 import com.randomuser.models.UserResponse;
+import com.randomuser.stub.StubBehavior;
+import com.randomuser.stub.StubServer;
 import com.randomuser.utils.ResponseValidator;
+import com.randomuser.utils.TestConfig;
+import com.randomuser.utils.UserProjection;
+import com.randomuser.utils.UserStream;
+import com.randomuser.validation.LoginHashVerifier;
+import com.randomuser.validation.UserValidator;
+import com.randomuser.validation.ValidationReport;
 import io.restassured.response.Response;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 import org.testng.Assert;
 
-import static io.restassured.RestAssured.given;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.Matchers.*;
 
 public class RandomUserApiTests {
+    private static final UserValidator EMAIL_FORMAT = UserValidator.builder()
+            .notNull("email", User::getEmail)
+            .matches("email", User::getEmail, UserValidator.EMAIL_PATTERN)
+            .build();
+
+    private RandomUserApiClient client;
+
+    @BeforeClass
+    public void setUpClient() {
+        client = new RandomUserApiClient();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closeClient() {
+        if (client != null) {
+            client.close();
+        }
+    }
 
     @Test(priority = 1)
     public void testGetSingleUser() {
-        Response response = RandomUserApiClient.getUsers();
+        Response response = client.getUsers();
 
         ResponseValidator.validateStatusCode(response, 200);
 
@@ -25,7 +73,7 @@ public class RandomUserApiTests {
 
     @Test(priority = 2)
     public void testGetMultipleUsers() {
-        Response response = RandomUserApiClient.getUsersWithParams(5, null, null, null);
+        Response response = client.getUsersWithParams(5, null, null, null);
 
         ResponseValidator.validateStatusCode(response, 200);
 
@@ -36,7 +84,7 @@ public class RandomUserApiTests {
 
     @Test(priority = 3)
     public void testGetUsersWithGenderFilter() {
-        Response response = RandomUserApiClient.getUsersWithParams(3, "female", null, null);
+        Response response = client.getUsersWithParams(3, "female", null, null);
 
         ResponseValidator.validateStatusCode(response, 200);
 
@@ -51,7 +99,7 @@ public class RandomUserApiTests {
 
     @Test(priority = 4)
     public void testGetUsersWithNationality() {
-        Response response = RandomUserApiClient.getUsersWithParams(3, null, "us", null);
+        Response response = client.getUsersWithParams(3, null, "us", null);
 
         ResponseValidator.validateStatusCode(response, 200);
 
@@ -66,9 +114,10 @@ public class RandomUserApiTests {
 
     @Test(priority = 5)
     public void testGetUsersWithSeed() {
-        String seed = "testseed123";
-        Response response1 = RandomUserApiClient.getUsersWithParams(1, null, null, seed);
-        Response response2 = RandomUserApiClient.getUsersWithParams(1, null, null, seed);
+        // Both requests go to the API: a cached copy would always match itself
+        UserQuery query = UserQuery.of(1, null, null, "testseed123");
+        Response response1 = client.getUsersUncached(query);
+        Response response2 = client.getUsersUncached(query);
 
         ResponseValidator.validateStatusCode(response1, 200);
         ResponseValidator.validateStatusCode(response2, 200);
@@ -84,7 +133,7 @@ public class RandomUserApiTests {
 
     @Test(priority = 6)
     public void testPagination() {
-        Response response = RandomUserApiClient.getUsersWithPage(2, 3);
+        Response response = client.getUsersWithPage(2, 3);
 
         ResponseValidator.validateStatusCode(response, 200);
 
@@ -94,25 +143,28 @@ public class RandomUserApiTests {
     }
 
     @Test(priority = 7)
+    @AllocationBudget(bytes = 160_000_000)
     public void testMaxResultsLimit() {
-        Response response = RandomUserApiClient.getUsersWithParams(5000, null, null, null);
-
-        ResponseValidator.validateStatusCode(response, 200);
-
-        UserResponse apiResponse = response.as(UserResponse.class);
-        ResponseValidator.validateResponseSchema(apiResponse);
-        Assert.assertTrue(apiResponse.getResults().size() <= 5000, "Should not exceed max results limit");
+        // The JDK backend hands over the live body, so the 5000 users are parsed off the socket one at a time
+        // instead of RestAssured buffering the whole payload first. Building 5000 users before the headers go out
+        // can take longer than the per-request default, so this request gets its own deadline
+        try (HttpUserApiClient streaming = new HttpUserApiClient(TestConfig.getBaseUrl(), CassetteStore.fromConfig(),
+                ResiliencePolicy.fromConfig(), Duration.ofSeconds(30))) {
+            ApiResponse response = streaming.execute(UserQuery.of(5000, null, null, null));
+            Assert.assertEquals(response.getStatusCode(), 200, "Status code should be 200");
+
+            try (UserStream users = response.stream()) {
+                users.forEachRemaining(ResponseValidator::validateUserData);
+                Assert.assertTrue(users.getCount() > 0, "Results should contain users");
+                Assert.assertTrue(users.getCount() <= 5000, "Should not exceed max results limit");
+                Assert.assertNotNull(users.getInfo(), "Info should not be null");
+            }
+        }
     }
 
-    @Test(priority = 8)
-    public void testUserDataStructure() {
-        Response response = RandomUserApiClient.getUsers();
-
-        ResponseValidator.validateStatusCode(response, 200);
-
-        UserResponse apiResponse = response.as(UserResponse.class);
-        com.randomuser.models.User user = apiResponse.getResults().get(0);
-
+    @Test(priority = 8, dataProvider = "fixtureUsers", dataProviderClass = UserDataProviders.class)
+    @UserFixture(count = 3)
+    public void testUserDataStructure(User user) {
         ResponseValidator.validateUserData(user);
         Assert.assertNotNull(user.getPhone(), "Phone should not be null");
         Assert.assertNotNull(user.getCell(), "Cell should not be null");
@@ -120,18 +172,30 @@ public class RandomUserApiTests {
     }
 
     @Test(priority = 9)
-    public void testResponseTime() {
-        long startTime = System.currentTimeMillis();
-        Response response = RandomUserApiClient.getUsers();
-        long endTime = System.currentTimeMillis();
+    public void testResponseTime() throws IOException {
+        LoadReport report;
+        // Seconds of sustained load stay off the public API unless load.live=true opts in
+        if (TestConfig.isStubEnabled() || TestConfig.getBoolean("load.live", false)) {
+            report = runLoad(client);
+        } else {
+            try (StubServer server = new StubServer(0, TestConfig.getInt("stub.threads", 32),
+                    StubBehavior.fromConfig()).start();
+                 RandomUserApiClient stubClient = new RandomUserApiClient(server.getBaseUrl())) {
+                report = runLoad(stubClient);
+            }
+        }
 
-        ResponseValidator.validateStatusCode(response, 200);
-        Assert.assertTrue((endTime - startTime) < 3000, "Response time should be less than 3 seconds");
+        ResponseValidator.validateErrorRate(report, TestConfig.getDouble("sla.error.rate", 0.0));
+        ResponseValidator.validateLatencySla(report, 99.0, TestConfig.getDouble("sla.p99.ms", 3000));
+    }
+
+    private static LoadReport runLoad(RandomUserApiClient target) {
+        return new LoadTestRunner(target, List.of(UserQuery.of(0, null, null, null))).run(LoadProfile.fromConfig());
     }
 
     @Test(priority = 10)
     public void testInvalidParameters() {
-        Response response = given()
+        Response response = client.request()
                 .queryParam("results", "invalid")
                 .when()
                 .get("/")
@@ -145,51 +209,30 @@ public class RandomUserApiTests {
     }
 
     @Test(priority = 11)
-    public void testContentType() {
-        Response response = RandomUserApiClient.getUsers();
-
-        ResponseValidator.validateStatusCode(response, 200);
-        Assert.assertEquals(response.getContentType(), "application/json; charset=utf-8",
+    @UserFixture
+    public void testContentType(Method method) {
+        Assert.assertEquals(UserFixtures.get(method).getContentType(), "application/json; charset=utf-8",
                 "Content type should be JSON");
     }
 
-    @Test(priority = 12)
-    public void testEmailFormat() {
-        Response response = RandomUserApiClient.getUsersWithParams(10, null, null, null);
-
-        ResponseValidator.validateStatusCode(response, 200);
-
-        UserResponse apiResponse = response.as(UserResponse.class);
-        apiResponse.getResults().forEach(user -> {
-            Assert.assertTrue(user.getEmail().matches("^[A-Za-z0-9+_.-]+@(.+)$"),
-                    "Email should be in valid format: " + user.getEmail());
-        });
+    @Test(priority = 12, dataProvider = "fixtureBatch", dataProviderClass = UserDataProviders.class)
+    @UserFixture(count = 10)
+    public void testEmailFormat(List<User> users) {
+        ResponseValidator.validateReport(EMAIL_FORMAT.validate(users));
     }
 
-    @Test(priority = 13)
-    public void testNameFields() {
-        Response response = RandomUserApiClient.getUsersWithParams(5, null, null, null);
-
-        ResponseValidator.validateStatusCode(response, 200);
-
-        UserResponse apiResponse = response.as(UserResponse.class);
-        apiResponse.getResults().forEach(user -> {
-            Assert.assertNotNull(user.getName().getFirst(), "First name should not be null");
-            Assert.assertNotNull(user.getName().getLast(), "Last name should not be null");
-            Assert.assertFalse(user.getName().getFirst().isEmpty(), "First name should not be empty");
-            Assert.assertFalse(user.getName().getLast().isEmpty(), "Last name should not be empty");
-        });
+    @Test(priority = 13, dataProvider = "fixtureUsers", dataProviderClass = UserDataProviders.class)
+    @UserFixture(count = 5)
+    public void testNameFields(User user) {
+        Assert.assertNotNull(user.getName().getFirst(), "First name should not be null");
+        Assert.assertNotNull(user.getName().getLast(), "Last name should not be null");
+        Assert.assertFalse(user.getName().getFirst().isEmpty(), "First name should not be empty");
+        Assert.assertFalse(user.getName().getLast().isEmpty(), "Last name should not be empty");
     }
 
-    @Test(priority = 14)
-    public void testLocationData() {
-        Response response = RandomUserApiClient.getUsers();
-
-        ResponseValidator.validateStatusCode(response, 200);
-
-        UserResponse apiResponse = response.as(UserResponse.class);
-        com.randomuser.models.User user = apiResponse.getResults().get(0);
-
+    @Test(priority = 14, dataProvider = "fixtureUsers", dataProviderClass = UserDataProviders.class)
+    @UserFixture(count = 3)
+    public void testLocationData(User user) {
         Assert.assertNotNull(user.getLocation(), "Location should not be null");
         Assert.assertNotNull(user.getLocation().getCity(), "City should not be null");
         Assert.assertNotNull(user.getLocation().getCountry(), "Country should not be null");
@@ -205,29 +248,26 @@ public class RandomUserApiTests {
     public void testDifferentNationalities() {
         String[] nationalities = {"us", "gb", "fr", "de", "es"};
 
+        List<UserQuery> queries = new ArrayList<>();
         for (String nat : nationalities) {
-            Response response = RandomUserApiClient.getUsersWithParams(1, null, nat, null);
-            ResponseValidator.validateStatusCode(response, 200);
+            queries.add(UserQuery.of(1, null, nat, null));
+        }
+        // Fails with the unexpected status code if any request is not 200
+        List<UserResponse> responses = client.getUsersBatch(queries).join();
 
-            UserResponse apiResponse = response.as(UserResponse.class);
-            Assert.assertEquals(apiResponse.getResults().get(0).getNat().toUpperCase(),
-                    nat.toUpperCase(), "Nationality should match");
+        for (int i = 0; i < nationalities.length; i++) {
+            Assert.assertEquals(responses.get(i).getResults().get(0).getNat().toUpperCase(),
+                    nationalities[i].toUpperCase(), "Nationality should match");
         }
     }
 
-    @Test(priority = 16)
-    public void testMixedGenderResults() {
-        Response response = RandomUserApiClient.getUsersWithParams(10, null, null, null);
-
-        ResponseValidator.validateStatusCode(response, 200);
-
-        UserResponse apiResponse = response.as(UserResponse.class);
-        long maleCount = apiResponse.getResults().stream()
-                .filter(user -> "male".equals(user.getGender()))
-                .count();
-        long femaleCount = apiResponse.getResults().stream()
-                .filter(user -> "female".equals(user.getGender()))
-                .count();
+    @Test(priority = 16, dataProvider = "fixtureBatch", dataProviderClass = UserDataProviders.class)
+    @UserFixture(count = 10)
+    @AllocationBudget(bytes = 1_000_000)
+    public void testMixedGenderResults(List<User> users) {
+        UserColumns columns = UserColumns.of(users);
+        int maleCount = columns.count(UserColumns.Column.GENDER, "male");
+        int femaleCount = columns.count(UserColumns.Column.GENDER, "female");
 
         Assert.assertTrue(maleCount > 0 || femaleCount > 0,
                 "Should return users of both genders in mixed results");
@@ -235,7 +275,7 @@ public class RandomUserApiTests {
 
     @Test(priority = 17)
     public void testInfoObjectStructure() {
-        Response response = RandomUserApiClient.getUsersWithParams(5, null, null, "testseed");
+        Response response = client.getUsersWithParams(5, null, null, "testseed");
 
         ResponseValidator.validateStatusCode(response, 200);
 
@@ -248,15 +288,9 @@ public class RandomUserApiTests {
         Assert.assertNotNull(info.getVersion(), "Version should not be null");
     }
 
-    @Test(priority = 18)
-    public void testPictureUrls() {
-        Response response = RandomUserApiClient.getUsers();
-
-        ResponseValidator.validateStatusCode(response, 200);
-
-        UserResponse apiResponse = response.as(UserResponse.class);
-        com.randomuser.models.User user = apiResponse.getResults().get(0);
-
+    @Test(priority = 18, dataProvider = "fixtureUsers", dataProviderClass = UserDataProviders.class)
+    @UserFixture(count = 3)
+    public void testPictureUrls(User user) {
         Assert.assertTrue(user.getPicture().getLarge().startsWith("https://"),
                 "Large picture should be HTTPS URL");
         Assert.assertTrue(user.getPicture().getMedium().startsWith("https://"),
@@ -265,32 +299,62 @@ public class RandomUserApiTests {
                 "Thumbnail picture should be HTTPS URL");
     }
 
-    @Test(priority = 19)
-    public void testLoginData() {
-        Response response = RandomUserApiClient.getUsers();
-
-        ResponseValidator.validateStatusCode(response, 200);
-
-        UserResponse apiResponse = response.as(UserResponse.class);
-        com.randomuser.models.User user = apiResponse.getResults().get(0);
-
+    @Test(priority = 19, dataProvider = "fixtureUsers", dataProviderClass = UserDataProviders.class)
+    @UserFixture(count = 3)
+    public void testLoginData(User user) {
         Assert.assertNotNull(user.getLogin().getUsername(), "Username should not be null");
         Assert.assertNotNull(user.getLogin().getUuid(), "UUID should not be null");
     }
 
-    @Test(priority = 20)
-    public void testDobAndRegisteredDates() {
-        Response response = RandomUserApiClient.getUsers();
-
-        ResponseValidator.validateStatusCode(response, 200);
-
-        UserResponse apiResponse = response.as(UserResponse.class);
-        com.randomuser.models.User user = apiResponse.getResults().get(0);
-
+    @Test(priority = 20, dataProvider = "fixtureUsers", dataProviderClass = UserDataProviders.class)
+    @UserFixture(count = 3)
+    public void testDobAndRegisteredDates(User user) {
         Assert.assertNotNull(user.getDob().getDate(), "Date of birth should not be null");
         Assert.assertTrue(user.getDob().getAge() > 0, "Age should be positive");
 
         Assert.assertNotNull(user.getRegistered().getDate(), "Registration date should not be null");
         Assert.assertTrue(user.getRegistered().getAge() >= 0, "Registration age should be non-negative");
     }
-}
\ No newline at end of file
+
+    @Test(priority = 21)
+    public void testFieldProjection() {
+        UserQuery query = UserQuery.of(5, null, null, null).withInclude("gender", "email", "nat");
+        Response response = client.getUsers(query);
+
+        ResponseValidator.validateStatusCode(response, 200);
+
+        UserResponse apiResponse = UserProjection.forQuery(query).readResponse(response);
+        ResponseValidator.validateResponseSchema(apiResponse);
+        apiResponse.getResults().forEach(user -> {
+            Assert.assertNotNull(user.getEmail(), "Email should be included");
+            Assert.assertNotNull(user.getNat(), "Nationality should be included");
+            Assert.assertNull(user.getLogin(), "Login should not be included");
+            Assert.assertNull(user.getLocation(), "Location should not be included");
+        });
+    }
+
+    @Test(priority = 22)
+    public void testPictureUrlsResolve() {
+        UserQuery query = UserQuery.of(100, null, null, "pictures");
+        Response response = client.getUsers(query);
+        ResponseValidator.validateStatusCode(response, 200);
+        List<User> users = response.as(UserResponse.class).getResults();
+
+        try (PictureVerifier verifier = PictureVerifier.fromConfig()) {
+            PictureVerifier.Report report = verifier.verifyAll(users);
+            Assert.assertEquals(report.pictureUrls(), users.size() * 3L, verifier.toString());
+            Assert.assertTrue(report.failures().isEmpty(), report.failures().size() + " of " + report.uniqueUrls()
+                    + " pictures did not resolve, e.g. " + report.failures().subList(0, Math.min(5, report.failures().size()))
+                    + "; " + verifier);
+        }
+    }
+
+    @Test(priority = 23)
+    public void testLoginHashesMatchSaltedPassword() {
+        Response response = client.getUsersWithParams(1000, null, null, "hashes");
+        ResponseValidator.validateStatusCode(response, 200);
+
+        ValidationReport report = LoginHashVerifier.defaults().verify(response.as(UserResponse.class).getResults());
+        Assert.assertTrue(report.isValid(), report.toString());
+    }
+}
@@ -0,0 +1,125 @@
+package com.randomuser.tests;
+
+import com.randomuser.sharding.ShardMerger;
+import com.randomuser.sharding.ShardPlan;
+import com.randomuser.sharding.TestTimings;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class ShardingTests {
+    private static final int SHARDS = 4;
+
+    @Test
+    public void testEveryMethodRunsOnExactlyOneShard() {
+        List<String> methods = new ArrayList<>();
+        TestTimings timings = new TestTimings();
+        Random random = new Random(20);
+        long longest = 0;
+        for (int i = 0; i < 50; i++) {
+            String method = "com.example.Tests.test" + i;
+            methods.add(method);
+            // A few methods have never been timed
+            if (i % 10 != 0) {
+                long ms = 10 + random.nextInt(5000);
+                timings.record(method, ms);
+                longest = Math.max(longest, ms);
+            }
+        }
+
+        List<ShardPlan> plans = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            plans.add(ShardPlan.of(shard, SHARDS, methods, List.of(), timings));
+        }
+        for (String method : methods) {
+            Assert.assertEquals(plans.stream().filter(plan -> plan.includes(method)).count(), 1L, method);
+        }
+        // Unknown methods still land on exactly one shard
+        Assert.assertEquals(plans.stream().filter(plan -> plan.includes("com.example.Other.test")).count(), 1L);
+
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (int shard = 0; shard < SHARDS; shard++) {
+            Assert.assertEquals(plans.get(0).getExpectedMs(shard), plans.get(SHARDS - 1).getExpectedMs(shard));
+            min = Math.min(min, plans.get(0).getExpectedMs(shard));
+            max = Math.max(max, plans.get(0).getExpectedMs(shard));
+        }
+        Assert.assertTrue(max - min <= longest, "Shards should be balanced: " + min + ".." + max + " ms");
+    }
+
+    @Test
+    public void testDataProviderRowsAreDealtAcrossShards() {
+        String split = "com.example.Tests.testRows";
+        List<String> methods = List.of(split, "com.example.Tests.testPlain");
+        int[] rowsPerShard = new int[SHARDS];
+        for (int row = 0; row < 100; row++) {
+            int owners = 0;
+            for (int shard = 0; shard < SHARDS; shard++) {
+                ShardPlan plan = ShardPlan.of(shard, SHARDS, methods, List.of(split), new TestTimings());
+                Assert.assertTrue(plan.includes(split));
+                if (plan.includesRow(split, row)) {
+                    owners++;
+                    rowsPerShard[shard]++;
+                }
+            }
+            Assert.assertEquals(owners, 1, "row " + row);
+        }
+        for (int rows : rowsPerShard) {
+            Assert.assertEquals(rows, 100 / SHARDS);
+        }
+        Assert.assertTrue(ShardPlan.none().includesRow(split, 7));
+    }
+
+    @Test
+    public void testMergerCombinesResultsAndTimings() throws IOException {
+        Path root = Files.createTempDirectory("shards");
+        Path first = root.resolve("shard-0");
+        Path second = root.resolve("shard-1");
+        writeShard(first, "testA", "PASS", 120);
+        writeShard(second, "testB", "FAIL", 80);
+
+        String summary = new ShardMerger(List.of(first, second)).mergeInto(root);
+
+        Assert.assertTrue(summary.contains("2 tests, 1 passed, 1 failed"), summary);
+        Document merged = ShardMerger.mergeResults(List.of(root.resolve(ShardMerger.RESULTS_FILE)));
+        Assert.assertEquals(merged.getElementsByTagName("suite").getLength(), 1);
+        Assert.assertEquals(merged.getElementsByTagName("class").getLength(), 1);
+        Assert.assertEquals(merged.getElementsByTagName("test-method").getLength(), 2);
+        Element suite = (Element) merged.getElementsByTagName("suite").item(0);
+        Assert.assertEquals(suite.getAttribute("duration-ms"), "120");
+
+        TestTimings timings = TestTimings.read(root.resolve(ShardMerger.TIMINGS_FILE));
+        Assert.assertEquals(timings.get("com.example.Tests.testA"), 120);
+        Assert.assertEquals(timings.get("com.example.Tests.testB"), 80);
+        Assert.assertEquals(timings.get("com.example.Tests.shared"), 200);
+    }
+
+    private static void writeShard(Path dir, String method, String status, int ms) throws IOException {
+        Files.createDirectories(dir.resolve("surefire-reports"));
+        boolean passed = status.equals("PASS");
+        Files.writeString(dir.resolve("surefire-reports").resolve(ShardMerger.RESULTS_FILE), String.format(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>%n"
+                        + "<testng-results ignored=\"0\" total=\"1\" passed=\"%d\" failed=\"%d\" skipped=\"0\">%n"
+                        + "  <suite name=\"Suite\" started-at=\"2024-01-01T00:00:00 UTC\" finished-at=\"2024-01-01T00:00:01 UTC\" duration-ms=\"%d\">%n"
+                        + "    <test name=\"Tests\" started-at=\"2024-01-01T00:00:00 UTC\" finished-at=\"2024-01-01T00:00:01 UTC\" duration-ms=\"%d\">%n"
+                        + "      <class name=\"com.example.Tests\">%n"
+                        + "        <test-method name=\"%s\" status=\"%s\" duration-ms=\"%d\"/>%n"
+                        + "      </class>%n"
+                        + "    </test>%n"
+                        + "  </suite>%n"
+                        + "</testng-results>%n",
+                passed ? 1 : 0, passed ? 0 : 1, ms, ms, method, status, ms));
+        TestTimings timings = new TestTimings();
+        timings.record("com.example.Tests." + method, ms);
+        timings.record("com.example.Tests.shared", 100);
+        timings.write(dir.resolve(ShardMerger.TIMINGS_FILE));
+    }
+}
@@ -0,0 +1,132 @@
+package com.randomuser.tests;
+
+import com.randomuser.models.UserResponse;
+import com.randomuser.stub.StubBehavior;
+import com.randomuser.stub.StubServer;
+import com.randomuser.utils.UserProjection;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static io.restassured.RestAssured.given;
+
+public class StubServerTests {
+
+    @Test
+    public void testSeededResponsesAreDeterministic() throws IOException {
+        try (StubServer server = startServer(new StubBehavior())) {
+            UserResponse first = get(server, "results=3&page=2&seed=abc").as(UserResponse.class);
+            UserResponse second = get(server, "results=3&page=2&seed=abc").as(UserResponse.class);
+
+            Assert.assertEquals(first.getInfo().getSeed(), "abc");
+            Assert.assertEquals(first.getInfo().getPage(), 2);
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals(first.getResults().get(i).getLogin().getUuid(),
+                        second.getResults().get(i).getLogin().getUuid(), "Same seed and page should give same users");
+            }
+        }
+    }
+
+    @Test
+    public void testFiltersAndLimits() throws IOException {
+        try (StubServer server = startServer(new StubBehavior())) {
+            UserResponse response = get(server, "results=9999&gender=female&nat=fr").as(UserResponse.class);
+
+            Assert.assertEquals(response.getResults().size(), StubServer.MAX_RESULTS);
+            response.getResults().forEach(user -> {
+                Assert.assertEquals(user.getGender(), "female");
+                Assert.assertEquals(user.getNat(), "FR");
+            });
+        }
+    }
+
+    @Test
+    public void testInjectedRateLimitError() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setRateLimitErrorRate(1.0);
+        behavior.setRetryAfterSeconds(2);
+
+        try (StubServer server = startServer(behavior)) {
+            Response response = get(server, "results=1");
+
+            Assert.assertEquals(response.getStatusCode(), 429);
+            Assert.assertEquals(response.getHeader("Retry-After"), "2");
+            Assert.assertEquals(server.getInjectedErrorCount(), 1);
+        }
+    }
+
+    @Test
+    public void testInjectedServerError() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setServerErrorRate(1.0);
+        behavior.setServerErrorStatus(500);
+
+        try (StubServer server = startServer(behavior)) {
+            Assert.assertEquals(get(server, "results=1").getStatusCode(), 500);
+        }
+    }
+
+    @Test
+    public void testLatencyInjection() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setLatencyMs(200);
+
+        try (StubServer server = startServer(behavior)) {
+            long start = System.nanoTime();
+            get(server, "results=1");
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            Assert.assertTrue(elapsedMs >= 200, "Latency should be injected, took " + elapsedMs + " ms");
+        }
+    }
+
+    @Test
+    public void testBandwidthThrottling() throws IOException {
+        StubBehavior behavior = new StubBehavior();
+        behavior.setBandwidthBytesPerSecond(100_000);
+
+        try (StubServer server = startServer(behavior)) {
+            long start = System.nanoTime();
+            byte[] body = get(server, "results=100").asByteArray();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            long expectedMs = body.length * 1000L / 100_000;
+            Assert.assertTrue(elapsedMs >= expectedMs * 0.8, "Body should be throttled, took " + elapsedMs + " ms");
+        }
+    }
+
+    private static StubServer startServer(StubBehavior behavior) throws IOException {
+        return new StubServer(0, 4, behavior).start();
+    }
+
+    private static Response get(StubServer server, String query) {
+        return given()
+                .baseUri(server.getBaseUrl())
+                .when()
+                .get("/?" + query)
+                .then()
+                .extract()
+                .response();
+    }
+
+    @Test
+    public void testFieldProjectionIsSkippedAtParserLevel() throws IOException {
+        try (StubServer server = startServer(new StubBehavior())) {
+            byte[] full = get(server, "results=20&seed=proj").asByteArray();
+            byte[] projected = get(server, "results=20&seed=proj&exc=login,location,picture,id").asByteArray();
+            Assert.assertTrue(projected.length < full.length / 2, "Excluded fields should not be sent");
+
+            // Binding the full payload with a projection must skip the same subtrees client-side
+            UserProjection projection = UserProjection.of("email,nat", null);
+            UserResponse response = projection.readResponse(new ByteArrayInputStream(full));
+            Assert.assertEquals(response.getResults().size(), 20);
+            response.getResults().forEach(user -> {
+                Assert.assertNotNull(user.getEmail());
+                Assert.assertNull(user.getLogin());
+                Assert.assertNull(user.getName());
+            });
+            Assert.assertEquals(response.getInfo().getSeed(), "proj");
+        }
+    }
+}
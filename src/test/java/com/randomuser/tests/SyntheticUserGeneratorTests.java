@@ -0,0 +1,90 @@
+package com.randomuser.tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.randomuser.models.Login;
+import com.randomuser.models.User;
+import com.randomuser.models.UserResponse;
+import com.randomuser.stub.SyntheticUserGenerator;
+import com.randomuser.utils.UserStream;
+import com.randomuser.validation.UserValidator;
+import com.randomuser.validation.ValidationReport;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SyntheticUserGeneratorTests {
+    private static final int USERS = 5000;
+
+    private final SyntheticUserGenerator generator = new SyntheticUserGenerator("synthetic");
+
+    @Test
+    public void testSameSeedAndPageGiveSameOutput() {
+        SyntheticUserGenerator other = new SyntheticUserGenerator("synthetic");
+
+        Assert.assertEquals(other.pageJson(3, 100), generator.pageJson(3, 100));
+        Assert.assertEquals(generator.pageJson(3, 100), generator.pageJson(3, 100));
+        Assert.assertNotEquals(generator.pageJson(4, 100), generator.pageJson(3, 100));
+        Assert.assertNotEquals(new SyntheticUserGenerator("other").pageJson(3, 100), generator.pageJson(3, 100));
+        // A user depends only on its own position, not on how many were generated around it
+        Assert.assertEquals(tree(generator.users(3, 10).get(7)), tree(generator.user(3, 7)));
+    }
+
+    @Test
+    public void testJsonMatchesUserObjects() throws IOException {
+        byte[] json = generator.pageJson(2, USERS);
+        UserResponse response = UserStream.mapper().readValue(json, UserResponse.class);
+        List<User> users = generator.users(2, USERS);
+
+        Assert.assertEquals(response.getResults().size(), USERS);
+        Assert.assertEquals(response.getInfo().getSeed(), "synthetic");
+        Assert.assertEquals(response.getInfo().getPage(), 2);
+        Assert.assertEquals(response.getInfo().getResults(), USERS);
+        for (int i = 0; i < USERS; i++) {
+            Assert.assertEquals(tree(response.getResults().get(i)), tree(users.get(i)), "user " + i);
+        }
+    }
+
+    @Test
+    public void testGeneratedUsersAreSchemaValid() throws Exception {
+        List<User> users = generator.users(1, USERS);
+
+        ValidationReport report = UserValidator.strict().validate(users);
+        Assert.assertTrue(report.isValid(), report.toString());
+
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        for (User user : users) {
+            Login login = user.getLogin();
+            String hash = HexFormat.of().formatHex(
+                    sha256.digest((login.getPassword() + login.getSalt()).getBytes(StandardCharsets.UTF_8)));
+            Assert.assertEquals(login.getSha256(), hash);
+            Assert.assertEquals(login.getUuid().charAt(14), '4');
+            Assert.assertTrue(Instant.parse(user.getRegistered().getDate()).isAfter(Instant.parse(user.getDob().getDate())));
+            Assert.assertTrue(Math.abs(Double.parseDouble(user.getLocation().getCoordinates().getLatitude())) <= 90);
+            Assert.assertEquals(user.getId().getValue() == null, user.getId().getName().isEmpty());
+        }
+    }
+
+    @Test
+    public void testParallelGenerationMatchesSequential() {
+        int total = 20_000;
+        List<String> sequential = generator.stream(total, 500).map(SyntheticUserGeneratorTests::tree)
+                .collect(Collectors.toList());
+        List<String> parallel = generator.stream(total, 500).parallel().map(SyntheticUserGeneratorTests::tree)
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(parallel, sequential);
+        Assert.assertEquals(sequential.stream().distinct().count(), total);
+    }
+
+    private static String tree(User user) {
+        ObjectMapper mapper = UserStream.mapper();
+        return mapper.valueToTree(user).toString();
+    }
+}
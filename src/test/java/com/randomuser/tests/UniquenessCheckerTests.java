@@ -0,0 +1,136 @@
+package com.randomuser.tests;
+
+import com.randomuser.api.BulkUserFetcher;
+import com.randomuser.api.HttpUserApiClient;
+import com.randomuser.api.ResiliencePolicy;
+import com.randomuser.models.User;
+import com.randomuser.stub.StubBehavior;
+import com.randomuser.stub.StubServer;
+import com.randomuser.stub.SyntheticUserGenerator;
+import com.randomuser.validation.UniquenessChecker;
+import com.randomuser.validation.UniquenessChecker.Duplicate;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+public class UniquenessCheckerTests {
+    private static final int PAGE_SIZE = 5000;
+
+    @Test
+    public void testDuplicatesMatchAHashMapWithTheirFirstPage() {
+        SyntheticUserGenerator generator = new SyntheticUserGenerator("unique");
+        for (boolean offHeap : new boolean[]{false, true}) {
+            // Sized well below the data so every segment has to grow
+            UniquenessChecker checker = new UniquenessChecker(1000, offHeap, 8, Integer.MAX_VALUE);
+            Map<String, Map<String, Integer>> firstPages = new HashMap<>();
+            Map<String, Long> expected = new HashMap<>();
+            for (int page = 1; page <= 10; page++) {
+                List<User> users = generator.users(page, PAGE_SIZE);
+                checker.addAll(page, users);
+                for (User user : users) {
+                    track(firstPages, expected, UniquenessChecker.UUID, user.getLogin().getUuid(), page);
+                    track(firstPages, expected, UniquenessChecker.USERNAME, user.getLogin().getUsername(), page);
+                    track(firstPages, expected, UniquenessChecker.EMAIL, user.getEmail(), page);
+                }
+            }
+
+            Assert.assertEquals(checker.isOffHeap(), offHeap);
+            Assert.assertEquals(checker.countByField(), Map.of(UniquenessChecker.UUID, 0L,
+                    UniquenessChecker.USERNAME, expected.getOrDefault(UniquenessChecker.USERNAME, 0L),
+                    UniquenessChecker.EMAIL, expected.getOrDefault(UniquenessChecker.EMAIL, 0L)),
+                    checker.toString().lines().findFirst().orElse(""));
+            Assert.assertTrue(checker.getDuplicateCount() > 0, "Synthetic names repeat across 50,000 users");
+            for (Duplicate duplicate : checker.getDuplicates()) {
+                Assert.assertEquals(duplicate.firstPage(), (int) firstPages.get(duplicate.field()).get(duplicate.value()),
+                        duplicate.toString());
+                Assert.assertTrue(duplicate.firstPage() <= duplicate.page(), duplicate.toString());
+            }
+            Assert.assertEquals(checker.size(UniquenessChecker.UUID), 10L * PAGE_SIZE);
+            Assert.assertTrue(checker.getBloomNegatives(UniquenessChecker.UUID) > 0);
+        }
+    }
+
+    @Test
+    public void testConcurrentInsertsReportEveryRepeat() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        List<User> users = new SyntheticUserGenerator("concurrent").users(1, perThread);
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).getLogin().setUsername("user" + i);
+            users.get(i).setEmail("user" + i + "@example.com");
+        }
+        UniquenessChecker checker = new UniquenessChecker(1000, true, 8, 10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> inserts = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int page = t + 1;
+                inserts.add(executor.submit(() -> checker.addAll(page, users)));
+            }
+            for (Future<?> insert : inserts) {
+                insert.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long repeats = (long) (threads - 1) * perThread;
+        Assert.assertEquals(checker.countByField(), Map.of(UniquenessChecker.UUID, repeats,
+                UniquenessChecker.USERNAME, repeats, UniquenessChecker.EMAIL, repeats), checker.toString());
+        Assert.assertEquals(checker.size(UniquenessChecker.EMAIL), perThread);
+        Assert.assertEquals(checker.getDuplicates().size(), 10);
+    }
+
+    @Test
+    public void testPagesFromParallelFetchersAreCheckedAcrossTheRun() throws IOException {
+        UniquenessChecker checker = new UniquenessChecker(20_000, true, 8, 100);
+        try (StubServer server = new StubServer(0, 8, new StubBehavior()).start();
+             HttpUserApiClient client = new HttpUserApiClient(server.getBaseUrl(), null,
+                     ResiliencePolicy.fromConfig())) {
+            BulkUserFetcher fetcher = new BulkUserFetcher(client, "across-pages", 1000, 4)
+                    .onPage(checker::addAll);
+            try (Stream<User> users = fetcher.stream(20_000, false)) {
+                Assert.assertEquals(users.count(), 20_000);
+            }
+        }
+
+        Assert.assertEquals(checker.countByField().get(UniquenessChecker.UUID), 0L, checker.toString());
+        Assert.assertEquals(checker.size(UniquenessChecker.UUID), 20_000, checker.toString());
+        for (Duplicate duplicate : checker.getDuplicates()) {
+            Assert.assertTrue(duplicate.page() >= 1 && duplicate.page() <= 20 && duplicate.firstPage() >= 1,
+                    duplicate.toString());
+        }
+    }
+
+    @Test
+    public void testNonCanonicalUuidsAreStillTracked() {
+        UniquenessChecker checker = new UniquenessChecker(100, false, 0, 10);
+        User first = new SyntheticUserGenerator("odd").user(1, 0);
+        first.getLogin().setUuid("not-a-uuid");
+        checker.add(1, first);
+        checker.add(2, first);
+
+        Duplicate duplicate = checker.getDuplicates().stream()
+                .filter(d -> d.field().equals(UniquenessChecker.UUID)).findFirst().orElseThrow();
+        Assert.assertEquals(duplicate, new Duplicate(UniquenessChecker.UUID, "not-a-uuid", 1, 2));
+        Assert.assertEquals(checker.getBloomNegatives(UniquenessChecker.UUID), 0);
+    }
+
+    private static void track(Map<String, Map<String, Integer>> firstPages, Map<String, Long> duplicates,
+                              String field, String value, int page) {
+        Map<String, Integer> pages = firstPages.computeIfAbsent(field, f -> new HashMap<>());
+        if (pages.putIfAbsent(value, page) != null) {
+            duplicates.merge(field, 1L, Long::sum);
+        }
+    }
+}
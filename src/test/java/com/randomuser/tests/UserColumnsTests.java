@@ -0,0 +1,84 @@
+package com.randomuser.tests;
+
+import com.randomuser.models.User;
+import com.randomuser.models.UserColumns;
+import com.randomuser.models.UserColumns.Column;
+import com.randomuser.models.UserResponse;
+import com.randomuser.stub.StubServer;
+import com.randomuser.utils.UserStream;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+
+public class UserColumnsTests {
+    private static final int USERS = 5000;
+
+    private byte[] payload;
+
+    @BeforeClass
+    public void createPayload() throws IOException {
+        UserResponse response = StubServer.buildResponse(Map.of("results", String.valueOf(USERS), "seed", "columns"));
+        payload = StubServer.serialize(response, null, null);
+    }
+
+    @Test
+    public void testColumnsLoadedFromStreamMatchPojos() throws IOException {
+        UserResponse pojos = UserStream.mapper().readValue(payload, UserResponse.class);
+        UserColumns streamed = new UserColumns().load(new ByteArrayInputStream(payload));
+        UserColumns bound = UserColumns.of(pojos.getResults());
+
+        Assert.assertEquals(streamed.size(), USERS);
+        for (int i = 0; i < USERS; i += 97) {
+            User user = pojos.getResults().get(i);
+            Assert.assertEquals(streamed.get(Column.GENDER, i), user.getGender());
+            Assert.assertEquals(streamed.get(Column.NAT, i), user.getNat());
+            Assert.assertEquals(streamed.get(Column.STATE, i), user.getLocation().getState());
+            Assert.assertEquals(streamed.getAge(i), user.getDob().getAge());
+            Assert.assertEquals(streamed.getStreetNumber(i), user.getLocation().getStreet().getNumber());
+            Assert.assertEquals(streamed.getLongitude(i), bound.getLongitude(i));
+        }
+        Assert.assertEquals(streamed.countBy(Column.COUNTRY), bound.countBy(Column.COUNTRY));
+    }
+
+    @Test
+    public void testColumnAggregatesMatchStreams() throws IOException {
+        UserResponse pojos = UserStream.mapper().readValue(payload, UserResponse.class);
+        UserColumns columns = new UserColumns().load(new ByteArrayInputStream(payload));
+
+        Map<String, Long> byNat = pojos.getResults().stream()
+                .collect(Collectors.groupingBy(User::getNat, Collectors.counting()));
+        Assert.assertEquals(columns.distinctCount(Column.NAT), byNat.size());
+        byNat.forEach((nat, count) -> Assert.assertEquals(columns.count(Column.NAT, nat), count.intValue()));
+
+        int minAge = pojos.getResults().stream().mapToInt(u -> u.getDob().getAge()).min().getAsInt();
+        int maxAge = pojos.getResults().stream().mapToInt(u -> u.getDob().getAge()).max().getAsInt();
+        Assert.assertEquals(columns.minAge(), OptionalInt.of(minAge));
+        Assert.assertEquals(columns.maxAge(), OptionalInt.of(maxAge));
+
+        BitSet adults = columns.filterAge(30, 50);
+        Map<String, Long> expected = pojos.getResults().stream()
+                .filter(u -> u.getDob().getAge() >= 30 && u.getDob().getAge() <= 50)
+                .collect(Collectors.groupingBy(User::getGender, Collectors.counting()));
+        Map<String, Integer> actual = columns.countBy(Column.GENDER, adults);
+        Assert.assertEquals(actual.keySet(), expected.keySet());
+        expected.forEach((gender, count) -> Assert.assertEquals(actual.get(gender).intValue(), count.intValue()));
+        Assert.assertEquals(columns.filterEquals(Column.NAT, "ZZ").cardinality(), 0);
+    }
+
+    @Test
+    public void testEmptyColumnsHaveNoAgeRange() {
+        UserColumns columns = new UserColumns();
+
+        Assert.assertEquals(columns.minAge(), OptionalInt.empty());
+        Assert.assertEquals(columns.maxAge(), OptionalInt.empty());
+        Assert.assertTrue(Double.isNaN(columns.averageAge()));
+        Assert.assertEquals(columns.distinctCount(Column.NAT), 0);
+    }
+}
@@ -0,0 +1,85 @@
+package com.randomuser.tests;
+
+import com.randomuser.models.User;
+import com.randomuser.models.UserResponse;
+import com.randomuser.stub.StubServer;
+import com.randomuser.validation.UserValidator;
+import com.randomuser.validation.ValidationReport;
+import com.randomuser.validation.Violation;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class UserValidatorTests {
+    private static final int USERS = 5000;
+
+    @Test
+    public void testGeneratedUsersPassStrictRules() {
+        List<User> users = StubServer.buildResponse(Map.of("results", String.valueOf(USERS), "seed", "rules")).getResults();
+
+        // First pass warms up the rules; the second is the one we time
+        UserValidator.strict().validate(users);
+        ValidationReport report = UserValidator.strict().validate(users);
+
+        Assert.assertTrue(report.isValid(), report.toString());
+        Assert.assertEquals(report.getUsersChecked(), USERS);
+        Assert.assertTrue(report.getElapsedMs() < 1000, "5000 users should validate in milliseconds: " + report);
+    }
+
+    @Test
+    public void testAllViolationsAreReportedInOrder() {
+        UserResponse response = StubServer.buildResponse(Map.of("results", String.valueOf(USERS), "seed", "broken"));
+        List<User> users = response.getResults();
+        users.get(3).setEmail("not-an-email");
+        users.get(3).setGender("unknown");
+        users.get(1200).getName().setFirst(null);
+        users.get(4999).getDob().setAge(200);
+        users.get(4999).getRegistered().setAge(300);
+
+        ValidationReport report = UserValidator.strict().validate(users);
+
+        List<Violation> violations = report.getViolations();
+        Assert.assertEquals(violations.size(), 5, report.toString());
+        Assert.assertEquals(report.invalidUsers(), 3);
+        Assert.assertEquals(violations.get(0), new Violation(3, "gender", "one of [female, male]", "unknown"));
+        Assert.assertEquals(violations.get(1).field(), "email");
+        Assert.assertEquals(violations.get(1).value(), "not-an-email");
+        Assert.assertEquals(violations.get(2), new Violation(1200, "name.first", "not null", null));
+        Assert.assertEquals(violations.get(3).index(), 4999);
+        Assert.assertEquals(violations.get(3).value(), 200);
+        Assert.assertEquals(violations.get(4).rule(), "not older than dob.age");
+    }
+
+    @Test
+    public void testDefaultRulesOnlyRequireTheBaselineFields() {
+        User user = StubServer.buildResponse(Map.of("results", "1", "seed", "lenient")).getResults().get(0);
+        user.setNat("es");
+        user.getPicture().setLarge("http://example.com/1.jpg");
+        user.getRegistered().setAge(user.getDob().getAge() + 1);
+
+        Assert.assertTrue(UserValidator.defaults().validate(user).isValid());
+        Assert.assertEquals(UserValidator.strict().validate(user).getViolations().size(), 3);
+
+        user.setEmail("no-at-sign");
+        user.setLocation(null);
+        Assert.assertEquals(UserValidator.defaults().validate(user).countByRule().keySet(),
+                Set.of("email [contains @]", "location [not null]"));
+    }
+
+    @Test
+    public void testCustomRuleSet() {
+        User user = StubServer.buildResponse(Map.of("results", "1", "seed", "custom")).getResults().get(0);
+        UserValidator validator = UserValidator.builder()
+                .range("dob.age", u -> u.getDob().getAge(), 200, 300)
+                .oneOf("nat", User::getNat, "XX")
+                .build();
+
+        ValidationReport report = validator.validate(user);
+
+        Assert.assertEquals(report.getViolations().size(), 2);
+        Assert.assertEquals(report.countByRule().keySet().size(), 2);
+    }
+}
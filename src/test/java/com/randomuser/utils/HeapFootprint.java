@@ -0,0 +1,45 @@
+package com.randomuser.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.function.Supplier;
+
+/**
+ * Rough retained-heap measurement: used heap after a forced GC, with and without the measured object
+ * graph reachable. Good enough to compare representations over thousands of elements.
+ */
+public final class HeapFootprint {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private HeapFootprint() {
+    }
+
+    public static long retainedBytes(Supplier<Object> factory) {
+        long before = usedAfterGc();
+        Object retained = factory.get();
+        long after = usedAfterGc();
+        Reference.reachabilityFence(retained);
+        return Math.max(0, after - before);
+    }
+
+    // Collects until the reading holds steady: cleaners of earlier tests drop their references only after the GC
+    // that found them, so that memory is freed a collection or two later and must not be credited to the graph
+    private static long usedAfterGc() {
+        long used = Long.MAX_VALUE;
+        int steady = 0;
+        for (int i = 0; i < 20 && steady < 3; i++) {
+            System.gc();
+            long current = MEMORY.getHeapMemoryUsage().getUsed();
+            steady = current >= used - used / 200 ? steady + 1 : 0;
+            used = Math.min(used, current);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return used;
+    }
+}
@@ -1,9 +1,15 @@
 package com.randomuser.utils;
 
+import com.randomuser.load.LoadReport;
+import com.randomuser.models.User;
 import com.randomuser.models.UserResponse;
+import com.randomuser.validation.UserValidator;
+import com.randomuser.validation.ValidationReport;
 import io.restassured.response.Response;
 import org.testng.Assert;
 
+import java.util.List;
+
 public class ResponseValidator {
 
     public static void validateStatusCode(Response response, int expectedStatusCode) {
@@ -18,13 +24,33 @@ public class ResponseValidator {
         Assert.assertTrue(apiResponse.getResults().size() > 0, "Results should contain users");
     }
 
-    public static void validateUserData(com.randomuser.models.User user) {
-        Assert.assertNotNull(user.getGender(), "Gender should not be null");
-        Assert.assertNotNull(user.getName(), "Name should not be null");
-        Assert.assertNotNull(user.getEmail(), "Email should not be null");
-        Assert.assertNotNull(user.getLocation(), "Location should not be null");
+    public static void validateUserData(User user) {
+        validateReport(UserValidator.defaults().validate(user));
+    }
+
+    // Applies the default rule set to every user and reports all violations at once
+    public static ValidationReport validateUsers(List<User> users) {
+        return validateReport(UserValidator.defaults().validate(users));
+    }
+
+    public static ValidationReport validateReport(ValidationReport report) {
+        Assert.assertTrue(report.isValid(), "User data should pass validation: " + report);
+        return report;
+    }
+
+    public static void validateLatencySla(LoadReport report, double percentile, double maxLatencyMs) {
+        Assert.assertTrue(report.getRequests() > 0, "Load run should record requests: " + report);
+        Assert.assertTrue(report.getPercentileMs(percentile) <= maxLatencyMs,
+                "p" + percentile + " latency should be at most " + maxLatencyMs + " ms: " + report);
+    }
+
+    public static void validateErrorRate(LoadReport report, double maxErrorRate) {
+        Assert.assertTrue(report.getErrorRate() <= maxErrorRate,
+                "Error rate should be at most " + maxErrorRate + ": " + report);
+    }
 
-        // Validate email format
-        Assert.assertTrue(user.getEmail().contains("@"), "Email should contain @");
+    public static void validateThroughput(LoadReport report, double minRps) {
+        Assert.assertTrue(report.getThroughputRps() >= minRps,
+                "Throughput should be at least " + minRps + " rps: " + report);
     }
-}
\ No newline at end of file
+}
@@ -20,11 +20,40 @@ public class TestConfig {
         }
     }
 
+    // System properties (-Dkey=value) take precedence over test-config.properties
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value != null && !value.isEmpty()) {
+            return value;
+        }
+        return properties.getProperty(key, defaultValue);
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        return Integer.parseInt(get(key, String.valueOf(defaultValue)).trim());
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        return Long.parseLong(get(key, String.valueOf(defaultValue)).trim());
+    }
+
+    public static double getDouble(String key, double defaultValue) {
+        return Double.parseDouble(get(key, String.valueOf(defaultValue)).trim());
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(get(key, String.valueOf(defaultValue)).trim());
+    }
+
     public static String getBaseUrl() {
-        return properties.getProperty("api.base.url", "https://randomuser.me/api");
+        return get("api.base.url", "https://randomuser.me/api");
     }
 
     public static int getTimeout() {
-        return Integer.parseInt(properties.getProperty("api.timeout", "5000"));
+        return getInt("api.timeout", 5000);
+    }
+
+    public static boolean isStubEnabled() {
+        return getBoolean("stub.enabled", false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,155 @@
+package com.randomuser.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.randomuser.api.UserQuery;
+import com.randomuser.models.Dob;
+import com.randomuser.models.Id;
+import com.randomuser.models.Location;
+import com.randomuser.models.Login;
+import com.randomuser.models.Name;
+import com.randomuser.models.Picture;
+import com.randomuser.models.Registered;
+import com.randomuser.models.User;
+import com.randomuser.models.UserResponse;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The set of {@link User} fields selected by the API's {@code inc}/{@code exc} parameters. Readers built
+ * from a projection skip unselected subtrees at parser level instead of binding them, which also
+ * protects against servers that ignore the parameters.
+ */
+public final class UserProjection {
+    public static final List<String> USER_FIELDS = List.of("gender", "name", "location", "email", "login",
+            "registered", "dob", "phone", "cell", "id", "picture", "nat");
+
+    public static final UserProjection ALL = new UserProjection(new LinkedHashSet<>(USER_FIELDS));
+
+    private static final Map<Set<String>, ObjectMapper> MAPPERS = new ConcurrentHashMap<>();
+
+    private final Set<String> fields;
+
+    private UserProjection(Set<String> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    public static UserProjection of(String inc, String exc) {
+        Set<String> selected = new LinkedHashSet<>(inc == null || inc.isEmpty() ? USER_FIELDS : parse(inc));
+        if (exc != null && !exc.isEmpty()) {
+            selected.removeAll(parse(exc));
+        }
+        selected.retainAll(USER_FIELDS);
+        return new UserProjection(selected);
+    }
+
+    public static UserProjection forQuery(UserQuery query) {
+        return of(query.getInc(), query.getExc());
+    }
+
+    // Normalized, sorted comma list as sent to the API
+    public static String normalize(String fields) {
+        return String.join(",", new TreeSet<>(parse(fields)));
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    public boolean isAll() {
+        return fields.size() == USER_FIELDS.size();
+    }
+
+    public ObjectReader userReader() {
+        return mapper().readerFor(User.class);
+    }
+
+    public UserStream stream(Response response) {
+        return new UserStream(response.asInputStream(), userReader());
+    }
+
+    public UserResponse readResponse(InputStream input) {
+        try {
+            return mapper().readValue(input, UserResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public UserResponse readResponse(Response response) {
+        return readResponse(response.asInputStream());
+    }
+
+    private ObjectMapper mapper() {
+        if (isAll()) {
+            return UserStream.mapper();
+        }
+        return MAPPERS.computeIfAbsent(fields, selected -> UserStream.mapper().copy()
+                .registerModule(new SimpleModule("user-projection")
+                        .addDeserializer(User.class, new ProjectingUserDeserializer(selected))));
+    }
+
+    private static List<String> parse(String fields) {
+        return Arrays.asList(fields.toLowerCase(Locale.ROOT).replace(" ", "").split(","));
+    }
+
+    @Override
+    public String toString() {
+        return "UserProjection" + fields;
+    }
+
+    private static final class ProjectingUserDeserializer extends JsonDeserializer<User> {
+        private final Set<String> fields;
+
+        private ProjectingUserDeserializer(Set<String> fields) {
+            this.fields = fields;
+        }
+
+        @Override
+        public User deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            User user = new User();
+            JsonToken token = p.currentToken() == JsonToken.START_OBJECT ? p.nextToken() : p.currentToken();
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String field = p.getCurrentName();
+                JsonToken value = p.nextToken();
+                if (!fields.contains(field) || value == JsonToken.VALUE_NULL) {
+                    p.skipChildren();
+                    continue;
+                }
+                switch (field) {
+                    case "gender": user.setGender(p.getValueAsString()); break;
+                    case "name": user.setName(ctxt.readValue(p, Name.class)); break;
+                    case "location": user.setLocation(ctxt.readValue(p, Location.class)); break;
+                    case "email": user.setEmail(p.getValueAsString()); break;
+                    case "login": user.setLogin(ctxt.readValue(p, Login.class)); break;
+                    case "registered": user.setRegistered(ctxt.readValue(p, Registered.class)); break;
+                    case "dob": user.setDob(ctxt.readValue(p, Dob.class)); break;
+                    case "phone": user.setPhone(p.getValueAsString()); break;
+                    case "cell": user.setCell(p.getValueAsString()); break;
+                    case "id": user.setId(ctxt.readValue(p, Id.class)); break;
+                    case "picture": user.setPicture(ctxt.readValue(p, Picture.class)); break;
+                    case "nat": user.setNat(p.getValueAsString()); break;
+                    default: p.skipChildren();
+                }
+            }
+            return user;
+        }
+    }
+}
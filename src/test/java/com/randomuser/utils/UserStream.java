@@ -0,0 +1,159 @@
+package com.randomuser.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.randomuser.models.User;
+import com.randomuser.models.UserResponse;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks the {@code results} array of a {@link UserResponse} body with Jackson's streaming parser and binds
+ * one {@link User} at a time, so memory stays flat regardless of the batch size. {@code info} is parsed
+ * separately and is available as soon as the parser has passed it (after iteration when it trails the results).
+ * Memory is only flat end to end on a live body such as the JDK backend's {@code ApiResponse.stream()}: by the
+ * time {@link #from(Response)} runs, RestAssured has already buffered the whole body, so only the binding streams.
+ */
+public class UserStream implements Iterator<User>, AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final ObjectReader USER_READER = MAPPER.readerFor(User.class);
+    private static final ObjectReader INFO_READER = MAPPER.readerFor(UserResponse.Info.class);
+
+    private final JsonParser parser;
+    private final ObjectReader userReader;
+    private UserResponse.Info info;
+    private boolean inResults;
+    private boolean finished;
+    private User next;
+    private int count;
+
+    public UserStream(InputStream input) {
+        this(input, USER_READER);
+    }
+
+    public UserStream(InputStream input, ObjectReader userReader) {
+        this.userReader = userReader;
+        try {
+            this.parser = MAPPER.getFactory().createParser(input);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Expected a JSON object at the start of the response");
+            }
+            advanceToResults();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static UserStream from(Response response) {
+        return new UserStream(response.asInputStream());
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public UserResponse.Info getInfo() {
+        return info;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public User next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        User user = next;
+        next = null;
+        count++;
+        return user;
+    }
+
+    public Stream<User> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    // Consumes whatever is left of the body, including a trailing info object
+    public UserResponse.Info drain() {
+        while (hasNext()) {
+            next();
+        }
+        return info;
+    }
+
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private User readNext() {
+        try {
+            if (inResults) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT) {
+                    return userReader.readValue(parser);
+                }
+                inResults = false;
+                advanceToResults();
+                if (inResults) {
+                    return readNext();
+                }
+            }
+            finished = true;
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Moves to the next results array, parsing info and skipping anything else on the way
+    private void advanceToResults() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                inResults = true;
+                return;
+            } else if ("info".equals(field) && value == JsonToken.START_OBJECT) {
+                info = INFO_READER.readValue(parser);
+            } else if ("error".equals(field)) {
+                throw new IllegalStateException("API returned an error: " + parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT && token != null) {
+            throw new IllegalStateException("Unexpected token " + token + " in response");
+        }
+        finished = true;
+    }
+}
@@ -0,0 +1,41 @@
+package com.randomuser.validation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over 64-bit hashes, probed with double hashing. {@link #add} tells whether the key is
+ * certainly new, which lets {@link LongKeyTable} skip key comparisons for most inserts. Concurrent adds of
+ * different keys only ever add bits, so they can cause false positives but never a false "new".
+ */
+final class BloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitMask;
+    private final int hashes;
+
+    BloomFilter(long expectedKeys, int bitsPerKey) {
+        long size = Long.highestOneBit(Math.max(64, expectedKeys * bitsPerKey) - 1) << 1;
+        this.bits = new AtomicLongArray(Math.toIntExact(size / 64));
+        this.bitMask = size - 1;
+        // k = ln 2 * bits per key minimizes the false-positive rate
+        this.hashes = Math.max(1, (int) Math.round(bitsPerKey * 0.693));
+    }
+
+    // True when at least one bit was newly set, i.e. the key had certainly not been added before
+    boolean add(long hash) {
+        long h2 = LongKeyTable.mix(hash) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (hash + i * h2) & bitMask;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits.get(word) & mask) == 0) {
+                changed |= (bits.getAndUpdate(word, value -> value | mask) & mask) == 0;
+            }
+        }
+        return changed;
+    }
+
+    long memoryBytes() {
+        return (long) bits.length() * Long.BYTES;
+    }
+}
@@ -0,0 +1,206 @@
+package com.randomuser.validation;
+
+import com.randomuser.models.Login;
+import com.randomuser.models.User;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Checks that {@code login.md5}, {@code sha1} and {@code sha256} are the digests of password + salt. Each worker
+ * thread reuses its own digests and buffers and compares the stored hex against the digest bytes in place, so
+ * a batch of valid users allocates next to nothing; large batches are split across a fork-join pool.
+ */
+public class LoginHashVerifier {
+    // Below this many users a batch is verified on the calling thread
+    private static final int SPLIT_THRESHOLD = 256;
+
+    private static final LoginHashVerifier DEFAULT = new LoginHashVerifier(ForkJoinPool.commonPool());
+
+    // Value of each ASCII hex digit, -1 for anything else
+    private static final byte[] NIBBLES = new byte[128];
+
+    static {
+        Arrays.fill(NIBBLES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            NIBBLES[Character.forDigit(i, 16)] = (byte) i;
+            NIBBLES[Character.toUpperCase(Character.forDigit(i, 16))] = (byte) i;
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final ForkJoinPool pool;
+
+    public LoginHashVerifier(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public static LoginHashVerifier defaults() {
+        return DEFAULT;
+    }
+
+    public ValidationReport verify(List<User> users) {
+        long start = System.nanoTime();
+        List<Violation> violations = users.size() < SPLIT_THRESHOLD
+                ? verifyRange(users, 0, users.size())
+                : pool.invoke(new RangeTask(users, 0, users.size()));
+        return new ValidationReport(users.size(), violations, System.nanoTime() - start);
+    }
+
+    // Lists are only allocated once a violation turns up
+    private static List<Violation> verifyRange(List<User> users, int from, int to) {
+        Scratch scratch = SCRATCH.get();
+        List<Violation> violations = null;
+        for (int i = from; i < to; i++) {
+            User user = users.get(i);
+            Login login = user == null ? null : user.getLogin();
+            if (login == null || login.getPassword() == null || login.getSalt() == null) {
+                violations = add(violations, new Violation(i, "login.password", "not null", null));
+                continue;
+            }
+            scratch.digest(login.getPassword(), login.getSalt());
+            if (!hexEquals(login.getMd5(), scratch.md5Out)) {
+                violations = add(violations, new Violation(i, "login.md5", "md5(password + salt)", login.getMd5()));
+            }
+            if (!hexEquals(login.getSha1(), scratch.sha1Out)) {
+                violations = add(violations, new Violation(i, "login.sha1", "sha1(password + salt)", login.getSha1()));
+            }
+            if (!hexEquals(login.getSha256(), scratch.sha256Out)) {
+                violations = add(violations,
+                        new Violation(i, "login.sha256", "sha256(password + salt)", login.getSha256()));
+            }
+        }
+        return violations == null ? List.of() : violations;
+    }
+
+    private static List<Violation> add(List<Violation> violations, Violation violation) {
+        List<Violation> list = violations == null ? new ArrayList<>() : violations;
+        list.add(violation);
+        return list;
+    }
+
+    // Case-insensitive comparison of a hex string with digest bytes, without encoding either side
+    static boolean hexEquals(String hex, byte[] digest) {
+        if (hex == null || hex.length() != digest.length * 2) {
+            return false;
+        }
+        for (int i = 0; i < digest.length; i++) {
+            char high = hex.charAt(2 * i);
+            char low = hex.charAt(2 * i + 1);
+            if (high >= NIBBLES.length || low >= NIBBLES.length
+                    || NIBBLES[high] != ((digest[i] >> 4) & 0xF) || NIBBLES[low] != (digest[i] & 0xF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class RangeTask extends RecursiveTask<List<Violation>> {
+        private final List<User> users;
+        private final int from;
+        private final int to;
+
+        RangeTask(List<User> users, int from, int to) {
+            this.users = users;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Violation> compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                return verifyRange(users, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask right = new RangeTask(users, mid, to);
+            right.fork();
+            List<Violation> left = new RangeTask(users, from, mid).compute();
+            List<Violation> rest = right.join();
+            if (rest.isEmpty()) {
+                return left;
+            }
+            if (left.isEmpty()) {
+                return rest;
+            }
+            List<Violation> violations = new ArrayList<>(left);
+            violations.addAll(rest);
+            return violations;
+        }
+    }
+
+    /**
+     * Per-thread digests, input buffer and digest outputs.
+     */
+    private static final class Scratch {
+        private final MessageDigest md5 = digest("MD5");
+        private final MessageDigest sha1 = digest("SHA-1");
+        private final MessageDigest sha256 = digest("SHA-256");
+        private final byte[] md5Out = new byte[16];
+        private final byte[] sha1Out = new byte[20];
+        private final byte[] sha256Out = new byte[32];
+        private byte[] input = new byte[64];
+
+        void digest(String password, String salt) {
+            int length = encode(password, salt);
+            try {
+                md5.update(input, 0, length);
+                md5.digest(md5Out, 0, md5Out.length);
+                sha1.update(input, 0, length);
+                sha1.digest(sha1Out, 0, sha1Out.length);
+                sha256.update(input, 0, length);
+                sha256.digest(sha256Out, 0, sha256Out.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException("Digest output buffer too small", e);
+            }
+        }
+
+        // UTF-8 of password + salt into the reused buffer; ASCII (the usual case) is copied char by char
+        private int encode(String password, String salt) {
+            int length = password.length() + salt.length();
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            int n = 0;
+            for (int i = 0; i < password.length(); i++) {
+                char c = password.charAt(i);
+                if (c >= 0x80) {
+                    return encodeSlow(password, salt);
+                }
+                input[n++] = (byte) c;
+            }
+            for (int i = 0; i < salt.length(); i++) {
+                char c = salt.charAt(i);
+                if (c >= 0x80) {
+                    return encodeSlow(password, salt);
+                }
+                input[n++] = (byte) c;
+            }
+            return n;
+        }
+
+        private int encodeSlow(String password, String salt) {
+            byte[] bytes = (password + salt).getBytes(StandardCharsets.UTF_8);
+            if (input.length < bytes.length) {
+                input = new byte[bytes.length];
+            }
+            System.arraycopy(bytes, 0, input, 0, bytes.length);
+            return bytes.length;
+        }
+
+        private static MessageDigest digest(String algorithm) {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(algorithm + " not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.randomuser.validation;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * Open-addressing set of one- or two-long keys, each remembering an int (the page it was first seen on).
+ * Slots are {@code [page + 1, key...]} in a flat long[] or, off-heap, a direct buffer; a zero first word marks an
+ * empty slot. The table is split into independently locked and resized segments picked by the top hash bits, so
+ * concurrent inserts only contend when they land in the same segment. An optional Bloom filter in front lets
+ * inserts of certainly new keys skip the key comparisons; it is consulted under the segment lock, so two inserts
+ * of one key can never both be told the key is new.
+ */
+final class LongKeyTable {
+    private static final double MAX_LOAD = 0.5;
+
+    private final int keyWords;
+    private final boolean offHeap;
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final BloomFilter bloom;
+
+    LongKeyTable(int keyWords, long expectedKeys, int segmentCount, boolean offHeap, BloomFilter bloom) {
+        if (Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("Segment count must be a power of two: " + segmentCount);
+        }
+        this.keyWords = keyWords;
+        this.offHeap = offHeap;
+        this.bloom = bloom;
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(segmentCount);
+        int slots = capacityFor(expectedKeys / segmentCount + 1);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(slots);
+        }
+    }
+
+    static long hash(long k0, long k1) {
+        return mix(k0 ^ mix(k1 + 0x9E3779B97F4A7C15L));
+    }
+
+    // Murmur3's 64-bit finalizer
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    // Inserts the key unless present: -1 when it was inserted, else the page stored with it
+    int putIfAbsent(long hash, long k0, long k1, int page) {
+        Segment segment = segments[segmentShift == 64 ? 0 : (int) (hash >>> segmentShift)];
+        synchronized (segment) {
+            boolean knownAbsent = bloom != null && bloom.add(hash);
+            if (knownAbsent) {
+                segment.bloomNegatives++;
+            }
+            return segment.putIfAbsent(hash, k0, k1, page, knownAbsent);
+        }
+    }
+
+    long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    // Inserts the Bloom filter let through without any key comparison
+    long bloomNegatives() {
+        long negatives = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                negatives += segment.bloomNegatives;
+            }
+        }
+        return negatives;
+    }
+
+    long memoryBytes() {
+        long words = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                words += (long) segment.capacity * slotWords();
+            }
+        }
+        return words * Long.BYTES + (bloom == null ? 0 : bloom.memoryBytes());
+    }
+
+    boolean isOffHeap() {
+        return offHeap;
+    }
+
+    private int slotWords() {
+        return keyWords + 1;
+    }
+
+    private int capacityFor(long keys) {
+        long slots = Long.highestOneBit(Math.max(16, (long) (keys / MAX_LOAD)) - 1) << 1;
+        long maxSlots = (offHeap ? Integer.MAX_VALUE / Long.BYTES : Integer.MAX_VALUE - 8) / slotWords();
+        if (slots > maxSlots) {
+            throw new IllegalStateException("Segment of " + keys + " keys exceeds one array; use more segments");
+        }
+        return (int) slots;
+    }
+
+    private final class Segment {
+        private Words words;
+        private int capacity;
+        private int size;
+        private long bloomNegatives;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.words = Words.allocate((long) capacity * slotWords(), offHeap);
+        }
+
+        int putIfAbsent(long hash, long k0, long k1, int page, boolean knownAbsent) {
+            if (size + 1 > capacity * MAX_LOAD) {
+                resize();
+            }
+            int mask = capacity - 1;
+            int stride = slotWords();
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                int base = slot * stride;
+                long stored = words.get(base);
+                if (stored == 0) {
+                    words.set(base + 1, k0);
+                    if (keyWords == 2) {
+                        words.set(base + 2, k1);
+                    }
+                    words.set(base, page + 1L);
+                    size++;
+                    return -1;
+                }
+                if (!knownAbsent && words.get(base + 1) == k0 && (keyWords == 1 || words.get(base + 2) == k1)) {
+                    return (int) (stored - 1);
+                }
+            }
+        }
+
+        private void resize() {
+            Words old = words;
+            int oldCapacity = capacity;
+            int stride = slotWords();
+            capacity = capacityFor((long) capacity);
+            words = Words.allocate((long) capacity * stride, offHeap);
+            size = 0;
+            for (int slot = 0; slot < oldCapacity; slot++) {
+                int base = slot * stride;
+                long stored = old.get(base);
+                if (stored != 0) {
+                    long k0 = old.get(base + 1);
+                    long k1 = keyWords == 2 ? old.get(base + 2) : 0;
+                    putIfAbsent(hash(k0, k1), k0, k1, (int) (stored - 1), true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Flat long storage, on the heap or in a direct buffer the GC does not scan.
+     */
+    private abstract static class Words {
+        static Words allocate(long length, boolean offHeap) {
+            if (offHeap) {
+                LongBuffer buffer = ByteBuffer.allocateDirect(Math.toIntExact(length * Long.BYTES))
+                        .order(ByteOrder.nativeOrder()).asLongBuffer();
+                return new Words() {
+                    @Override
+                    long get(int index) {
+                        return buffer.get(index);
+                    }
+
+                    @Override
+                    void set(int index, long value) {
+                        buffer.put(index, value);
+                    }
+                };
+            }
+            long[] array = new long[Math.toIntExact(length)];
+            return new Words() {
+                @Override
+                long get(int index) {
+                    return array[index];
+                }
+
+                @Override
+                void set(int index, long value) {
+                    array[index] = value;
+                }
+            };
+        }
+
+        abstract long get(int index);
+
+        abstract void set(int index, long value);
+    }
+}
@@ -0,0 +1,205 @@
+package com.randomuser.validation;
+
+import com.randomuser.models.Login;
+import com.randomuser.models.User;
+import com.randomuser.utils.TestConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks {@code login.uuid}, {@code login.username} and {@code email} across every page of a run and reports
+ * values seen before, with the page each was first seen on. UUIDs are kept as their two longs and strings as
+ * 64-bit fingerprints in primitive open-addressing tables (optionally off-heap), so a million users cost about
+ * 120 MB outside the GC's reach instead of several hundred MB of Strings and HashSet nodes on the heap.
+ * Distinct strings share a fingerprint with a probability of about n²/2⁶⁵ (under 10⁻⁷ for a million), so a
+ * reported string duplicate is a duplicate for all practical purposes.
+ * Safe for concurrent {@link #add} calls from parallel page fetchers.
+ */
+public class UniquenessChecker {
+    public static final String UUID = "login.uuid";
+    public static final String USERNAME = "login.username";
+    public static final String EMAIL = "email";
+
+    private static final int SEGMENTS = 64;
+
+    private final Field uuids;
+    private final Field usernames;
+    private final Field emails;
+    private final int maxReported;
+    private final List<Duplicate> duplicates = new ArrayList<>();
+
+    /**
+     * A value seen again: where it first appeared and where it turned up now.
+     */
+    public record Duplicate(String field, String value, int firstPage, int page) {
+
+        @Override
+        public String toString() {
+            return field + " " + value + " on page " + page + ", first seen on page " + firstPage;
+        }
+    }
+
+    /**
+     * @param bitsPerKey size of the Bloom filter in front of each table; 0 for none
+     * @param maxReported duplicates kept with their values; all of them are counted
+     */
+    public UniquenessChecker(long expectedUsers, boolean offHeap, int bitsPerKey, int maxReported) {
+        this.uuids = new Field(UUID, 2, expectedUsers, offHeap, bitsPerKey);
+        this.usernames = new Field(USERNAME, 1, expectedUsers, offHeap, bitsPerKey);
+        this.emails = new Field(EMAIL, 1, expectedUsers, offHeap, bitsPerKey);
+        this.maxReported = maxReported;
+    }
+
+    public static UniquenessChecker fromConfig() {
+        return new UniquenessChecker(TestConfig.getLong("unique.expected.users", 1_000_000),
+                TestConfig.getBoolean("unique.off.heap", true),
+                TestConfig.getInt("unique.bloom.bits.per.key", 8),
+                TestConfig.getInt("unique.max.reported", 100));
+    }
+
+    public void addAll(int page, List<User> users) {
+        for (User user : users) {
+            add(page, user);
+        }
+    }
+
+    public void add(int page, User user) {
+        Login login = user.getLogin();
+        if (login != null) {
+            String uuid = login.getUuid();
+            if (uuid != null && isCanonicalUuid(uuid)) {
+                uuids.add(page, hexBits(uuid, 0, 18), hexBits(uuid, 19, 36), uuid);
+            } else if (uuid != null) {
+                // Anything else is fingerprinted; the low word keeps it apart from RFC 4122 UUIDs (variant bits 10)
+                uuids.add(page, fingerprint(uuid), -1, uuid);
+            }
+            if (login.getUsername() != null) {
+                usernames.add(page, fingerprint(login.getUsername()), 0, login.getUsername());
+            }
+        }
+        if (user.getEmail() != null) {
+            emails.add(page, fingerprint(user.getEmail()), 0, user.getEmail());
+        }
+    }
+
+    public boolean isUnique() {
+        return getDuplicateCount() == 0;
+    }
+
+    public long getDuplicateCount() {
+        return uuids.duplicates.sum() + usernames.duplicates.sum() + emails.duplicates.sum();
+    }
+
+    public Map<String, Long> countByField() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Field field : new Field[]{uuids, usernames, emails}) {
+            counts.put(field.name, field.duplicates.sum());
+        }
+        return counts;
+    }
+
+    // Up to maxReported duplicates, in the order they were found
+    public synchronized List<Duplicate> getDuplicates() {
+        return List.copyOf(duplicates);
+    }
+
+    public long size(String field) {
+        return field(field).table.size();
+    }
+
+    public long getBloomNegatives(String field) {
+        return field(field).table.bloomNegatives();
+    }
+
+    public long memoryBytes() {
+        return uuids.table.memoryBytes() + usernames.table.memoryBytes() + emails.table.memoryBytes();
+    }
+
+    public boolean isOffHeap() {
+        return uuids.table.isOffHeap();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder(String.format("%d uuids, %d usernames, %d emails in %.1f MB %s, "
+                        + "%d duplicates %s", size(UUID), size(USERNAME), size(EMAIL), memoryBytes() / 1e6,
+                isOffHeap() ? "off-heap" : "on heap", getDuplicateCount(), countByField()));
+        getDuplicates().stream().limit(20).forEach(duplicate -> summary.append("\n  ").append(duplicate));
+        return summary.toString();
+    }
+
+    private Field field(String name) {
+        return switch (name) {
+            case UUID -> uuids;
+            case USERNAME -> usernames;
+            case EMAIL -> emails;
+            default -> throw new IllegalArgumentException("Unknown field " + name);
+        };
+    }
+
+    private synchronized void report(Duplicate duplicate) {
+        if (duplicates.size() < maxReported) {
+            duplicates.add(duplicate);
+        }
+    }
+
+    // FNV-1a over the chars, then a finalizer so that similar strings spread over all 64 bits
+    static long fingerprint(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return LongKeyTable.mix(hash);
+    }
+
+    // 8-4-4-4-12 hex digits
+    static boolean isCanonicalUuid(String uuid) {
+        if (uuid.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = uuid.charAt(i);
+            boolean dash = i == 8 || i == 13 || i == 18 || i == 23;
+            if (dash ? c != '-' : Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Hex digits of uuid[from, to) as one long, dashes skipped
+    private static long hexBits(String uuid, int from, int to) {
+        long bits = 0;
+        for (int i = from; i < to; i++) {
+            char c = uuid.charAt(i);
+            if (c != '-') {
+                bits = (bits << 4) | Character.digit(c, 16);
+            }
+        }
+        return bits;
+    }
+
+    private final class Field {
+        private final String name;
+        private final LongKeyTable table;
+        private final LongAdder duplicates = new LongAdder();
+
+        Field(String name, int keyWords, long expectedKeys, boolean offHeap, int bitsPerKey) {
+            this.name = name;
+            this.table = new LongKeyTable(keyWords, expectedKeys, SEGMENTS, offHeap,
+                    bitsPerKey > 0 ? new BloomFilter(expectedKeys, bitsPerKey) : null);
+        }
+
+        void add(int page, long k0, long k1, String value) {
+            int firstPage = table.putIfAbsent(LongKeyTable.hash(k0, k1), k0, k1, page);
+            if (firstPage >= 0) {
+                duplicates.increment();
+                report(new Duplicate(name, value, firstPage, page));
+            }
+        }
+    }
+}
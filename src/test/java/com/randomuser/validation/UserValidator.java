@@ -0,0 +1,227 @@
+package com.randomuser.validation;
+
+import com.randomuser.models.Dob;
+import com.randomuser.models.Registered;
+import com.randomuser.models.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Rule set compiled once (patterns precompiled, enum values hashed) and applied to every user in a single pass.
+ * Rules never stop at the first failure; large batches are split across a fork-join pool.
+ */
+public class UserValidator {
+    public static final String EMAIL_PATTERN = "^[A-Za-z0-9+_.-]+@(.+)$";
+
+    // Below this many users a batch is validated on the calling thread
+    private static final int SPLIT_THRESHOLD = 512;
+
+    // The checks the live tests always made; every user the public API returns passes them
+    private static final UserValidator DEFAULT = required()
+            .check("email", "contains @", u -> u.getEmail() == null || u.getEmail().contains("@"), User::getEmail)
+            .build();
+
+    // Tighter checks that hold for the stub's generators but are not established for the live API
+    private static final UserValidator STRICT = required()
+            .oneOf("gender", User::getGender, "male", "female")
+            .notNull("name.first", u -> u.getName() == null ? null : u.getName().getFirst())
+            .notNull("name.last", u -> u.getName() == null ? null : u.getName().getLast())
+            .matches("email", User::getEmail, EMAIL_PATTERN)
+            .matches("nat", User::getNat, "^[A-Z]{2}$")
+            .range("dob.age", u -> u.getDob() == null ? -1 : u.getDob().getAge(), 0, 150)
+            .matches("login.uuid", u -> u.getLogin() == null ? null : u.getLogin().getUuid(),
+                    "^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$")
+            .matches("picture.large", u -> u.getPicture() == null ? null : u.getPicture().getLarge(), "^https://\\S+$")
+            .check("registered.age", "not older than dob.age", UserValidator::registeredNotBeforeBirth,
+                    u -> u.getRegistered() == null ? null : u.getRegistered().getAge())
+            .build();
+
+    private final Rule[] rules;
+    private final ForkJoinPool pool;
+
+    private UserValidator(List<Rule> rules, ForkJoinPool pool) {
+        this.rules = rules.toArray(new Rule[0]);
+        this.pool = pool;
+    }
+
+    public static UserValidator defaults() {
+        return DEFAULT;
+    }
+
+    // For generated data only; the live tests use defaults()
+    public static UserValidator strict() {
+        return STRICT;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private static Builder required() {
+        return builder()
+                .notNull("gender", User::getGender)
+                .notNull("name", User::getName)
+                .notNull("email", User::getEmail)
+                .notNull("location", User::getLocation);
+    }
+
+    public ValidationReport validate(User user) {
+        return validate(List.of(user));
+    }
+
+    public ValidationReport validate(List<User> users) {
+        long start = System.nanoTime();
+        List<Violation> violations = users.size() < SPLIT_THRESHOLD
+                ? validateRange(users, 0, users.size())
+                : pool.invoke(new RangeTask(users, 0, users.size()));
+        return new ValidationReport(users.size(), violations, System.nanoTime() - start);
+    }
+
+    private List<Violation> validateRange(List<User> users, int from, int to) {
+        List<Violation> violations = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            User user = users.get(i);
+            if (user == null) {
+                violations.add(new Violation(i, "user", "not null", null));
+                continue;
+            }
+            for (Rule rule : rules) {
+                Object failed = rule.check(user);
+                if (failed != Rule.PASSED) {
+                    violations.add(new Violation(i, rule.field, rule.name, failed));
+                }
+            }
+        }
+        return violations;
+    }
+
+    private static boolean registeredNotBeforeBirth(User user) {
+        Dob dob = user.getDob();
+        Registered registered = user.getRegistered();
+        return dob == null || registered == null || registered.getAge() <= dob.getAge();
+    }
+
+    private class RangeTask extends RecursiveTask<List<Violation>> {
+        private final List<User> users;
+        private final int from;
+        private final int to;
+
+        RangeTask(List<User> users, int from, int to) {
+            this.users = users;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Violation> compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                return validateRange(users, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask right = new RangeTask(users, mid, to);
+            right.fork();
+            List<Violation> violations = new RangeTask(users, from, mid).compute();
+            violations.addAll(right.join());
+            return violations;
+        }
+    }
+
+    /**
+     * One compiled check. Returns {@link #PASSED} or the offending value.
+     */
+    private abstract static class Rule {
+        static final Object PASSED = new Object();
+
+        final String field;
+        final String name;
+
+        Rule(String field, String name) {
+            this.field = field;
+            this.name = name;
+        }
+
+        abstract Object check(User user);
+    }
+
+    public static class Builder {
+        private final List<Rule> rules = new ArrayList<>();
+        private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        public Builder notNull(String field, Function<User, ?> getter) {
+            rules.add(new Rule(field, "not null") {
+                @Override
+                Object check(User user) {
+                    return getter.apply(user) != null ? PASSED : null;
+                }
+            });
+            return this;
+        }
+
+        // Null values are left to notNull rules
+        public Builder matches(String field, Function<User, String> getter, String regex) {
+            Pattern pattern = Pattern.compile(regex);
+            rules.add(new Rule(field, "matches " + regex) {
+                @Override
+                Object check(User user) {
+                    String value = getter.apply(user);
+                    return value == null || pattern.matcher(value).matches() ? PASSED : value;
+                }
+            });
+            return this;
+        }
+
+        public Builder range(String field, ToIntFunction<User> getter, int minInclusive, int maxInclusive) {
+            rules.add(new Rule(field, "in [" + minInclusive + ", " + maxInclusive + "]") {
+                @Override
+                Object check(User user) {
+                    int value = getter.applyAsInt(user);
+                    return value >= minInclusive && value <= maxInclusive ? PASSED : value;
+                }
+            });
+            return this;
+        }
+
+        public Builder oneOf(String field, Function<User, String> getter, String... allowed) {
+            Set<String> values = new HashSet<>(Arrays.asList(allowed));
+            rules.add(new Rule(field, "one of " + new TreeSet<>(values)) {
+                @Override
+                Object check(User user) {
+                    String value = getter.apply(user);
+                    return value == null || values.contains(value) ? PASSED : value;
+                }
+            });
+            return this;
+        }
+
+        // Cross-field rule; the reported value is taken from the given getter
+        public Builder check(String field, String description, Predicate<User> predicate, Function<User, ?> value) {
+            rules.add(new Rule(field, description) {
+                @Override
+                Object check(User user) {
+                    return predicate.test(user) ? PASSED : value.apply(user);
+                }
+            });
+            return this;
+        }
+
+        public Builder pool(ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        public UserValidator build() {
+            return new UserValidator(rules, pool);
+        }
+    }
+}
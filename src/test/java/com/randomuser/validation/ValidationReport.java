@@ -0,0 +1,55 @@
+package com.randomuser.validation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Every violation found in a batch, ordered by user index then rule order.
+ */
+public class ValidationReport {
+    private static final int SUMMARY_LIMIT = 20;
+
+    private final int usersChecked;
+    private final List<Violation> violations;
+    private final long elapsedNanos;
+
+    public ValidationReport(int usersChecked, List<Violation> violations, long elapsedNanos) {
+        this.usersChecked = usersChecked;
+        this.violations = Collections.unmodifiableList(violations);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    public int getUsersChecked() { return usersChecked; }
+
+    public List<Violation> getViolations() { return violations; }
+
+    public double getElapsedMs() { return elapsedNanos / 1e6; }
+
+    public Map<String, Long> countByRule() {
+        return violations.stream().collect(Collectors.groupingBy(v -> v.field() + " [" + v.rule() + "]",
+                TreeMap::new, Collectors.counting()));
+    }
+
+    public long invalidUsers() {
+        return violations.stream().mapToInt(Violation::index).distinct().count();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder(String.format("%d users checked in %.2f ms, %d violations in %d users",
+                usersChecked, getElapsedMs(), violations.size(), invalidUsers()));
+        countByRule().forEach((rule, count) -> summary.append("\n  ").append(rule).append(": ").append(count));
+        violations.stream().limit(SUMMARY_LIMIT).forEach(v -> summary.append("\n  ").append(v));
+        if (violations.size() > SUMMARY_LIMIT) {
+            summary.append("\n  ... ").append(violations.size() - SUMMARY_LIMIT).append(" more");
+        }
+        return summary.toString();
+    }
+}
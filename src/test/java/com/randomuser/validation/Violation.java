@@ -0,0 +1,12 @@
+package com.randomuser.validation;
+
+/**
+ * A single failed rule: which user (by position in the batch), which field and rule, and the offending value.
+ */
+public record Violation(int index, String field, String rule, Object value) {
+
+    @Override
+    public String toString() {
+        return "#" + index + " " + field + " [" + rule + "] value=" + value;
+    }
+}